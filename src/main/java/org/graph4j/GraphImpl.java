@@ -695,8 +695,10 @@ class GraphImpl<V, E> implements Graph<V, E> {
     protected void removeFromAdjListAt(int vi, int pos) {
         int v = vertices[vi];
         int u = adjList[vi][pos];
+        int w = -1; //the vertex moved on the position pos
         if (pos < degree[vi] - 1) {
             //swap the vertex to be removed with the last one           
+            w = adjList[vi][degree[vi] - 1];
             swapNeighborWithLast(vi, pos);
         }
         degree[vi]--;
@@ -706,8 +708,14 @@ class GraphImpl<V, E> implements Graph<V, E> {
             }
         }
         if (adjMap != null && adjMap[vi] != null) {
-            if (!allowingMultipleEdges || multiplicity(v, u) == 0) {
+            if (allowingMultipleEdges) {
+                //the positions of the parallel edges must be recomputed
+                adjMap[vi] = null;
+            } else {
                 adjMap[vi].remove(u);
+                if (w >= 0) {
+                    adjMap[vi].add(w, pos);
+                }
             }
         }
     }
@@ -249,10 +249,10 @@ public class GraphUtils {
                 .buildNetwork();
         for (var it = graph.edgeIterator(); it.hasNext();) {
             Edge e = it.next();
-            network.addLabeledEdge(e.source(), e.target(), e.label(),
-                    e.dataOrDefault(WEIGHT, 0));
+            double capacity = e.dataOrDefault(WEIGHT, 0);
+            network.addLabeledEdge(e.source(), e.target(), e.label(), capacity);
             if (!graph.isDirected()) {
-                network.addEdge(e.flip());
+                network.addLabeledEdge(e.target(), e.source(), e.label(), capacity);
             }
         }
         return network;
@@ -0,0 +1,358 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.clique;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import org.graph4j.Graph;
+import org.graph4j.SimpleGraphAlgorithm;
+import org.graph4j.ordering.VertexOrderings;
+import org.graph4j.util.Clique;
+import org.graph4j.util.CsrSnapshot;
+
+/**
+ * Enumerates all maximal cliques of a graph, using the Bron-Kerbosch algorithm
+ * with pivoting, in a degeneracy ordering of the vertices.
+ *
+ * <p>
+ * The vertices are processed in the reverse of their smallest-degree-last
+ * ordering, so that each vertex has at most {@code d} neighbors that follow it,
+ * where {@code d} is the degeneracy of the graph. For each vertex {@code v},
+ * the cliques containing {@code v} and only vertices that follow it are
+ * enumerated in the subgraph induced by the neighbors of {@code v}: the later
+ * neighbors are the candidates and the earlier ones are excluded. The
+ * adjacency inside this subgraph is stored as bitsets over the candidates, so
+ * the search uses only bitwise operations. Each maximal clique is reported
+ * exactly once, from its first vertex in the ordering.
+ *
+ * <p>
+ * Since the subproblems are independent, they can be solved in parallel. In
+ * this case, the consumer of the cliques is invoked concurrently and must be
+ * thread-safe.
+ *
+ * Implemented after: David Eppstein, Maarten Löffler, Darren Strash, "Listing
+ * All Maximal Cliques in Sparse Graphs in Near-optimal Time".
+ *
+ * @see BronKerboschCliqueIterator
+ * @see org.graph4j.ordering.SmallestDegreeLastOrdering
+ * @author Cristian Frăsinaru
+ */
+public class DegeneracyCliqueFinder extends SimpleGraphAlgorithm {
+
+    private final boolean parallel;
+    private int n;
+    private int[] pos; //the position of each vertex index in the ordering
+    private int[] start; //the sorted adjacency lists, as vertex indices (CSR)
+    private int[] adj;
+    private ThreadLocal<Workspace> workspace;
+
+    /**
+     *
+     * @param graph the input graph.
+     */
+    public DegeneracyCliqueFinder(Graph graph) {
+        this(graph, false);
+    }
+
+    /**
+     *
+     * @param graph the input graph.
+     * @param parallel if {@code true}, the vertices are processed in parallel.
+     */
+    public DegeneracyCliqueFinder(Graph graph, boolean parallel) {
+        super(graph);
+        this.parallel = parallel;
+    }
+
+    /**
+     * Returns all the maximal cliques of the graph. In parallel mode, the
+     * order of the cliques is not deterministic.
+     *
+     * @return the list of maximal cliques.
+     */
+    public List<Clique> getCliques() {
+        List<Clique> cliques = parallel
+                ? Collections.synchronizedList(new ArrayList<>())
+                : new ArrayList<>();
+        forEachClique(cliques::add);
+        return cliques;
+    }
+
+    /**
+     * Counts the maximal cliques of the graph, without creating them.
+     *
+     * @return the number of maximal cliques.
+     */
+    public long countCliques() {
+        return compute(null);
+    }
+
+    /**
+     * Sends each maximal clique to a consumer, as soon as it is found. The
+     * cliques are not stored. In parallel mode, the consumer is invoked
+     * concurrently.
+     *
+     * @param consumer the consumer of the cliques.
+     * @return the number of maximal cliques.
+     */
+    public long forEachClique(Consumer<Clique> consumer) {
+        return compute(consumer);
+    }
+
+    private long compute(Consumer<Clique> consumer) {
+        init();
+        var count = new LongAdder();
+        workspace = ThreadLocal.withInitial(Workspace::new);
+        if (parallel) {
+            IntStream.range(0, n).parallel()
+                    .forEach(vi -> workspace.get().process(vi, consumer, count));
+        } else {
+            var ws = workspace.get();
+            for (int vi = 0; vi < n; vi++) {
+                ws.process(vi, consumer, count);
+            }
+        }
+        workspace = null;
+        return count.sum();
+    }
+
+    private void init() {
+        n = graph.numVertices();
+        int[] ordering = VertexOrderings.smallestDegreeLast(graph);
+        pos = new int[n];
+        for (int k = 0; k < n; k++) {
+            pos[graph.indexOf(ordering[k])] = n - 1 - k;
+        }
+        var csr = new CsrSnapshot(graph);
+        start = csr.getStart();
+        adj = csr.getAdjacency();
+        for (int i = 0; i < n; i++) {
+            Arrays.sort(adj, start[i], start[i + 1]);
+        }
+    }
+
+    /*
+     * The data used by one thread, reused for all the vertices it processes.
+     * The candidates of a vertex v have local numbers 0..p-1, the excluded
+     * neighbors of v have local numbers p..p+x-1. For each local vertex, rows
+     * stores its neighbors among the candidates.
+     */
+    private class Workspace {
+
+        final int[] local = new int[n];
+        int[] members = new int[16]; //local number -> vertex index
+        int p, words;
+        long[] rows = new long[16];
+        //for each depth: candidates, excluded candidates, extensions
+        long[] sets = new long[16];
+        //excluded neighbors of v that are adjacent to some candidate, as a stack of lists
+        int[] excluded = new int[16];
+        int[] clique = new int[16];
+        int vi;
+        Consumer<Clique> consumer;
+        LongAdder count;
+
+        Workspace() {
+            Arrays.fill(local, -1);
+        }
+
+        void process(int vi, Consumer<Clique> consumer, LongAdder count) {
+            this.vi = vi;
+            this.consumer = consumer;
+            this.count = count;
+            int deg = start[vi + 1] - start[vi];
+            if (members.length < deg) {
+                members = new int[deg];
+            }
+            //the later neighbors are candidates, the earlier are excluded
+            p = 0;
+            for (int k = start[vi]; k < start[vi + 1]; k++) {
+                if (pos[adj[k]] > pos[vi]) {
+                    members[p++] = adj[k];
+                }
+            }
+            int x = p;
+            for (int k = start[vi]; k < start[vi + 1]; k++) {
+                if (pos[adj[k]] < pos[vi]) {
+                    members[x++] = adj[k];
+                }
+            }
+            if (p == 0) {
+                if (x == 0) {
+                    report(0);
+                }
+                return;
+            }
+            words = (p + 63) >>> 6;
+            rows = ensure(rows, x * words);
+            Arrays.fill(rows, 0, x * words, 0);
+            for (int j = 0; j < x; j++) {
+                local[members[j]] = j;
+            }
+            for (int j = 0; j < p; j++) {
+                int w = members[j];
+                int dw = start[w + 1] - start[w];
+                if (dw <= x * (32 - Integer.numberOfLeadingZeros(dw))) {
+                    //scan the neighbors of w
+                    for (int k = start[w]; k < start[w + 1]; k++) {
+                        int l = local[adj[k]];
+                        if (l >= 0) {
+                            rows[l * words + (j >> 6)] |= 1L << j;
+                        }
+                    }
+                } else {
+                    //w has a large degree, search the local vertices in its adjacency list
+                    for (int l = 0; l < x; l++) {
+                        if (Arrays.binarySearch(adj, start[w], start[w + 1], members[l]) >= 0) {
+                            rows[l * words + (j >> 6)] |= 1L << j;
+                        }
+                    }
+                }
+            }
+            for (int j = 0; j < x; j++) {
+                local[members[j]] = -1;
+            }
+            //keep only the excluded vertices adjacent to some candidate
+            excluded = ensureInt(excluded, x - p);
+            int xx = 0;
+            for (int j = p; j < x; j++) {
+                if (!isEmpty(rows, j * words)) {
+                    excluded[xx++] = j;
+                }
+            }
+            sets = ensure(sets, 3 * words);
+            Arrays.fill(sets, 0, 3 * words, 0);
+            for (int j = 0; j < p; j++) {
+                sets[j >> 6] |= 1L << j;
+            }
+            clique = ensureInt(clique, p);
+            expand(0, 0, 0, xx);
+        }
+
+        /*
+         * The current clique contains v and depth candidates. The candidate
+         * set P is stored at sets[off], the excluded candidates X at
+         * sets[off + words], and the excluded neighbors of v that are adjacent
+         * to all the vertices of the clique at excluded[xFrom..xTo).
+         */
+        void expand(int depth, int off, int xFrom, int xTo) {
+            int xpOff = off + words;
+            if (isEmpty(sets, off)) {
+                if (isEmpty(sets, xpOff) && xFrom == xTo) {
+                    report(depth);
+                }
+                return;
+            }
+            //choose the pivot maximizing the number of its neighbors in P
+            int pivot = -1, max = -1;
+            for (int w = 0; w < words; w++) {
+                long bits = sets[off + w] | sets[xpOff + w];
+                while (bits != 0) {
+                    int u = (w << 6) | Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    int c = countCommon(off, u * words);
+                    if (c > max) {
+                        max = c;
+                        pivot = u;
+                    }
+                }
+            }
+            for (int k = xFrom; k < xTo; k++) {
+                int u = excluded[k];
+                int c = countCommon(off, u * words);
+                if (c > max) {
+                    max = c;
+                    pivot = u;
+                }
+            }
+            int extOff = off + 2 * words;
+            int pivotRow = pivot * words;
+            for (int w = 0; w < words; w++) {
+                sets[extOff + w] = sets[off + w] & ~rows[pivotRow + w];
+            }
+            int next = off + 3 * words;
+            sets = ensure(sets, next + 3 * words);
+            for (int w = 0; w < words; w++) {
+                while (sets[extOff + w] != 0) {
+                    long bit = sets[extOff + w] & -sets[extOff + w];
+                    sets[extOff + w] ^= bit;
+                    int u = (w << 6) | Long.numberOfTrailingZeros(bit);
+                    int row = u * words;
+                    for (int i = 0; i < words; i++) {
+                        sets[next + i] = sets[off + i] & rows[row + i];
+                        sets[next + words + i] = sets[xpOff + i] & rows[row + i];
+                    }
+                    excluded = ensureInt(excluded, xTo + (xTo - xFrom));
+                    int xNext = xTo;
+                    for (int k = xFrom; k < xTo; k++) {
+                        int t = excluded[k];
+                        if ((rows[t * words + w] & bit) != 0) {
+                            excluded[xNext++] = t;
+                        }
+                    }
+                    clique[depth] = u;
+                    expand(depth + 1, next, xTo, xNext);
+                    sets[off + w] &= ~bit;
+                    sets[xpOff + w] |= bit;
+                }
+            }
+        }
+
+        private boolean isEmpty(long[] bits, int off) {
+            for (int w = 0; w < words; w++) {
+                if (bits[off + w] != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int countCommon(int off, int row) {
+            int c = 0;
+            for (int w = 0; w < words; w++) {
+                c += Long.bitCount(sets[off + w] & rows[row + w]);
+            }
+            return c;
+        }
+
+        private void report(int depth) {
+            count.increment();
+            if (consumer == null) {
+                return;
+            }
+            var q = new Clique(graph, depth + 1);
+            q.add(graph.vertexAt(vi));
+            for (int k = 0; k < depth; k++) {
+                q.add(graph.vertexAt(members[clique[k]]));
+            }
+            consumer.accept(q);
+        }
+    }
+
+    private static long[] ensure(long[] array, int size) {
+        return array.length >= size ? array : Arrays.copyOf(array, Math.max(size, 2 * array.length));
+    }
+
+    private static int[] ensureInt(int[] array, int size) {
+        return array.length >= size ? array : Arrays.copyOf(array, Math.max(size, 2 * array.length));
+    }
+}
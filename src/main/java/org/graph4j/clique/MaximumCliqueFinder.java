@@ -0,0 +1,325 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.clique;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.graph4j.Graph;
+import org.graph4j.SimpleGraphAlgorithm;
+import org.graph4j.ordering.VertexOrderings;
+import org.graph4j.util.Clique;
+
+/**
+ * Exact algorithm for determining a maximum clique, using bitsets and greedy
+ * coloring bounds, in the style of Tomita's MCS and San Segundo's BBMC.
+ *
+ * <p>
+ * The vertices are renumbered in smallest-degree-last order and the adjacency
+ * of each vertex is stored as a row of bits. At each node of the search tree,
+ * the candidate set is greedily colored, one color class at a time, using only
+ * bitwise operations. A vertex having the color {@code k} cannot be part of a
+ * clique larger than {@code k} inside the candidate set, so the branches that
+ * cannot improve the current best clique (the incumbent) are pruned.
+ *
+ * <p>
+ * In parallel mode, the branches of the root are explored as separate tasks,
+ * in the common fork-join pool, sharing the size of the incumbent through an
+ * atomic variable. The search starts with the heuristic clique computed by
+ * {@link MaximalCliqueFinder#getMaximalClique()}.
+ *
+ * @see MaximalCliqueFinder
+ * @author Cristian Frăsinaru
+ */
+public class MaximumCliqueFinder extends SimpleGraphAlgorithm {
+
+    private static final int TIME_CHECK_INTERVAL = 1024;
+    private final boolean parallel;
+    private int n;
+    private int words;
+    private int[] vertices; //vertices[i] = the vertex number at position i
+    private long[][] adj; //adj[i] = the neighbors of the vertex at position i
+    //the incumbent
+    private final AtomicInteger bestSize = new AtomicInteger();
+    private int[] bestClique; //positions
+    //time limit
+    private long deadline;
+    private final AtomicBoolean timeout = new AtomicBoolean();
+
+    /**
+     *
+     * @param graph the input graph.
+     */
+    public MaximumCliqueFinder(Graph graph) {
+        this(graph, false);
+    }
+
+    /**
+     *
+     * @param graph the input graph.
+     * @param parallel if {@code true}, the search is performed in parallel.
+     */
+    public MaximumCliqueFinder(Graph graph, boolean parallel) {
+        super(graph);
+        this.parallel = parallel;
+    }
+
+    /**
+     * Computes a maximum clique, with no time limit.
+     *
+     * @return a maximum clique of the graph.
+     */
+    public Clique findMaximumClique() {
+        return findMaximumClique(0);
+    }
+
+    /**
+     * Computes a maximum clique. If it cannot finish in the alloted time, it
+     * returns {@code null}.
+     *
+     * @param timeLimit a time limit in milliseconds (0 for no time limit).
+     * @return the maximum clique of the graph or {@code null} if it cannot be
+     * found in the alloted time.
+     */
+    public Clique findMaximumClique(long timeLimit) {
+        if (graph.isComplete()) {
+            return new Clique(graph, graph.vertices());
+        }
+        deadline = timeLimit > 0 ? System.currentTimeMillis() + timeLimit : Long.MAX_VALUE;
+        timeout.set(false);
+        init();
+        var root = new Workspace();
+        long[] all = root.set(0);
+        for (int i = 0; i < n; i++) {
+            all[i >> 6] |= 1L << i;
+        }
+        if (parallel) {
+            searchRoot(all);
+        } else {
+            root.expand(0, all);
+        }
+        if (timeout.get()) {
+            return null;
+        }
+        var clique = new Clique(graph, bestClique.length);
+        for (int pos : bestClique) {
+            clique.add(vertices[pos]);
+        }
+        assert clique.isValid();
+        return clique;
+    }
+
+    private void init() {
+        this.n = graph.numVertices();
+        this.words = (n + 63) >>> 6;
+        this.vertices = VertexOrderings.smallestDegreeLast(graph);
+        int[] pos = new int[n];
+        for (int i = 0; i < n; i++) {
+            pos[graph.indexOf(vertices[i])] = i;
+        }
+        this.adj = new long[n][words];
+        for (int i = 0; i < n; i++) {
+            long[] row = adj[i];
+            for (int u : graph.neighbors(vertices[i])) {
+                int j = pos[graph.indexOf(u)];
+                row[j >> 6] |= 1L << j;
+            }
+        }
+        //the initial incumbent
+        Clique initial = new MaximalCliqueFinder(graph).getMaximalClique();
+        this.bestClique = new int[initial.size()];
+        int k = 0;
+        for (int v : initial.vertices()) {
+            bestClique[k++] = pos[graph.indexOf(v)];
+        }
+        bestSize.set(bestClique.length);
+    }
+
+    /*
+     * Each branch of the root is a task. The branch of the vertex at position k
+     * in the coloring order has as candidates its neighbors among the vertices
+     * that precede it in the order (the following ones were already explored
+     * by the sequential algorithm when this branch is reached).
+     */
+    private void searchRoot(long[] all) {
+        var root = new Workspace();
+        int size = root.color(0, all);
+        int[] order = root.order[0];
+        int[] colors = root.colors[0];
+        //the tasks do not fork, so each thread can reuse its workspace
+        var workspace = ThreadLocal.withInitial(Workspace::new);
+        List<RecursiveAction> tasks = new ArrayList<>(size);
+        long[] prefix = all.clone();
+        for (int k = size - 1; k >= 0; k--) {
+            int v = order[k];
+            final int bound = colors[k];
+            long[] cand = new long[words];
+            boolean empty = intersect(prefix, adj[v], cand);
+            prefix[v >> 6] &= ~(1L << v);
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    if (bound <= bestSize.get() || timeout.get()) {
+                        return;
+                    }
+                    var ws = workspace.get();
+                    ws.clique[0] = v;
+                    if (empty) {
+                        ws.update(1);
+                    } else {
+                        System.arraycopy(cand, 0, ws.set(1), 0, words);
+                        ws.expand(1, ws.set(1));
+                    }
+                }
+            });
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    //target = a & b, returns true if target is empty
+    private boolean intersect(long[] a, long[] b, long[] target) {
+        long any = 0;
+        for (int i = 0; i < words; i++) {
+            target[i] = a[i] & b[i];
+            any |= target[i];
+        }
+        return any == 0;
+    }
+
+    private synchronized void updateIncumbent(int[] clique, int size) {
+        if (size > bestSize.get()) {
+            bestClique = Arrays.copyOf(clique, size);
+            bestSize.set(size);
+        }
+    }
+
+    /*
+     * The data used by one sequential search, allocated once for each depth.
+     */
+    private class Workspace {
+
+        final int[] clique = new int[n];
+        final long[][] sets = new long[n + 1][];
+        final int[][] order = new int[n + 1][];
+        final int[][] colors = new int[n + 1][];
+        final long[] uncolored = new long[words];
+        final long[] colorClass = new long[words];
+        int nodes;
+
+        long[] set(int depth) {
+            if (sets[depth] == null) {
+                sets[depth] = new long[words];
+            }
+            return sets[depth];
+        }
+
+        /*
+         * Greedy sequential coloring of the candidates, one color class at a
+         * time. Only the vertices having a color that may improve the incumbent
+         * are stored, in the order of their colors.
+         */
+        int color(int depth, long[] cand) {
+            if (order[depth] == null) {
+                order[depth] = new int[n];
+                colors[depth] = new int[n];
+            }
+            int[] ord = order[depth];
+            int[] col = colors[depth];
+            int minColor = bestSize.get() - depth + 1;
+            int size = 0;
+            int color = 0;
+            System.arraycopy(cand, 0, uncolored, 0, words);
+            int first = 0;
+            while (true) {
+                while (first < words && uncolored[first] == 0) {
+                    first++;
+                }
+                if (first == words) {
+                    break;
+                }
+                color++;
+                System.arraycopy(uncolored, first, colorClass, first, words - first);
+                for (int w = first; w < words; w++) {
+                    while (colorClass[w] != 0) {
+                        int bit = Long.numberOfTrailingZeros(colorClass[w]);
+                        int v = (w << 6) | bit;
+                        long mask = ~(1L << bit);
+                        uncolored[w] &= mask;
+                        colorClass[w] &= mask;
+                        long[] row = adj[v];
+                        for (int i = w; i < words; i++) {
+                            colorClass[i] &= ~row[i];
+                        }
+                        if (color >= minColor) {
+                            ord[size] = v;
+                            col[size] = color;
+                            size++;
+                        }
+                    }
+                }
+            }
+            return size;
+        }
+
+        /*
+         * The current clique has depth vertices, cand are the vertices
+         * adjacent to all of them. The candidates are removed from cand as
+         * their branches are explored.
+         */
+        void expand(int depth, long[] cand) {
+            if (++nodes == TIME_CHECK_INTERVAL) {
+                nodes = 0;
+                if (System.currentTimeMillis() > deadline) {
+                    timeout.set(true);
+                }
+            }
+            if (timeout.get()) {
+                return;
+            }
+            int size = color(depth, cand);
+            int[] ord = order[depth];
+            int[] col = colors[depth];
+            long[] next = set(depth + 1);
+            for (int k = size - 1; k >= 0; k--) {
+                if (depth + col[k] <= bestSize.get()) {
+                    return;
+                }
+                int v = ord[k];
+                clique[depth] = v;
+                if (intersect(cand, adj[v], next)) {
+                    update(depth + 1);
+                } else {
+                    expand(depth + 1, next);
+                    if (timeout.get()) {
+                        return;
+                    }
+                }
+                cand[v >> 6] &= ~(1L << v);
+            }
+        }
+
+        void update(int size) {
+            if (size > bestSize.get()) {
+                updateIncumbent(clique, size);
+            }
+        }
+    }
+}
@@ -20,10 +20,13 @@ import org.graph4j.util.Domain;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Deque;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
 import org.graph4j.Graph;
 
 /**
@@ -32,6 +35,12 @@ import org.graph4j.Graph;
  * non-recursive manner, using multiple threads.
  *
  * <p>
+ * The search is performed by fork-join tasks, each one exploring a subtree
+ * using its own stack of nodes. When the pool runs out of queued work, a task
+ * detaches the untried color closest to the root of its subtree and forks a
+ * new task for it, which idle threads may steal. The tasks share no locks.
+ *
+ * <p>
  * First, a maximal clique is computed that offers a lower bound <code>q</code>
  * of the chromatic number. The colors of the vertices in the maximal clique are
  * fixed before the backtracking algorithm starts.
@@ -51,8 +60,10 @@ import org.graph4j.Graph;
  */
 public abstract class BacktrackColoringBase extends ExactColoringBase {
 
-    protected List<Worker> workers;
+    private static final int MAX_SURPLUS = 2;
     protected long nodesExplored;
+    private LongAdder explored;
+    private ThreadLocal<int[][]> assignQueues;
 
     public BacktrackColoringBase(Graph graph) {
         super(graph);
@@ -72,25 +83,18 @@ public abstract class BacktrackColoringBase extends ExactColoringBase {
 
     @Override
     protected void solve(int numColors) {
-        solutions = new HashSet<>();
+        solutions = ConcurrentHashMap.newKeySet();
         Node root = init(numColors);
         if (root == null) {
             return;
         }
-        //int cores = 1;
-        int cores = Runtime.getRuntime().availableProcessors();
-        this.workers = new ArrayList<>(cores);
-        for (int i = 0; i < cores; i++) {
-            var worker = new Worker(numColors, root);
-            workers.add(worker);
-            worker.start();
-        }
-        for (var worker : workers) {
-            try {
-                worker.join();
-            } catch (InterruptedException ex) {
-            }
-        }
+        //each vertex is added at most once in the propagation queue
+        int n = graph.numVertices();
+        assignQueues = ThreadLocal.withInitial(() -> new int[n][2]);
+        explored = new LongAdder();
+        ForkJoinPool.commonPool().invoke(new SearchTask(numColors, root));
+        nodesExplored += explored.sum();
+        assignQueues = null;
     }
 
     //returns false if it detects infeasibility
@@ -136,7 +140,7 @@ public abstract class BacktrackColoringBase extends ExactColoringBase {
         nodesExplored = 1;
         for (int v : rootColoring.getColoredVertices()) {
             int color = rootColoring.getColor(v);
-            if (!propagateAssignment(v, color, root, new int[n * numColors][2])) {
+            if (!propagateAssignment(v, color, root, new int[n][2])) {
                 return null;
             }
             color++;
@@ -239,19 +243,6 @@ public abstract class BacktrackColoringBase extends ExactColoringBase {
         }
     }
 
-    //finds a node for a jobless thread
-    private Node findNode() {
-        List<Worker> aux = new ArrayList<>(workers);
-        Collections.shuffle(aux);
-        for (Worker w : aux) {
-            Node node = w.offerNode();
-            if (node != null) {
-                return node;
-            }
-        }
-        return null;
-    }
-
     /**
      *
      * @return the number of nodes explored during the search.
@@ -261,109 +252,116 @@ public abstract class BacktrackColoringBase extends ExactColoringBase {
         return nodesExplored;
     }
 
-    //a thread exploring the search space
-    protected class Worker extends Thread {
+    //a task exploring a subtree of the search space
+    private class SearchTask extends RecursiveAction {
 
-        boolean running;
-        int numColors;
-        final int[][] assignQueue;
-        final Deque<Node> nodeStack;
+        final int numColors;
+        final Node start;
 
-        Worker(int numColors, Node root) {
+        SearchTask(int numColors, Node start) {
             this.numColors = numColors;
-            assignQueue = new int[graph.numVertices() * numColors][2];
-            nodeStack = new ArrayDeque<>();
-            nodeStack.push(root);
+            this.start = start;
         }
 
         @Override
-        public void run() {
-            running = true;
-            while (running) {
+        protected void compute() {
+            List<SearchTask> forked = new ArrayList<>();
+            Deque<Node> nodeStack = new ArrayDeque<>();
+            nodeStack.push(start);
+            int[][] assignQueue = assignQueues.get();
+            long count = 0;
+            while (!nodeStack.isEmpty()) {
                 if (solutions.size() >= solutionsLimit) {
-                    return;
+                    break;
                 }
                 if (timeLimit > 0 && System.currentTimeMillis() - startTime > timeLimit) {
                     timeExpired = true;
-                    return;
+                    break;
                 }
-                Node node;
-                int v, color;
-                synchronized (graph) {
-                    node = nodeStack.peek();
-                    if (node == null) {
-                        node = findNode();
-                        if (node == null) {
-                            return;
-                        }
-                    }
-                    if (node.coloring.isComplete()) {
-                        nodeStack.pop();
-                        if (!isValid(node.coloring)) {
-                            continue;
-                        }
+                if (checkInterrupted(numColors)) {
+                    break;
+                }
+                Node node = nodeStack.peek();
+                if (node.coloring.isComplete()) {
+                    nodeStack.pop();
+                    if (isValid(node.coloring)) {
                         //found a solution
                         solutions.add(node.coloring);
-                        continue;
                     }
-                    assert node.minDomain != null;
-
-                    if (node.failed && !nodeStack.isEmpty()) {
-                        nodeStack.pop();
-                        continue;
-                    }
-                    if (node.minDomain.size() == 0) {
-                        //the current node has failed, remove it from stack
-                        //when popping a non propagator
-                        //it's parent should pe popped too
-                        if (!node.propagator && node.parent != null) {
-                            node.parent.failed = true;
-                        }
-                        //propagateFailure(node);
-                        nodeStack.pop();
-                        continue;
-                    }
-                    //pick a color in the node's domain
-                    v = node.minDomain.vertex();
-                    color = node.minDomain.poll();
+                    continue;
                 }
+                assert node.minDomain != null;
 
-                //create the new domains (lazy)
-                Domain[] newDomains = Arrays.copyOf(node.domains, node.domains.length);
-                //the domain of the selected vertex v becomes singleton
-                newDomains[graph.indexOf(v)] = new Domain(v, color);
-
-                //create the new coloring
-                //color and propagate the assignment v=c
-                var newColoring = new Coloring(graph, node.coloring);
-                newColoring.setColor(v, color);
-
-                Node newNode = createNode(node, v, color, newDomains, newColoring);
-                nodesExplored++;
-                if (propagateAssignment(v, color, newNode, assignQueue)) {
-                    newNode.prepare();
-                    synchronized (graph) {
-                        nodeStack.push(newNode);
+                if (node.failed) {
+                    nodeStack.pop();
+                    continue;
+                }
+                if (node.minDomain.size() == 0) {
+                    //the current node has failed, remove it from stack
+                    //when popping a non propagator
+                    //it's parent should pe popped too
+                    if (!node.propagator && node.parent != null) {
+                        node.parent.failed = true;
                     }
+                    //propagateFailure(node);
+                    nodeStack.pop();
+                    continue;
+                }
+                if (getSurplusQueuedTaskCount() < MAX_SURPLUS) {
+                    split(nodeStack, forked, assignQueue);
+                }
+                //pick a color in the node's domain
+                int v = node.minDomain.vertex();
+                int color = node.minDomain.poll();
+                count++;
+                Node newNode = expand(node, v, color, assignQueue);
+                if (newNode != null) {
+                    nodeStack.push(newNode);
                 }
             }
+            explored.add(count);
+            for (var task : forked) {
+                task.join();
+            }
         }
 
-        private Node offerNode() {
-            synchronized (graph) {
-                if (nodeStack.isEmpty()) {
-                    return null;
+        //gives away the untried color closest to the root of the subtree
+        private void split(Deque<Node> nodeStack, List<SearchTask> forked, int[][] assignQueue) {
+            for (Iterator<Node> it = nodeStack.descendingIterator(); it.hasNext();) {
+                Node node = it.next();
+                if (node.failed || node.minDomain == null || node.minDomain.size() < 2) {
+                    continue;
                 }
-                Node selected = null;
-                Node node = nodeStack.peek();
-                while (node != null) {
-                    if (node.minDomain != null && node.minDomain.size() > 0) {
-                        selected = node;
-                    }
-                    node = node.parent;
+                int v = node.minDomain.vertex();
+                int color = node.minDomain.poll();
+                Node newNode = expand(node, v, color, assignQueue);
+                if (newNode != null) {
+                    var task = new SearchTask(numColors, newNode);
+                    task.fork();
+                    forked.add(task);
                 }
-                return selected;
+                return;
+            }
+        }
+
+        //creates the node resulted from the assignment v=color
+        private Node expand(Node node, int v, int color, int[][] assignQueue) {
+            //create the new domains (lazy)
+            Domain[] newDomains = Arrays.copyOf(node.domains, node.domains.length);
+            //the domain of the selected vertex v becomes singleton
+            newDomains[graph.indexOf(v)] = new Domain(v, color);
+
+            //create the new coloring
+            //color and propagate the assignment v=c
+            var newColoring = new Coloring(graph, node.coloring);
+            newColoring.setColor(v, color);
+
+            Node newNode = createNode(node, v, color, newDomains, newColoring);
+            if (!propagateAssignment(v, color, newNode, assignQueue)) {
+                return null;
             }
+            newNode.prepare();
+            return newNode;
         }
     }
 
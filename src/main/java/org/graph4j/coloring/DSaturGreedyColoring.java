@@ -16,9 +16,8 @@
  */
 package org.graph4j.coloring;
 
-import java.util.BitSet;
+import java.util.Arrays;
 import org.graph4j.Graph;
-import org.graph4j.util.VertexHeap;
 
 /**
  * {@inheritDoc}
@@ -30,7 +29,15 @@ import org.graph4j.util.VertexHeap;
  * Once a new vertex has been colored, the algorithm determines which of the
  * remaining uncolored vertices has the highest number of distinct colors in its
  * neighborhood and colors this vertex next. This number is called <em>the
- * degree of saturation</em> of a given vertex.
+ * degree of saturation</em> of a given vertex. Ties are broken by the number
+ * of uncolored neighbors.
+ *
+ * <p>
+ * The saturation degrees are maintained incrementally, as integer counters.
+ * The uncolored vertices are kept in a two-level structure: a bucket for each
+ * saturation degree, each bucket being a max-heap ordered by the number of
+ * uncolored neighbors. Coloring a vertex either moves a neighbor to the next
+ * bucket or sifts it down in its current one.
  *
  * DSatur produces exact results for bipartite, cycle, and wheel graphs.
  *
@@ -40,9 +47,15 @@ import org.graph4j.util.VertexHeap;
  */
 public class DSaturGreedyColoring extends GreedyColoringBase {
 
-    private VertexHeap heap;
-    private int[] degree;
-    private BitSet[] dsatur; //distinct adjacent colors
+    private int[] degree; //number of uncolored neighbors
+    private int[] saturation; //number of distinct adjacent colors
+    private long[][] adjColors; //distinct adjacent colors, as bitsets
+    //the buckets, one for each saturation degree
+    private int[][] bucket; //the heaps, containing vertex indices
+    private int[] bucketSize;
+    private int[] heapPos; //the position of each vertex in its heap
+    private int maxSaturation; //the highest non-empty bucket
+    private int numUncolored;
 
     public DSaturGreedyColoring(Graph graph) {
         super(graph);
@@ -52,42 +65,150 @@ public class DSaturGreedyColoring extends GreedyColoringBase {
     protected void init() {
         int n = graph.numVertices();
         this.degree = graph.degrees();
-        this.dsatur = new BitSet[n];
+        this.saturation = new int[n];
+        this.adjColors = new long[n][];
+        this.bucket = new int[1][];
+        this.bucketSize = new int[1];
+        this.heapPos = new int[n];
+        //initially, all vertices are in the first bucket
+        bucket[0] = new int[n];
         for (int i = 0; i < n; i++) {
-            dsatur[i] = new BitSet();
+            bucket[0][i] = i;
+            heapPos[i] = i;
         }
-        this.heap = new VertexHeap(graph, this::compareUncoloredVertices);
-    }
-
-    private int compareUncoloredVertices(int vi, int ui) {
-        int ret = dsatur[ui].cardinality() - dsatur[vi].cardinality();
-        if (ret != 0) {
-            //highest degree of saturation
-            return ret;
+        bucketSize[0] = n;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            siftDown(0, k);
         }
-        return degree[ui] - degree[vi];  //largest degree
+        this.maxSaturation = 0;
+        this.numUncolored = n;
     }
 
     @Override
     protected boolean hasUncoloredVertices() {
-        return !heap.isEmpty();
+        return numUncolored > 0;
     }
 
     @Override
     protected int nextUncoloredVertex() {
-        return graph.vertexAt(heap.poll());
+        while (bucketSize[maxSaturation] == 0) {
+            maxSaturation--;
+        }
+        int vi = bucket[maxSaturation][0];
+        remove(vi);
+        numUncolored--;
+        return graph.vertexAt(vi);
     }
 
     @Override
     protected void update(int v) {
-        //v was colored and removed from the heap
+        //v was colored and removed from the buckets
         int color = colors[graph.indexOf(v)];
         for (var it = graph.neighborIterator(v); it.hasNext();) {
             int ui = graph.indexOf(it.next());
-            dsatur[ui].set(color); //saturation may increase
+            if (colors[ui] >= 0) {
+                continue;
+            }
             degree[ui]--;
-            heap.update(ui);
+            if (addAdjacentColor(ui, color)) {
+                //the saturation increased, move u to the next bucket
+                remove(ui);
+                saturation[ui]++;
+                insert(ui);
+            } else {
+                siftDown(saturation[ui], heapPos[ui]);
+            }
+        }
+    }
+
+    //returns true if the color is new in the neighborhood of u
+    private boolean addAdjacentColor(int ui, int color) {
+        int word = color >>> 6;
+        long[] set = adjColors[ui];
+        if (set == null || set.length <= word) {
+            set = adjColors[ui] = set == null
+                    ? new long[word + 1] : Arrays.copyOf(set, word + 1);
+        }
+        long mask = 1L << color;
+        if ((set[word] & mask) != 0) {
+            return false;
+        }
+        set[word] |= mask;
+        return true;
+    }
+
+    private void insert(int ui) {
+        int s = saturation[ui];
+        if (s == bucket.length) {
+            bucket = Arrays.copyOf(bucket, 2 * s);
+            bucketSize = Arrays.copyOf(bucketSize, 2 * s);
+        }
+        if (bucket[s] == null) {
+            bucket[s] = new int[4];
+        } else if (bucketSize[s] == bucket[s].length) {
+            bucket[s] = Arrays.copyOf(bucket[s], 2 * bucketSize[s]);
+        }
+        int k = bucketSize[s]++;
+        bucket[s][k] = ui;
+        heapPos[ui] = k;
+        siftUp(s, k);
+        if (s > maxSaturation) {
+            maxSaturation = s;
+        }
+    }
+
+    private void remove(int ui) {
+        int s = saturation[ui];
+        int[] heap = bucket[s];
+        int k = heapPos[ui];
+        int last = --bucketSize[s];
+        if (k == last) {
+            return;
+        }
+        int moved = heap[last];
+        heap[k] = moved;
+        heapPos[moved] = k;
+        siftDown(s, k);
+        siftUp(s, heapPos[moved]);
+    }
+
+    private void siftUp(int s, int k) {
+        int[] heap = bucket[s];
+        int vi = heap[k];
+        while (k > 0) {
+            int parent = (k - 1) >>> 1;
+            if (degree[heap[parent]] >= degree[vi]) {
+                break;
+            }
+            heap[k] = heap[parent];
+            heapPos[heap[k]] = k;
+            k = parent;
+        }
+        heap[k] = vi;
+        heapPos[vi] = k;
+    }
+
+    private void siftDown(int s, int k) {
+        int[] heap = bucket[s];
+        int size = bucketSize[s];
+        int vi = heap[k];
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && degree[heap[child + 1]] > degree[heap[child]]) {
+                child++;
+            }
+            if (degree[heap[child]] <= degree[vi]) {
+                break;
+            }
+            heap[k] = heap[child];
+            heapPos[heap[k]] = k;
+            k = child;
         }
+        heap[k] = vi;
+        heapPos[vi] = k;
     }
 
 }
@@ -42,6 +42,11 @@ public abstract class ExactColoringBase extends SimpleGraphAlgorithm
     protected Set<Coloring> solutions;
     protected int solutionsLimit = 1;
     protected boolean outputEnabled = false;
+    protected PivotRule pivotRule = PivotRule.DEGREE;
+    //the portfolio this algorithm is part of, if any
+    PortfolioColoring portfolio;
+    //the search was stopped by the portfolio, not by failure or time
+    protected volatile boolean interrupted;
     //
     private Clique maxClique;
 
@@ -104,15 +109,29 @@ public abstract class ExactColoringBase extends SimpleGraphAlgorithm
     @Override
     public Coloring findColoring() {
         Coloring coloring = getHeuristicColoring();
+        publish(coloring);
         int upperBound = coloring.maxColorNumber();
         int lowerBound = getLowerBound();
         int i = upperBound;
         while (i >= lowerBound) {
+            if (portfolio != null) {
+                //another member of the portfolio may have found a better coloring
+                if (portfolio.isDone()) {
+                    break;
+                }
+                i = Math.min(i, portfolio.numColors() - 1);
+                if (i < lowerBound) {
+                    break;
+                }
+            }
             if (outputEnabled) {
                 System.out.println(this.getClass().getSimpleName() + ": trying " + i + " colors");
             }
             var c = findColoring(i);
             if (c == null) {
+                if (interrupted) {
+                    continue;
+                }
                 if (outputEnabled) {
                     System.out.println(timeExpired ? "\tTime expired" : "\tNo solution");
                 }
@@ -126,6 +145,7 @@ public abstract class ExactColoringBase extends SimpleGraphAlgorithm
                     System.out.println("\tSolution found");
                 }
                 coloring = c;
+                publish(coloring);
                 i = c.maxColorNumber();
                 if (isOptimalityEnsured()) {
                     break;
@@ -135,6 +155,30 @@ public abstract class ExactColoringBase extends SimpleGraphAlgorithm
         return coloring;
     }
 
+    //sends a coloring to the portfolio, if any
+    private void publish(Coloring coloring) {
+        if (portfolio != null) {
+            portfolio.update(coloring);
+        }
+    }
+
+    /**
+     * Checks if the search for a coloring with the given number of colors
+     * should be abandoned, because the portfolio this algorithm belongs to has
+     * finished or another member has already found a coloring using at most
+     * that number of colors.
+     *
+     * @param numColors the number of colors of the current search.
+     * @return {@code true} if the search should be abandoned.
+     */
+    protected boolean checkInterrupted(int numColors) {
+        if (portfolio != null
+                && (portfolio.isDone() || portfolio.numColors() <= numColors)) {
+            interrupted = true;
+        }
+        return interrupted;
+    }
+
     /**
      * Finding all colorings is suitable for small graphs only.
      *
@@ -146,6 +190,7 @@ public abstract class ExactColoringBase extends SimpleGraphAlgorithm
     public Set<Coloring> findAllColorings(int numColors, int solutionsLimit) {
         this.startTime = System.currentTimeMillis();
         this.timeExpired = false;
+        this.interrupted = false;
         if (solutionsLimit <= 0) {
             solutionsLimit = Integer.MAX_VALUE;
         }
@@ -158,6 +203,7 @@ public abstract class ExactColoringBase extends SimpleGraphAlgorithm
     public Coloring findColoring(int numColors) {
         this.startTime = System.currentTimeMillis();
         this.timeExpired = false;
+        this.interrupted = false;
         solutionsLimit = 1;
         if (components == null) {
             components = new ConnectivityAlgorithm(graph).getConnectedSets();
@@ -217,6 +263,23 @@ public abstract class ExactColoringBase extends SimpleGraphAlgorithm
         return true;
     }
 
+    /**
+     *
+     * @return the rule used for choosing the next vertex to be colored.
+     */
+    public PivotRule getPivotRule() {
+        return pivotRule;
+    }
+
+    /**
+     *
+     * @param pivotRule the rule used for choosing the next vertex to be
+     * colored.
+     */
+    public void setPivotRule(PivotRule pivotRule) {
+        this.pivotRule = pivotRule;
+    }
+
     /**
      *
      * @return the solutions limit.
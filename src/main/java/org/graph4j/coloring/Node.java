@@ -38,7 +38,7 @@ public class Node {
     Domain minDomain;
     boolean removeSymmetricalColors;
     boolean propagator;
-    boolean failed;
+    volatile boolean failed; //may be set by a child explored in another task
 
     public Node(ExactColoringBase alg, Node parent, int vertex, int color, Domain[] domains, Coloring coloring,
             boolean removeSymmetricalColors) {
@@ -70,10 +70,8 @@ public class Node {
                 if (minSize == 2) {
                     break;
                 }*/
-            } else if (domSize == minSize) {
-                if (graph.degree(minDomain.vertex()) < graph.degree(dom.vertex())) {
-                    minDomain = dom;
-                }
+            } else if (domSize == minSize && isPreferred(dom.vertex(), minDomain.vertex())) {
+                minDomain = dom;
             }
         }
         if (minDomain != null) {
@@ -87,6 +85,29 @@ public class Node {
         }
     }
 
+    //breaks the ties between vertices having domains of the same size
+    private boolean isPreferred(int v, int u) {
+        var graph = alg.getGraph();
+        switch (alg.getPivotRule()) {
+            case UNCOLORED_DEGREE:
+                return countUncoloredNeighbors(v) > countUncoloredNeighbors(u);
+            case INDEX:
+                return graph.indexOf(v) < graph.indexOf(u);
+            default:
+                return graph.degree(v) > graph.degree(u);
+        }
+    }
+
+    private int countUncoloredNeighbors(int v) {
+        int count = 0;
+        for (var it = alg.getGraph().neighborIterator(v); it.hasNext();) {
+            if (!coloring.isColorSet(it.next())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     private void trace() {
         List<Node> list = new ArrayList<>();
         var temp = this;
@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.coloring;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.graph4j.Graph;
+import org.graph4j.SimpleGraphAlgorithm;
+import org.graph4j.util.CsrSnapshot;
+import org.graph4j.util.Validator;
+
+/**
+ * {@inheritDoc}
+ *
+ * <p>
+ * Parallel greedy coloring, using the Jones-Plassmann algorithm. Each vertex
+ * has a priority and it is colored with the smallest color not used by its
+ * neighbors of higher priority, as soon as all of them have been colored.
+ * Vertices that do not depend on each other are colored in parallel. The
+ * result is the same as the one of the sequential greedy algorithm that colors
+ * the vertices in decreasing order of their priorities.
+ *
+ * <p>
+ * By default, the priorities are given by the degrees of the vertices (largest
+ * degree first), ties being broken pseudo-randomly, in order to avoid long
+ * chains of dependent vertices. A vertex ordering may also be specified.
+ *
+ * <p>
+ * Each vertex keeps the number of uncolored neighbors of higher priority as an
+ * atomic counter. The vertices that become ready are processed by fork-join
+ * tasks, which split their work whenever other threads are idle.
+ *
+ * <p>
+ * The complexity is O(n+m), the work being divided among the available
+ * processors.
+ *
+ * @see LargestDegreeFirstColoring
+ * @author Cristian Frăsinaru
+ */
+public class ParallelGreedyColoring extends SimpleGraphAlgorithm
+        implements ColoringAlgorithm {
+
+    private static final int MAX_SURPLUS = 2;
+    private static final int MIN_SPLIT_SIZE = 256;
+    private final int[] vertexOrdering;
+    private int n;
+    private int[] start; //adjacency lists, as vertex indices (CSR)
+    private int[] adj;
+    private long[] priority;
+    private AtomicIntegerArray waiting; //uncolored neighbors of higher priority
+    private int[] colors;
+    private ThreadLocal<int[]> marks;
+
+    /**
+     * The vertices are colored in decreasing order by their degree.
+     *
+     * @param graph the input graph.
+     */
+    public ParallelGreedyColoring(Graph graph) {
+        super(graph);
+        this.vertexOrdering = null;
+    }
+
+    /**
+     * The result will be the same as the one of the sequential greedy
+     * algorithm using the specified ordering.
+     *
+     * @param graph the input graph.
+     * @param vertexOrdering an ordering of the graph vertices.
+     */
+    public ParallelGreedyColoring(Graph graph, int[] vertexOrdering) {
+        super(graph);
+        Validator.checkVertexOrdering(graph, vertexOrdering);
+        this.vertexOrdering = vertexOrdering;
+    }
+
+    @Override
+    public Coloring findColoring() {
+        init();
+        //the vertices without neighbors of higher priority start the coloring
+        int[] roots = new int[n];
+        int numRoots = 0;
+        for (int vi = 0; vi < n; vi++) {
+            if (waiting.get(vi) == 0) {
+                roots[numRoots++] = vi;
+            }
+        }
+        ForkJoinPool.commonPool().invoke(new ColoringTask(roots, numRoots));
+        var coloring = new Coloring(graph, colors);
+        assert isValid(coloring);
+        return coloring;
+    }
+
+    @Override
+    public Coloring findColoring(int numColors) {
+        var coloring = findColoring();
+        return coloring.maxColorNumber() < numColors ? coloring : null;
+    }
+
+    private void init() {
+        n = graph.numVertices();
+        var csr = new CsrSnapshot(graph);
+        start = csr.getStart();
+        adj = csr.getAdjacency();
+        priority = new long[n];
+        if (vertexOrdering == null) {
+            for (int i = 0; i < n; i++) {
+                priority[i] = ((long) (start[i + 1] - start[i]) << 32) | (mix(i) & 0xFFFFFFFFL);
+            }
+        } else {
+            for (int k = 0; k < n; k++) {
+                priority[graph.indexOf(vertexOrdering[k])] = n - k;
+            }
+        }
+        int[] count = new int[n];
+        for (int i = 0; i < n; i++) {
+            for (int k = start[i]; k < start[i + 1]; k++) {
+                if (precedes(adj[k], i)) {
+                    count[i]++;
+                }
+            }
+        }
+        waiting = new AtomicIntegerArray(count);
+        colors = new int[n];
+        Arrays.fill(colors, -1);
+        int maxDegree = 0;
+        for (int i = 0; i < n; i++) {
+            maxDegree = Math.max(maxDegree, start[i + 1] - start[i]);
+        }
+        int markSize = maxDegree + 2;
+        marks = ThreadLocal.withInitial(() -> {
+            int[] mark = new int[markSize];
+            Arrays.fill(mark, -1);
+            return mark;
+        });
+    }
+
+    //a pseudo-random permutation of the indices
+    private static int mix(int x) {
+        x ^= x >>> 16;
+        x *= 0x7feb352d;
+        x ^= x >>> 15;
+        x *= 0x846ca68b;
+        x ^= x >>> 16;
+        return x;
+    }
+
+    //true if the vertex ui is colored before vi
+    private boolean precedes(int ui, int vi) {
+        return priority[ui] > priority[vi] || (priority[ui] == priority[vi] && ui < vi);
+    }
+
+    //all the neighbors of vi with higher priority are colored
+    private void color(int vi, int[] mark) {
+        for (int k = start[vi]; k < start[vi + 1]; k++) {
+            int ui = adj[k];
+            if (precedes(ui, vi)) {
+                mark[colors[ui]] = vi;
+            }
+        }
+        int color = 0;
+        while (mark[color] == vi) {
+            color++;
+        }
+        colors[vi] = color;
+    }
+
+    //colors the vertices that are ready and those that become ready
+    private class ColoringTask extends RecursiveAction {
+
+        private int[] stack;
+        private int size;
+
+        ColoringTask(int[] stack, int size) {
+            this.stack = stack;
+            this.size = size;
+        }
+
+        @Override
+        protected void compute() {
+            int[] mark = marks.get();
+            List<ColoringTask> forked = new ArrayList<>();
+            while (size > 0) {
+                if (size >= MIN_SPLIT_SIZE && getSurplusQueuedTaskCount() < MAX_SURPLUS) {
+                    //give away half of the ready vertices
+                    int half = size / 2;
+                    var task = new ColoringTask(Arrays.copyOfRange(stack, size - half, size), half);
+                    size -= half;
+                    task.fork();
+                    forked.add(task);
+                }
+                int vi = stack[--size];
+                color(vi, mark);
+                for (int k = start[vi]; k < start[vi + 1]; k++) {
+                    int ui = adj[k];
+                    if (precedes(vi, ui) && waiting.decrementAndGet(ui) == 0) {
+                        if (size == stack.length) {
+                            stack = Arrays.copyOf(stack, 2 * size);
+                        }
+                        stack[size++] = ui;
+                    }
+                }
+            }
+            for (var task : forked) {
+                task.join();
+            }
+        }
+    }
+}
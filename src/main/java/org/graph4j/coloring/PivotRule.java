@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.coloring;
+
+/**
+ * The rules used by backtracking coloring algorithms in order to choose the
+ * next vertex to be colored (the pivot). The pivot is always a vertex with the
+ * smallest domain of available colors; the rule decides between the vertices
+ * having domains of the same size.
+ *
+ * @see BacktrackColoringBase
+ * @author Cristian Frăsinaru
+ */
+public enum PivotRule {
+    /**
+     * Prefer the vertex with the largest degree in the graph.
+     */
+    DEGREE,
+    /**
+     * Prefer the vertex with the largest number of uncolored neighbors, as in
+     * the DSatur heuristic.
+     */
+    UNCOLORED_DEGREE,
+    /**
+     * Prefer the vertex with the smallest index in the graph.
+     */
+    INDEX
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.coloring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.graph4j.Graph;
+import org.graph4j.SimpleGraphAlgorithm;
+import org.graph4j.clique.MaximalCliqueFinder;
+import org.graph4j.util.Clique;
+
+/**
+ * Runs several exact coloring algorithms in parallel, sharing the best
+ * coloring found by any of them.
+ *
+ * <p>
+ * The members of the portfolio are backtracking algorithms that differ in the
+ * heuristic used to compute the initial coloring (DSatur or Recursive Largest
+ * First) and in the rule used to choose the pivot of the search. Whenever a
+ * member finds a coloring, the number of colors becomes an upper bound for all
+ * the others, which abandon their current search if it can no longer improve
+ * it. As soon as one member completes its search, the best coloring is optimal
+ * and all the members are stopped.
+ *
+ * <p>
+ * A time limit may be imposed on each attempt of the members, as in the case
+ * of {@link BacktrackColoring}. If the time expires, the best coloring found
+ * until then is returned.
+ *
+ * @see BacktrackColoring
+ * @see PivotRule
+ * @author Cristian Frăsinaru
+ */
+public class PortfolioColoring extends SimpleGraphAlgorithm
+        implements ColoringAlgorithm {
+
+    private final long timeLimit;
+    private final AtomicInteger numColors = new AtomicInteger(Integer.MAX_VALUE);
+    private Coloring best;
+    private volatile boolean done;
+    private boolean timeExpired;
+    private Clique maxClique;
+
+    /**
+     *
+     * @param graph the input graph.
+     */
+    public PortfolioColoring(Graph graph) {
+        this(graph, 0);
+    }
+
+    /**
+     *
+     * @param graph the input graph.
+     * @param timeLimit in milliseconds.
+     */
+    public PortfolioColoring(Graph graph, long timeLimit) {
+        super(graph);
+        this.timeLimit = timeLimit;
+    }
+
+    /**
+     * Creates the algorithms of the portfolio.
+     *
+     * @return the members of the portfolio.
+     */
+    protected List<ExactColoringBase> createMembers() {
+        List<ExactColoringBase> members = new ArrayList<>();
+        members.add(new Member(graph, timeLimit, true, PivotRule.DEGREE));
+        members.add(new Member(graph, timeLimit, false, PivotRule.DEGREE));
+        members.add(new Member(graph, timeLimit, true, PivotRule.UNCOLORED_DEGREE));
+        members.add(new Member(graph, timeLimit, false, PivotRule.INDEX));
+        return members;
+    }
+
+    @Override
+    public Clique getMaximalClique() {
+        if (maxClique == null) {
+            maxClique = new MaximalCliqueFinder(graph).getMaximalClique();
+        }
+        return maxClique;
+    }
+
+    @Override
+    public Coloring findColoring() {
+        return race(alg -> {
+            alg.findColoring();
+            //a member that was not stopped by time has proven optimality
+            return !alg.isTimeExpired();
+        });
+    }
+
+    @Override
+    public Coloring findColoring(int numColors) {
+        Coloring coloring = race(alg -> {
+            Coloring c = alg.findColoring(numColors);
+            if (c != null) {
+                update(c);
+                return true;
+            }
+            //the member proved that there is no such coloring
+            return !alg.isTimeExpired() && !alg.interrupted;
+        });
+        return coloring != null && coloring.maxColorNumber() < numColors ? coloring : null;
+    }
+
+    private Coloring race(Race race) {
+        best = null;
+        numColors.set(Integer.MAX_VALUE);
+        done = false;
+        List<RecursiveAction> tasks = new ArrayList<>();
+        for (var alg : createMembers()) {
+            alg.portfolio = this;
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    if (!done && race.run(alg)) {
+                        done = true;
+                    }
+                }
+            });
+        }
+        ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                ForkJoinTask.invokeAll(tasks);
+            }
+        });
+        timeExpired = !done;
+        return best;
+    }
+
+    //invoked by the members when they find a coloring
+    synchronized void update(Coloring coloring) {
+        int k = coloring.maxColorNumber() + 1;
+        if (k < numColors.get()) {
+            best = coloring;
+            numColors.set(k);
+        }
+    }
+
+    /**
+     *
+     * @return the number of colors of the best coloring found so far.
+     */
+    int numColors() {
+        return numColors.get();
+    }
+
+    /**
+     *
+     * @return {@code true} if one of the members has completed its search.
+     */
+    boolean isDone() {
+        return done;
+    }
+
+    /**
+     *
+     * @return {@code true} if time expired before determining the optimum.
+     */
+    public boolean isTimeExpired() {
+        return timeExpired;
+    }
+
+    @FunctionalInterface
+    private interface Race {
+
+        //returns true if the member has settled the problem
+        boolean run(ExactColoringBase alg);
+    }
+
+    private static class Member extends BacktrackColoring {
+
+        private final boolean dsatur;
+
+        Member(Graph graph, long timeLimit, boolean dsatur, PivotRule pivotRule) {
+            super(graph, timeLimit);
+            this.dsatur = dsatur;
+            this.pivotRule = pivotRule;
+        }
+
+        @Override
+        public Coloring getHeuristicColoring() {
+            if (dsatur) {
+                return new DSaturGreedyColoring(graph).findColoring();
+            }
+            return super.getHeuristicColoring();
+        }
+    }
+}
@@ -18,10 +18,6 @@ package org.graph4j.connectivity;
 
 import org.graph4j.Graph;
 import org.graph4j.SimpleGraphAlgorithm;
-import org.graph4j.util.VertexStack;
-import org.graph4j.traversal.DFSVisitor;
-import org.graph4j.traversal.DFSTraverser;
-import org.graph4j.traversal.SearchNode;
 import org.graph4j.util.EdgeSet;
 
 /**
@@ -30,6 +26,11 @@ import org.graph4j.util.EdgeSet;
  *
  * The algorithm runs in linear time, and is based on depth-first search.
  *
+ * <p>
+ * The depth-first search is iterative: its state is kept in arrays indexed by
+ * vertex (visiting order, lowpoint and the position in the adjacency list),
+ * together with an explicit stack for the current path, so it does not depend
+ * on the size of the call stack and creates no objects per vertex.
  *
  * @author Cristian Frăsinaru
  */
@@ -73,61 +74,62 @@ public class BridgeDetectionAlgorithm extends SimpleGraphAlgorithm {
     }
 
     private void compute(boolean checkOnly) {
+        int n = graph.numVertices();
         this.bridges = new EdgeSet(graph);
-        var dfs = new DFSTraverser(graph);
-        dfs.traverse(new Visitor(checkOnly));
-        if (bridgeless == null) {
-            bridgeless = true;
-        }
-        if (dfs.isInterrupted()) {
-            bridges = null;
-        }
-    }
-
-    private class Visitor implements DFSVisitor {
-
-        private final boolean checkOnly;
-        private final int[] low;
-        private final VertexStack stack;
-
-        public Visitor(boolean checkOnly) {
-            this.checkOnly = checkOnly;
-            this.low = new int[graph.numVertices()];
-            this.stack = new VertexStack(graph);
-        }
-
-        @Override
-        public void startVertex(SearchNode node) {
-            int v = node.vertex();
-            //by default, the lowpoint is the dfs visit time (order)
-            low[graph.indexOf(v)] = node.order();
-            stack.push(v);
-        }
-
-        @Override
-        public void backEdge(SearchNode from, SearchNode to) {
-            //change the lowpoint of v=from.vertex
-            int vi = graph.indexOf(from.vertex());
-            low[vi] = Math.min(low[vi], to.order());
-        }
-
-        @Override
-        public void upward(SearchNode from, SearchNode to) {
-            int v = from.vertex();
-            int u = to.vertex();
-            int vi = graph.indexOf(v);
-            int ui = graph.indexOf(u);
-            //going up v -> u
-            //the lowpoint of u is atleast the lowpoint of v 
-            low[ui] = Math.min(low[ui], low[vi]);
-            if (low[vi] > to.order()) {
-                bridgeless = false;
-                if (checkOnly) {
-                    interrupt();
+        int[] order = new int[n]; //the visiting order, starting with 1
+        int[] low = new int[n];
+        int[] pos = new int[n]; //the position in the adjacency list
+        int[] path = new int[n]; //the vertices on the current path
+        int time = 0;
+        for (int root = 0; root < n; root++) {
+            if (order[root] != 0) {
+                continue;
+            }
+            int top = 0;
+            path[top++] = root;
+            order[root] = low[root] = ++time;
+            while (top > 0) {
+                int vi = path[top - 1];
+                int parent = top > 1 ? path[top - 2] : -1;
+                int[] neighbors = graph.neighbors(graph.vertexAt(vi));
+                int p = pos[vi];
+                int ui = -1;
+                while (p < neighbors.length) {
+                    int wi = graph.indexOf(neighbors[p++]);
+                    if (order[wi] == 0) {
+                        ui = wi;
+                        break;
+                    }
+                    if (wi != parent && order[wi] < low[vi]) {
+                        //back edge
+                        low[vi] = order[wi];
+                    }
+                }
+                pos[vi] = p;
+                if (ui >= 0) {
+                    //tree edge vi -> ui
+                    path[top++] = ui;
+                    order[ui] = low[ui] = ++time;
+                    continue;
+                }
+                //going up vi -> parent
+                top--;
+                if (parent < 0) {
+                    continue;
+                }
+                low[parent] = Math.min(low[parent], low[vi]);
+                if (low[vi] > order[parent]) {
+                    bridgeless = false;
+                    if (checkOnly) {
+                        bridges = null;
+                        return;
+                    }
+                    bridges.add(graph.vertexAt(parent), graph.vertexAt(vi));
                 }
-                bridges.add(u, v);
             }
         }
-
+        if (bridgeless == null) {
+            bridgeless = true;
+        }
     }
 }
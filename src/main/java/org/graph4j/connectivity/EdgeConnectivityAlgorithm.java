@@ -38,6 +38,7 @@ import org.graph4j.util.VertexQueue;
  * cardinality edge cut and the edge connectivity number.
  *
  * @see StoerWagnerMinimumCut
+ * @see NagamochiIbarakiMinimumCut
  * @author Cristian Frăsinaru
  */
 public class EdgeConnectivityAlgorithm extends GraphAlgorithm {
@@ -178,7 +179,7 @@ public class EdgeConnectivityAlgorithm extends GraphAlgorithm {
      */
     public EdgeCut getMinimumCut() {
         if (globalMinCut == null) {
-            globalMinCut = new StoerWagnerMinimumCut(graph, true).getMinimumCut();
+            globalMinCut = new NagamochiIbarakiMinimumCut(graph, true).getMinimumCut();
         }
         connectivityNumber = globalMinCut.size();
         return globalMinCut;
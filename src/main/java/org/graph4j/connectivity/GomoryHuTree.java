@@ -0,0 +1,324 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.connectivity;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import org.graph4j.Graph;
+import org.graph4j.GraphBuilder;
+import org.graph4j.GraphUtils;
+import org.graph4j.Network;
+import static org.graph4j.Network.CAPACITY;
+import org.graph4j.SimpleGraphAlgorithm;
+import org.graph4j.flow.PushRelabelMaximumFlow;
+import org.graph4j.generators.EdgeDataGenerator;
+import org.graph4j.util.Validator;
+
+/**
+ * Computes a Gomory-Hu tree of an undirected graph, using Gusfield's
+ * algorithm.
+ *
+ * <p>
+ * A <em>Gomory-Hu tree</em> (or cut tree) is a weighted tree on the vertices
+ * of the graph, such that for any two vertices {@code v} and {@code u}, the
+ * minimum weight of an edge on the path between them in the tree is equal to
+ * the value of the minimum cut separating them in the graph. Removing that
+ * edge from the tree splits the vertices into the two sides of such a cut.
+ *
+ * <p>
+ * The tree is created using n-1 maximum flow computations, after which the
+ * minimum cut between any two vertices is determined in time proportional to
+ * the length of the path between them in the tree. In parallel mode, the
+ * maximum flows of consecutive iterations are computed speculatively, in
+ * parallel; the result of an iteration is discarded and recomputed only if a
+ * previous iteration of the same batch changed the pair of vertices it had to
+ * separate.
+ *
+ * Implemented after: Dan Gusfield, "Very Simple Methods for All Pairs Network
+ * Flow Analysis".
+ *
+ * @see EdgeConnectivityAlgorithm
+ * @see StoerWagnerMinimumCut
+ * @author Cristian Frăsinaru
+ */
+public class GomoryHuTree extends SimpleGraphAlgorithm {
+
+    private final boolean ignoreWeights;
+    private final boolean parallel;
+    private int n;
+    private int[] parent; //the parent of each vertex index in the tree
+    private double[] weight; //the weight of the edge between a vertex and its parent
+    private int[] depth;
+    private Graph tree;
+
+    /**
+     * Creates an algorithm for computing a Gomory-Hu tree. If the input graph
+     * has no weights on its edges, the algorithm will assume the default value
+     * of 1 for each edge.
+     *
+     * @param graph the input graph.
+     */
+    public GomoryHuTree(Graph graph) {
+        this(graph, !graph.hasEdgeWeights(), false);
+    }
+
+    /**
+     * Creates an algorithm for computing a Gomory-Hu tree.
+     *
+     * @param graph the input graph.
+     * @param ignoreWeights if {@code true}, the weight of each edge is 1.
+     * @param parallel if {@code true}, the maximum flows are computed in
+     * parallel.
+     */
+    public GomoryHuTree(Graph graph, boolean ignoreWeights, boolean parallel) {
+        super(graph);
+        this.ignoreWeights = ignoreWeights;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Returns the Gomory-Hu tree, as a weighted graph having the same vertices
+     * as the input graph. If the graph is disconnected, the tree contains
+     * edges of weight zero.
+     *
+     * @return the Gomory-Hu tree.
+     */
+    public Graph getTree() {
+        if (tree != null) {
+            return tree;
+        }
+        compute();
+        tree = GraphBuilder.verticesFrom(graph).buildGraph();
+        for (int vi = 0; vi < n; vi++) {
+            if (parent[vi] >= 0) {
+                tree.addEdge(graph.vertexAt(vi), graph.vertexAt(parent[vi]), weight[vi]);
+            }
+        }
+        return tree;
+    }
+
+    /**
+     * Returns the value of the minimum cut separating two vertices, that is
+     * the minimum weight of an edge on the path between them in the tree.
+     *
+     * @param v a vertex number.
+     * @param u a vertex number.
+     * @return the value of the minimum cut separating v and u.
+     */
+    public double getMinimumCutValue(int v, int u) {
+        int xi = minimumEdge(v, u);
+        return weight[xi];
+    }
+
+    /**
+     * Returns a minimum cut separating two vertices.
+     *
+     * @param v a vertex number.
+     * @param u a vertex number.
+     * @return a minimum cut separating v and u.
+     */
+    public EdgeCut getMinimumCut(int v, int u) {
+        return createCut(minimumEdge(v, u));
+    }
+
+    /**
+     * Returns a minimum cut of the graph, corresponding to the edge of the
+     * tree having the minimum weight.
+     *
+     * @return a minimum cut of the graph.
+     */
+    public EdgeCut getMinimumCut() {
+        if (graph.numVertices() < 2) {
+            throw new IllegalArgumentException("The graph must have at least two vertices.");
+        }
+        compute();
+        int min = -1;
+        for (int vi = 0; vi < n; vi++) {
+            if (parent[vi] >= 0 && (min < 0 || weight[vi] < weight[min])) {
+                min = vi;
+            }
+        }
+        return createCut(min);
+    }
+
+    //the index of the vertex whose tree edge to its parent has the minimum weight
+    private int minimumEdge(int v, int u) {
+        Validator.containsVertex(graph, v);
+        Validator.containsVertex(graph, u);
+        if (v == u) {
+            throw new IllegalArgumentException("The vertices must be different.");
+        }
+        compute();
+        int vi = graph.indexOf(v);
+        int ui = graph.indexOf(u);
+        int min = -1;
+        while (vi != ui) {
+            if (depth[vi] < depth[ui]) {
+                int t = vi;
+                vi = ui;
+                ui = t;
+            }
+            if (min < 0 || weight[vi] < weight[min]) {
+                min = vi;
+            }
+            vi = parent[vi];
+        }
+        return min;
+    }
+
+    //the side of the cut is the subtree of the vertex
+    private EdgeCut createCut(int xi) {
+        boolean[] inside = new boolean[n];
+        int[] state = new int[n]; //0 = unknown, 1 = inside, 2 = outside
+        state[xi] = 1;
+        int count = 0;
+        int[] path = new int[n];
+        for (int vi = 0; vi < n; vi++) {
+            int len = 0;
+            int ui = vi;
+            while (ui >= 0 && state[ui] == 0) {
+                path[len++] = ui;
+                ui = parent[ui];
+            }
+            int s = ui < 0 ? 2 : state[ui];
+            for (int k = 0; k < len; k++) {
+                state[path[k]] = s;
+            }
+        }
+        for (int vi = 0; vi < n; vi++) {
+            if (state[vi] == 1) {
+                inside[vi] = true;
+                count++;
+            }
+        }
+        int[] side = new int[count];
+        for (int vi = 0, k = 0; vi < n; vi++) {
+            if (inside[vi]) {
+                side[k++] = graph.vertexAt(vi);
+            }
+        }
+        return new EdgeCut(graph, side, weight[xi]);
+    }
+
+    private void compute() {
+        if (parent != null) {
+            return;
+        }
+        n = graph.numVertices();
+        parent = new int[n];
+        weight = new double[n];
+        if (n > 0) {
+            parent[0] = -1;
+        }
+        if (n >= 2) {
+            gusfield();
+        }
+        computeDepths();
+    }
+
+    private void gusfield() {
+        Network network = GraphUtils.toNetwork(graph);
+        if (ignoreWeights) {
+            new EdgeDataGenerator(network, CAPACITY).fill(Graph.DEFAULT_EDGE_WEIGHT);
+        }
+        int batch = parallel ? Math.max(1, ForkJoinPool.getCommonPoolParallelism()) : 1;
+        batch = Math.min(batch, n - 1);
+        //each concurrent flow computation uses its own copy of the network
+        Network[] networks = new Network[batch];
+        networks[0] = network;
+        for (int k = 1; k < batch; k++) {
+            networks[k] = network.copy();
+        }
+        int[] targets = new int[batch];
+        double[] values = new double[batch];
+        boolean[][] sides = new boolean[batch][];
+        for (int s = 1; s < n; s += batch) {
+            final int first = s;
+            int size = Math.min(batch, n - s);
+            for (int k = 0; k < size; k++) {
+                targets[k] = parent[s + k];
+            }
+            if (size > 1) {
+                IntStream.range(0, size).parallel().forEach(k
+                        -> values[k] = minimumCut(networks[k], first + k, targets[k], sides, k));
+            } else {
+                values[0] = minimumCut(networks[0], s, targets[0], sides, 0);
+            }
+            for (int k = 0; k < size; k++) {
+                int si = s + k;
+                if (parent[si] != targets[k]) {
+                    //the speculative cut separates an outdated pair
+                    targets[k] = parent[si];
+                    values[k] = minimumCut(networks[0], si, targets[k], sides, k);
+                }
+                update(si, targets[k], values[k], sides[k]);
+            }
+        }
+    }
+
+    //the vertices on the side of si, of a minimum cut separating si and ti
+    private double minimumCut(Network network, int si, int ti, boolean[][] sides, int k) {
+        network.setSource(graph.vertexAt(si));
+        network.setSink(graph.vertexAt(ti));
+        var alg = new PushRelabelMaximumFlow(network);
+        double value = alg.getMaximumFlowValue();
+        boolean[] side = sides[k];
+        if (side == null) {
+            side = sides[k] = new boolean[n];
+        } else {
+            Arrays.fill(side, false);
+        }
+        for (int v : alg.getSourcePart()) {
+            side[graph.indexOf(v)] = true;
+        }
+        return value;
+    }
+
+    private void update(int si, int ti, double value, boolean[] side) {
+        weight[si] = value;
+        for (int i = 0; i < n; i++) {
+            if (i != si && side[i] && parent[i] == ti) {
+                parent[i] = si;
+            }
+        }
+        if (parent[ti] >= 0 && side[parent[ti]]) {
+            parent[si] = parent[ti];
+            parent[ti] = si;
+            weight[si] = weight[ti];
+            weight[ti] = value;
+        }
+    }
+
+    private void computeDepths() {
+        depth = new int[n];
+        Arrays.fill(depth, -1);
+        int[] path = new int[n];
+        for (int vi = 0; vi < n; vi++) {
+            int len = 0;
+            int ui = vi;
+            while (ui >= 0 && depth[ui] < 0) {
+                path[len++] = ui;
+                ui = parent[ui];
+            }
+            int d = ui < 0 ? -1 : depth[ui];
+            for (int k = len - 1; k >= 0; k--) {
+                depth[path[k]] = ++d;
+            }
+        }
+    }
+}
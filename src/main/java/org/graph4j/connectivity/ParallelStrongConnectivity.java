@@ -0,0 +1,488 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.connectivity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+import org.graph4j.Digraph;
+import org.graph4j.DirectedGraphAlgorithm;
+import org.graph4j.Edge;
+import org.graph4j.GraphBuilder;
+import org.graph4j.util.CsrSnapshot;
+import static org.graph4j.util.ParallelFrontier.expand;
+import org.graph4j.util.VertexSet;
+
+/**
+ * Parallel algorithm for finding the strongly connected components of a
+ * directed graph, intended for very large digraphs, such as web graphs, having
+ * a giant component and many trivial ones.
+ *
+ * <p>
+ * The algorithm works in several steps, each of them removing the vertices
+ * whose components were determined:
+ * <ul>
+ * <li><em>trim</em>: the vertices having no incoming or no outgoing arcs are
+ * components by themselves. Removing them may create other such vertices, so
+ * the counters of the neighbors are decremented atomically and the vertices
+ * reaching zero form the next frontier;</li>
+ * <li><em>forward-backward</em>: the component of a pivot vertex, usually the
+ * giant one, is the set of vertices both reachable from the pivot and reaching
+ * it;</li>
+ * <li><em>coloring</em>: each vertex receives the largest index of a vertex
+ * that can reach it, by propagating the colors forward. Each vertex that kept
+ * its own color is the root of a component, formed by the vertices of the
+ * same color that can reach it, found by a backward search. The backward
+ * searches of distinct roots are independent.</li>
+ * </ul>
+ * When few vertices remain, their components are determined by the
+ * sequential, iterative Tarjan algorithm. The searches are level-synchronous:
+ * each frontier is split in chunks, which are processed in parallel, on the
+ * common fork-join pool. The backward searches use the predecessors lists of
+ * the digraph.
+ *
+ * Implemented after: George Slota, Sivasankaran Rajamanickam, Kamesh
+ * Madduri, "BFS and Coloring-based Parallel Algorithms for Strongly Connected
+ * Components and Related Problems".
+ *
+ * @see TarjanStrongConnectivity
+ * @author Cristian Frăsinaru
+ */
+public class ParallelStrongConnectivity
+        extends DirectedGraphAlgorithm implements StrongConnectivityAlgorithm {
+
+    private static final int SEQUENTIAL_THRESHOLD = 10_000;
+    private int n;
+    private int[] outStart, outAdj; //successors, as vertex indices (CSR)
+    private int[] inStart, inAdj; //predecessors, as vertex indices (CSR)
+    private int[] rep; //a vertex of the component of each vertex, -1 if unknown
+    private int[] active; //the vertices whose components are unknown
+    private int numActive;
+    private AtomicIntegerArray inDegree, outDegree; //among the active vertices
+    private AtomicIntegerArray mark; //the last step which visited a vertex
+    private int step;
+    //
+    private int[] compIds;
+    private int numComponents;
+    private List<VertexSet> compSets;
+
+    /**
+     *
+     * @param digraph the input digraph.
+     */
+    public ParallelStrongConnectivity(Digraph digraph) {
+        super(digraph);
+    }
+
+    @Override
+    public boolean isStronglyConnected() {
+        if (stronglyConnected == null) {
+            compute();
+        }
+        return stronglyConnected;
+    }
+
+    /**
+     * Returns the identifiers of the strongly connected components, indexed by
+     * the indices of the vertices. The components are numbered from 0, in the
+     * order of their first vertex.
+     *
+     * @return the component of each vertex index.
+     */
+    public int[] getComponentIds() {
+        compute();
+        return compIds;
+    }
+
+    /**
+     *
+     * @return the number of strongly connected components.
+     */
+    public int numComponents() {
+        compute();
+        return numComponents;
+    }
+
+    @Override
+    public List<VertexSet> getStronglyConnectedSets() {
+        if (compSets != null) {
+            return compSets;
+        }
+        compute();
+        int[] count = new int[numComponents + 1];
+        for (int vi = 0; vi < n; vi++) {
+            count[compIds[vi] + 1]++;
+        }
+        for (int c = 0; c < numComponents; c++) {
+            count[c + 1] += count[c];
+        }
+        int[] sorted = new int[n];
+        for (int vi = 0; vi < n; vi++) {
+            sorted[count[compIds[vi]]++] = graph.vertexAt(vi);
+        }
+        compSets = new ArrayList<>(numComponents);
+        for (int c = 0, from = 0; c < numComponents; c++) {
+            int to = count[c];
+            compSets.add(new VertexSet(graph, Arrays.copyOfRange(sorted, from, to)));
+            from = to;
+        }
+        return compSets;
+    }
+
+    @Override
+    public List<Digraph> getStronglyConnectedComponents() {
+        List<Digraph> subgraphs = new ArrayList<>();
+        for (var set : getStronglyConnectedSets()) {
+            subgraphs.add(graph.subgraph(set));
+        }
+        return subgraphs;
+    }
+
+    @Override
+    public Digraph<Digraph, Integer> createCondensation() {
+        compute();
+        Digraph<Digraph, Integer> condensation
+                = GraphBuilder.labeledVertices(getStronglyConnectedComponents())
+                        .buildDigraph();
+        for (Iterator<Edge> it = graph.edgeIterator(); it.hasNext();) {
+            Edge e = it.next();
+            int scv = compIds[graph.indexOf(e.source())];
+            int scu = compIds[graph.indexOf(e.target())];
+            if (scu != scv) {
+                if (!condensation.containsEdge(scv, scu)) {
+                    condensation.addLabeledEdge(scv, scu, 1);
+                } else {
+                    condensation.setEdgeLabel(scv, scu, 1 + condensation.getEdgeLabel(scv, scu));
+                }
+            }
+        }
+        return condensation;
+    }
+
+    private void compute() {
+        if (compIds != null) {
+            return;
+        }
+        init();
+        trim();
+        if (numActive > 0) {
+            forwardBackward();
+        }
+        while (true) {
+            trim();
+            if (numActive == 0) {
+                break;
+            }
+            if (numActive < SEQUENTIAL_THRESHOLD) {
+                tarjan();
+                break;
+            }
+            color();
+        }
+        numberComponents();
+        outStart = outAdj = inStart = inAdj = null;
+        rep = active = null;
+        inDegree = outDegree = mark = null;
+        stronglyConnected = numComponents <= 1;
+    }
+
+    private void init() {
+        n = graph.numVertices();
+        var out = new CsrSnapshot(graph);
+        outStart = out.getStart();
+        outAdj = out.getAdjacency();
+        var in = new CsrSnapshot(graph, false, true);
+        inStart = in.getStart();
+        inAdj = in.getAdjacency();
+        rep = new int[n];
+        Arrays.fill(rep, -1);
+        active = new int[n];
+        for (int vi = 0; vi < n; vi++) {
+            active[vi] = vi;
+        }
+        numActive = n;
+        inDegree = new AtomicIntegerArray(n);
+        outDegree = new AtomicIntegerArray(n);
+        mark = new AtomicIntegerArray(n);
+    }
+
+    //the number of active neighbors of vi, other than itself
+    private int activeDegree(int vi, int[] start, int[] adj) {
+        int count = 0;
+        for (int k = start[vi], end = start[vi + 1]; k < end; k++) {
+            int ui = adj[k];
+            if (ui != vi && rep[ui] < 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void trim() {
+        int s = ++step;
+        int[] frontier = expand(Arrays.copyOf(active, numActive), (vi, next) -> {
+            int out = activeDegree(vi, outStart, outAdj);
+            int in = activeDegree(vi, inStart, inAdj);
+            outDegree.set(vi, out);
+            inDegree.set(vi, in);
+            if (in == 0 || out == 0) {
+                mark.set(vi, s);
+                next.add(vi);
+            }
+        });
+        while (frontier.length > 0) {
+            for (int vi : frontier) {
+                rep[vi] = vi;
+            }
+            frontier = expand(frontier, (vi, next) -> {
+                for (int k = outStart[vi], end = outStart[vi + 1]; k < end; k++) {
+                    int ui = outAdj[k];
+                    if (ui != vi && rep[ui] < 0 && inDegree.decrementAndGet(ui) == 0
+                            && claim(ui, -1, s)) {
+                        next.add(ui);
+                    }
+                }
+                for (int k = inStart[vi], end = inStart[vi + 1]; k < end; k++) {
+                    int ui = inAdj[k];
+                    if (ui != vi && rep[ui] < 0 && outDegree.decrementAndGet(ui) == 0
+                            && claim(ui, -1, s)) {
+                        next.add(ui);
+                    }
+                }
+            });
+        }
+        compact();
+    }
+
+    /*
+     * The component of the pivot is the set of the vertices reachable from it
+     * which also reach it. The backward search is restricted to the vertices
+     * reached by the forward one.
+     */
+    private void forwardBackward() {
+        int pivot = -1;
+        long best = -1;
+        for (int j = 0; j < numActive; j++) {
+            int vi = active[j];
+            long value = (long) inDegree.get(vi) * outDegree.get(vi);
+            if (value > best) {
+                best = value;
+                pivot = vi;
+            }
+        }
+        int forward = ++step;
+        mark.set(pivot, forward);
+        int[] frontier = {pivot};
+        while (frontier.length > 0) {
+            frontier = expand(frontier, (vi, next) -> {
+                for (int k = outStart[vi], end = outStart[vi + 1]; k < end; k++) {
+                    int ui = outAdj[k];
+                    if (rep[ui] < 0 && claim(ui, -1, forward)) {
+                        next.add(ui);
+                    }
+                }
+            });
+        }
+        int backward = ++step;
+        mark.set(pivot, backward);
+        frontier = new int[]{pivot};
+        while (frontier.length > 0) {
+            frontier = expand(frontier, (vi, next) -> {
+                for (int k = inStart[vi], end = inStart[vi + 1]; k < end; k++) {
+                    int ui = inAdj[k];
+                    if (claim(ui, forward, backward)) {
+                        next.add(ui);
+                    }
+                }
+            });
+        }
+        final int p = pivot;
+        int[] act = active;
+        IntStream.range(0, numActive).parallel().forEach(j -> {
+            int vi = act[j];
+            if (mark.get(vi) == backward) {
+                rep[vi] = p;
+            }
+        });
+        compact();
+    }
+
+    /*
+     * Propagates the largest index of a vertex that reaches each vertex, then
+     * creates the components of the vertices that kept their own color.
+     */
+    private void color() {
+        var color = inDegree; //reused, the degrees are recomputed by trim
+        int[] act = active;
+        IntStream.range(0, numActive).parallel().forEach(j -> color.set(act[j], act[j]));
+        int[] frontier = Arrays.copyOf(active, numActive);
+        while (frontier.length > 0) {
+            int s = ++step;
+            frontier = expand(frontier, (vi, next) -> {
+                int c = color.get(vi);
+                for (int k = outStart[vi], end = outStart[vi + 1]; k < end; k++) {
+                    int ui = outAdj[k];
+                    if (rep[ui] < 0 && raise(color, ui, c) && claim(ui, -1, s)) {
+                        next.add(ui);
+                    }
+                }
+            });
+        }
+        int[] roots = IntStream.range(0, numActive)
+                .map(j -> act[j])
+                .filter(vi -> color.get(vi) == vi)
+                .toArray();
+        IntStream.range(0, roots.length).parallel().forEach(j -> {
+            //only this task visits the vertices having the color r
+            int r = roots[j];
+            int[] queue = new int[16];
+            int first = 0, last = 0;
+            queue[last++] = r;
+            rep[r] = r;
+            while (first < last) {
+                int vi = queue[first++];
+                for (int k = inStart[vi], end = inStart[vi + 1]; k < end; k++) {
+                    int ui = inAdj[k];
+                    if (color.get(ui) == r && rep[ui] < 0) {
+                        rep[ui] = r;
+                        queue = add(queue, last++, ui);
+                    }
+                }
+            }
+        });
+        compact();
+    }
+
+    private boolean raise(AtomicIntegerArray color, int vi, int c) {
+        while (true) {
+            int current = color.get(vi);
+            if (current >= c) {
+                return false;
+            }
+            if (color.compareAndSet(vi, current, c)) {
+                return true;
+            }
+        }
+    }
+
+    /*
+     * The iterative Tarjan algorithm, on the active vertices.
+     */
+    private void tarjan() {
+        int[] order = new int[n];
+        int[] low = new int[n];
+        int[] pos = new int[n];
+        int[] path = new int[numActive];
+        int[] stack = new int[numActive];
+        int time = 0;
+        int sp = 0;
+        for (int j = 0; j < numActive; j++) {
+            int root = active[j];
+            if (order[root] != 0) {
+                continue;
+            }
+            int top = 0;
+            path[top++] = root;
+            stack[sp++] = root;
+            order[root] = low[root] = ++time;
+            pos[root] = outStart[root];
+            while (top > 0) {
+                int vi = path[top - 1];
+                int p = pos[vi];
+                int end = outStart[vi + 1];
+                int ui = -1;
+                while (p < end) {
+                    int wi = outAdj[p++];
+                    if (rep[wi] >= 0) {
+                        continue;
+                    }
+                    if (order[wi] == 0) {
+                        ui = wi;
+                        break;
+                    }
+                    low[vi] = Math.min(low[vi], order[wi]); //wi is on the stack
+                }
+                pos[vi] = p;
+                if (ui >= 0) {
+                    path[top++] = ui;
+                    stack[sp++] = ui;
+                    order[ui] = low[ui] = ++time;
+                    pos[ui] = outStart[ui];
+                    continue;
+                }
+                top--;
+                if (low[vi] == order[vi]) {
+                    int wi;
+                    do {
+                        wi = stack[--sp];
+                        rep[wi] = vi;
+                    } while (wi != vi);
+                }
+                if (top > 0) {
+                    int parent = path[top - 1];
+                    low[parent] = Math.min(low[parent], low[vi]);
+                }
+            }
+        }
+        numActive = 0;
+    }
+
+    private void numberComponents() {
+        compIds = new int[n];
+        int[] id = new int[n];
+        Arrays.fill(id, -1);
+        numComponents = 0;
+        for (int vi = 0; vi < n; vi++) {
+            int r = rep[vi];
+            if (id[r] < 0) {
+                id[r] = numComponents++;
+            }
+            compIds[vi] = id[r];
+        }
+    }
+
+    //removes the vertices whose components are known
+    private void compact() {
+        int k = 0;
+        for (int j = 0; j < numActive; j++) {
+            if (rep[active[j]] < 0) {
+                active[k++] = active[j];
+            }
+        }
+        numActive = k;
+    }
+
+    //marks a vertex as visited in the step to, if it was visited in the step
+    //from, or in any other step if from is negative
+    private boolean claim(int vi, int from, int to) {
+        if (from < 0) {
+            return mark.get(vi) != to && mark.getAndSet(vi, to) != to;
+        }
+        return mark.compareAndSet(vi, from, to);
+    }
+
+    private static int[] add(int[] list, int size, int value) {
+        if (size == list.length) {
+            list = Arrays.copyOf(list, 2 * size);
+        }
+        list[size] = value;
+        return list;
+    }
+}
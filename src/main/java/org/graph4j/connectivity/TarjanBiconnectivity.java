@@ -21,10 +21,6 @@ import java.util.List;
 import org.graph4j.Graph;
 import org.graph4j.SimpleGraphAlgorithm;
 import org.graph4j.util.VertexSet;
-import org.graph4j.util.VertexStack;
-import org.graph4j.traversal.DFSVisitor;
-import org.graph4j.traversal.DFSTraverser;
-import org.graph4j.traversal.SearchNode;
 import org.graph4j.util.Block;
 
 /**
@@ -34,6 +30,13 @@ import org.graph4j.util.Block;
  *
  * A <em>block</em> is a maximal 2-connected subgraph.
  *
+ * <p>
+ * The depth-first search is iterative: its state is kept in arrays indexed by
+ * vertex (visiting order, lowpoint and the position in the adjacency list),
+ * together with explicit stacks for the current path and for the vertices of
+ * the blocks not yet completed, so it does not depend on the size of the call
+ * stack and creates no objects per vertex.
+ *
  * @author Cristian Frăsinaru
  */
 public class TarjanBiconnectivity extends SimpleGraphAlgorithm
@@ -94,101 +97,101 @@ public class TarjanBiconnectivity extends SimpleGraphAlgorithm
         return lowpoints;
     }*/
     private void compute(boolean checkOnly) {
+        int n = graph.numVertices();
         this.blocks = new ArrayList<>();
         this.cutVertices = new VertexSet(graph);
-        this.lowpoints = new int[graph.numVertices()];;
-        var dfs = new DFSTraverser(graph);
-        dfs.traverse(new Visitor(checkOnly));
-        if (biconnected == null) {
-            biconnected = true;
-        }
-        if (dfs.isInterrupted()) {
-            blocks = null;
-        }
-    }
-
-    private class Visitor implements DFSVisitor {
-
-        private final boolean checkOnly;
-        private final VertexStack stack;
-        private final boolean[] instack;
-
-        public Visitor(boolean checkOnly) {
-            this.checkOnly = checkOnly;
-            this.stack = new VertexStack(graph);
-            this.instack = new boolean[graph.numVertices()];
-        }
-
-        @Override
-        public void startVertex(SearchNode node) {
-            int v = node.vertex();
-            //by default, the lowpoint is the dfs visit time (order)
-            int vi = graph.indexOf(v);
-            lowpoints[vi] = node.order();
-            stack.push(v);
-            instack[vi] = true;
-        }
-
-        @Override
-        public void treeEdge(SearchNode from, SearchNode to) {
-            int v = from.vertex();
-            int vi = graph.indexOf(v);
-            if (isRoot(from) && !instack[vi]) {
-                cutVertices.add(v);
-                stack.push(v);
-                instack[vi] = true;
+        this.lowpoints = new int[n];
+        int[] low = lowpoints;
+        int[] order = new int[n]; //the visiting order, starting with 1
+        int[] pos = new int[n]; //the position in the adjacency list
+        int[] path = new int[n]; //the vertices on the current path
+        int[] stack = new int[n]; //the vertices of the blocks not yet created
+        int time = 0;
+        int sp = 0;
+        for (int root = 0; root < n; root++) {
+            if (order[root] != 0) {
+                continue;
             }
-        }
-
-        @Override
-        public void backEdge(SearchNode from, SearchNode to) {
-            //change the lowpoint of v=from.vertex
-            int vi = graph.indexOf(from.vertex());
-            lowpoints[vi] = Math.min(lowpoints[vi], to.order());
-        }
-
-        @Override
-        public void upward(SearchNode from, SearchNode to) {
-            int v = from.vertex();
-            int u = to.vertex();
-            int vi = graph.indexOf(v);
-            int ui = graph.indexOf(u);
-            //going up v -> u
-            //the lowpoint of u is atleast the lowpoint of v 
-            lowpoints[ui] = Math.min(lowpoints[ui], lowpoints[vi]);
-            //
-            if (lowpoints[vi] >= to.order()) {
-                //u is an articulation point (cut vertex)
-                //u and the vertices on the stack up to u form a block
-                if (biconnected == null && !blocks.isEmpty()) {
-                    biconnected = false;
-                    if (checkOnly) {
-                        interrupt();
-                    }
+            if (root > 0 && biconnected == null) {
+                //the graph is not connected
+                biconnected = false;
+                if (checkOnly) {
+                    blocks = null;
+                    return;
                 }
-                createBlock(to);
             }
-            if (!isRoot(to)) {
-                stack.push(u);
-                instack[ui] = true;
+            int top = 0;
+            int rootChildren = 0;
+            path[top++] = root;
+            stack[sp++] = root;
+            order[root] = low[root] = ++time;
+            while (top > 0) {
+                int vi = path[top - 1];
+                int parent = top > 1 ? path[top - 2] : -1;
+                int[] neighbors = graph.neighbors(graph.vertexAt(vi));
+                int p = pos[vi];
+                int ui = -1;
+                while (p < neighbors.length) {
+                    int wi = graph.indexOf(neighbors[p++]);
+                    if (order[wi] == 0) {
+                        ui = wi;
+                        break;
+                    }
+                    if (wi != parent && order[wi] < low[vi]) {
+                        //back edge
+                        low[vi] = order[wi];
+                    }
+                }
+                pos[vi] = p;
+                if (ui >= 0) {
+                    //tree edge vi -> ui
+                    if (vi == root) {
+                        rootChildren++;
+                    }
+                    path[top++] = ui;
+                    stack[sp++] = ui;
+                    order[ui] = low[ui] = ++time;
+                    continue;
+                }
+                //going up vi -> parent
+                top--;
+                if (parent < 0) {
+                    //the root, already in the last block of its component
+                    sp--;
+                    continue;
+                }
+                low[parent] = Math.min(low[parent], low[vi]);
+                if (low[vi] >= order[parent]) {
+                    //parent is an articulation point or the root
+                    if (biconnected == null && !blocks.isEmpty()) {
+                        biconnected = false;
+                        if (checkOnly) {
+                            blocks = null;
+                            return;
+                        }
+                    }
+                    sp = createBlock(stack, sp, vi, parent);
+                    if (parent != root || rootChildren > 1) {
+                        cutVertices.add(graph.vertexAt(parent));
+                    }
+                }
             }
         }
-
-        private void createBlock(SearchNode node) {
-            int u = node.vertex();
-            //u is an articulation point or the root
-            var block = new Block(graph);
-            int w;
-            do {
-                w = stack.pop();
-                int wi = graph.indexOf(w);
-                instack[wi] = false;
-                block.add(w);
-            } while (w != u);
-            blocks.add(block);
-            if (!isRoot(node)) {
-                cutVertices.add(u);
-            }
+        if (biconnected == null) {
+            biconnected = true;
         }
     }
+
+    //the parent, vi and the vertices above vi on the stack form a block
+    private int createBlock(int[] stack, int sp, int vi, int parent) {
+        var block = new Block(graph);
+        int wi;
+        do {
+            wi = stack[--sp];
+            block.add(graph.vertexAt(wi));
+        } while (wi != vi);
+        block.add(graph.vertexAt(parent));
+        blocks.add(block);
+        return sp;
+    }
 }
@@ -24,10 +24,6 @@ import org.graph4j.Edge;
 import org.graph4j.DirectedGraphAlgorithm;
 import org.graph4j.GraphBuilder;
 import org.graph4j.util.VertexSet;
-import org.graph4j.util.VertexStack;
-import org.graph4j.traversal.DFSVisitor;
-import org.graph4j.traversal.DFSTraverser;
-import org.graph4j.traversal.SearchNode;
 
 /**
  * Tarjan's strongly connected components algorithm is an algorithm in graph
@@ -36,6 +32,13 @@ import org.graph4j.traversal.SearchNode;
  * methods including Kosaraju's algorithm and the path-based strong component
  * algorithm.
  *
+ * <p>
+ * The depth-first search is iterative: its state is kept in arrays indexed by
+ * vertex (visiting order, low-link and the position in the successors list),
+ * together with an explicit stack of the vertices on the current path, so it
+ * does not depend on the size of the call stack and creates no objects per
+ * vertex.
+ *
  * @author Cristian Frăsinaru
  */
 public class TarjanStrongConnectivity
@@ -69,7 +72,7 @@ public class TarjanStrongConnectivity
     @Override
     public List<Digraph> getStronglyConnectedComponents() {
         List<Digraph> subgraphs = new ArrayList<>();
-        for (var set : compSets) {
+        for (var set : getStronglyConnectedSets()) {
             subgraphs.add(graph.subgraph(set));
         }
         return subgraphs;
@@ -77,16 +80,85 @@ public class TarjanStrongConnectivity
 
     //the main method which does the work
     protected void compute(boolean checkOnly) {
+        int n = graph.numVertices();
         this.compSets = new ArrayList<>();
-        this.vertexComp = new int[graph.numVertices()];
-        var dfs = new DFSTraverser(graph);
-        dfs.traverse(new Visitor(checkOnly));
+        this.vertexComp = new int[n];
+        int[] order = new int[n]; //the visiting order, starting with 1
+        int[] low = new int[n];
+        int[] pos = new int[n]; //the position in the successors list
+        int[] path = new int[n]; //the vertices on the current path
+        int[] stack = new int[n]; //the vertices not yet assigned to a component
+        int time = 0;
+        int sp = 0;
+        for (int root = 0; root < n; root++) {
+            if (order[root] != 0) {
+                continue;
+            }
+            int top = 0;
+            path[top++] = root;
+            stack[sp++] = root;
+            order[root] = low[root] = ++time;
+            vertexComp[root] = -1;
+            while (top > 0) {
+                int vi = path[top - 1];
+                int[] succ = graph.successors(graph.vertexAt(vi));
+                int p = pos[vi];
+                int ui = -1;
+                while (p < succ.length) {
+                    int wi = graph.indexOf(succ[p++]);
+                    if (order[wi] == 0) {
+                        ui = wi;
+                        break;
+                    }
+                    if (vertexComp[wi] < 0 && order[wi] < low[vi]) {
+                        //wi is on the stack
+                        low[vi] = order[wi];
+                    }
+                }
+                pos[vi] = p;
+                if (ui >= 0) {
+                    //tree edge vi -> ui
+                    path[top++] = ui;
+                    stack[sp++] = ui;
+                    order[ui] = low[ui] = ++time;
+                    vertexComp[ui] = -1;
+                    continue;
+                }
+                //vi is finished
+                top--;
+                if (low[vi] == order[vi]) {
+                    sp = createComponent(stack, sp, vi);
+                    if (stronglyConnected == null) {
+                        stronglyConnected = compSets.get(0).size() == n;
+                        if (checkOnly && !stronglyConnected) {
+                            compSets = null;
+                            return;
+                        }
+                    }
+                }
+                if (top > 0) {
+                    int parent = path[top - 1];
+                    low[parent] = Math.min(low[parent], low[vi]);
+                }
+            }
+        }
         if (stronglyConnected == null) {
             stronglyConnected = true;
         }
-        if (dfs.isInterrupted()) {
-            compSets = null;
-        }
+    }
+
+    //vi and the vertices above it on the stack form a component
+    private int createComponent(int[] stack, int sp, int vi) {
+        var component = new VertexSet(graph);
+        int compIndex = compSets.size();
+        int wi;
+        do {
+            wi = stack[--sp];
+            component.add(graph.vertexAt(wi));
+            vertexComp[wi] = compIndex;
+        } while (wi != vi);
+        compSets.add(component);
+        return sp;
     }
 
     @Override
@@ -105,7 +177,7 @@ public class TarjanStrongConnectivity
             int scu = vertexComp[graph.indexOf(u)];
             if (scu != scv) {
                 if (!condensation.containsEdge(scv, scu)) {
-                    condensation.addEdge(scv, scu, 1);
+                    condensation.addLabeledEdge(scv, scu, 1);
                 } else {
                     condensation.setEdgeLabel(scv, scu, 1 + condensation.getEdgeLabel(scv, scu));
                 }
@@ -113,89 +185,4 @@ public class TarjanStrongConnectivity
         }
         return condensation;
     }
-
-    private class Visitor implements DFSVisitor {
-
-        private final boolean checkOnly;
-        private final int[] low;
-        private final VertexStack stack;
-        private final boolean[] instack;
-
-        public Visitor(boolean checkOnly) {
-            this.checkOnly = checkOnly;
-            int n = graph.numVertices();
-            this.low = new int[n];
-            this.stack = new VertexStack(graph, n);
-            this.instack = new boolean[n];
-        }
-
-        @Override
-        public void startVertex(SearchNode node) {
-            int v = node.vertex();
-            int vi = graph.indexOf(v);
-            low[vi] = node.order();
-            stack.push(v);
-            instack[vi] = true;
-        }
-
-        @Override
-        public void treeEdge(SearchNode from, SearchNode to) {
-            int v = from.vertex();
-            if (isRoot(from) && !instack[graph.indexOf(v)]) {
-                stack.push(v);
-            }
-        }
-
-        @Override
-        public void backEdge(SearchNode from, SearchNode to) {
-            int vi = graph.indexOf(from.vertex());
-            low[vi] = Math.min(low[vi], to.order());
-        }
-
-        @Override
-        public void crossEdge(SearchNode from, SearchNode to) {
-            int vi = graph.indexOf(from.vertex());
-            int ui = graph.indexOf(to.vertex());
-            if (instack[ui]) {
-                low[vi] = low[ui]; //can actually reach the root of the cc
-            }
-        }
-
-        @Override
-        public void finishVertex(SearchNode node) {
-            int v = node.vertex();
-            int vi = graph.indexOf(v);
-            if (low[vi] == node.order()) {
-                createComponent(v);
-            }
-        }
-
-        @Override
-        public void upward(SearchNode from, SearchNode to) {
-            int vi = graph.indexOf(from.vertex());
-            int ui = graph.indexOf(to.vertex());
-            low[ui] = Math.min(low[ui], low[vi]);
-        }
-
-        private void createComponent(int u) {
-            //u and the vertices on the stack up to u form a component
-            if (stronglyConnected == null && !compSets.isEmpty()) {
-                stronglyConnected = false;
-                if (checkOnly) {
-                    interrupt();
-                }
-            }
-            var component = new VertexSet(graph);
-            int compIndex = compSets.size();
-            int w;
-            do {
-                w = stack.pop();
-                int wi = graph.indexOf(w);
-                instack[wi] = false;
-                component.add(w);
-                vertexComp[wi] = compIndex;
-            } while (w != u);
-            compSets.add(component);
-        }
-    }
 }
@@ -18,19 +18,27 @@ package org.graph4j.flow;
 
 import java.util.Arrays;
 import org.graph4j.Network;
-import static org.graph4j.Network.CAPACITY;
-import static org.graph4j.Network.FLOW;
-import org.graph4j.util.IntArrays;
-import org.graph4j.util.VertexQueue;
-import org.graph4j.util.VertexStack;
+import static org.graph4j.util.ParallelFrontier.expand;
+import static org.graph4j.util.ParallelFrontier.numChunks;
 
 /**
- * /**
  * Implements the Dinic algorithm for finding the maximum flow in a network.
  *
  * The algorithm works by repeatedly finding blocking flows in level graphs and
  * augmenting the flow along these paths.
  *
+ * <p>
+ * This implementation works on a residual graph stored in compressed form (see
+ * {@link PushRelabelMaximumFlow}). The levels are the distances to the sink in
+ * the residual graph, computed by a breadth-first search that starts in the
+ * sink and stops at the level of the source. The search processes the vertices
+ * of each level in chunks, which can be scanned in parallel. The blocking flow
+ * is created by an iterative depth-first search that only advances from a
+ * vertex to a vertex one level closer to the sink, using a current-arc pointer
+ * for each vertex: the arcs before the pointer are saturated or lead to dead
+ * ends, so they are never examined again in the same phase. When the algorithm
+ * finishes, the flow is written back to the network, as the {@code FLOW} data
+ * of its edges.
  *
  * Dinic's algorithm is an efficient maximum flow algorithm with a time
  * complexity of O(n^2 * m) for general graphs and O(m * sqrt(n)) for unit
@@ -41,181 +49,170 @@ import org.graph4j.util.VertexStack;
  */
 public class DinicMaximumFlow extends MaximumFlowBase {
 
-    private int[] levels;
-    private int[] succPos;
-    private int[] predPos;
-
-    private VertexStack stack;
-    private boolean[] visited;
-    private double[] residual;
-    private int[] parent;
-    boolean[] forward;
+    private final boolean parallel;
+    private int n;
+    private ResidualNetwork residualGraph;
+    private int[] start; //the arcs of vertex i are in [start[i], start[i+1])
+    private int[] head;
+    private int[] reverse;
+    private double[] capacity;
+    private double[] flow;
+    //
+    private int[] level; //the distance to the sink, -1 if unknown or dead end
+    private int[] current; //the current arc of each vertex
+    private int[] path; //the arcs of the current path, starting in the source
 
     public DinicMaximumFlow(Network graph) {
-        super(graph);
+        this(graph, null, false);
     }
 
     public DinicMaximumFlow(Network graph, FlowData flow) {
+        this(graph, flow, false);
+    }
+
+    /**
+     *
+     * @param graph the input network.
+     * @param parallel if {@code true}, the levels are computed in parallel.
+     */
+    public DinicMaximumFlow(Network graph, boolean parallel) {
+        this(graph, null, parallel);
+    }
+
+    /**
+     *
+     * @param graph the input network.
+     * @param flow the initial flow.
+     * @param parallel if {@code true}, the levels are computed in parallel.
+     */
+    public DinicMaximumFlow(Network graph, FlowData flow, boolean parallel) {
         super(graph, flow);
+        this.parallel = parallel;
     }
 
     @Override
     public void computeMaximumFlow() {
         initFlow();
-        this.levels = new int[numVertices];
-        this.succPos = new int[numVertices];
-        this.predPos = new int[numVertices];
-
-        while (true) {
-            if (!createLevels()) {
-                break;
-            }
-            if (!createBlockingFlow()) {
-                break;
-            }
+        this.n = numVertices;
+        this.residualGraph = new ResidualNetwork(graph);
+        this.start = residualGraph.start;
+        this.head = residualGraph.head;
+        this.reverse = residualGraph.reverse;
+        this.capacity = residualGraph.capacity;
+        this.flow = residualGraph.flow;
+        this.level = new int[n];
+        this.current = new int[n];
+        this.path = new int[n];
+        while (createLevels()) {
+            createBlockingFlow();
         }
+        residualGraph.writeFlow();
+        residualGraph = null;
+        start = head = reverse = null;
+        capacity = flow = null;
+        level = current = path = null;
         computed = true;
         assert graph.isFlowValid();
     }
 
-    // Perform a BFS starting in source
-    // using only edges with positive residual capacity
+    /*
+     * Breadth-first search from the sink, on the reversed residual arcs. Each
+     * level is split in chunks; a vertex may be discovered by several chunks
+     * at the same time, but all of them write the same level, and the
+     * duplicates are removed when the next level is assembled.
+     */
     private boolean createLevels() {
-        Arrays.fill(levels, -1);
-        VertexQueue queue = new VertexQueue(graph, numVertices);
-        queue.add(source);
-        levels[sourceIndex] = 0;
-        while (!queue.isEmpty()) {
-            int v = queue.poll();
-            int vi = graph.indexOf(v);
-            for (var it = graph.successorIterator(v); it.hasNext();) {
-                int u = it.next();
-                int ui = graph.indexOf(u);
-                if (levels[ui] < 0 && it.getEdgeData(CAPACITY) - it.getEdgeData(FLOW) > 0) {
-                    levels[ui] = levels[vi] + 1;
-                    queue.add(u);
-                }
-            }
-            for (var it = graph.predecessorIterator(v); it.hasNext();) {
-                int u = it.next();
-                int ui = graph.indexOf(u);
-                if (levels[ui] < 0 && it.getEdgeData(FLOW) > 0) {
-                    levels[ui] = levels[vi] + 1;
-                    queue.add(u);
-                }
-            }
+        Arrays.fill(level, -1);
+        level[sinkIndex] = 0;
+        int[] frontier = {sinkIndex};
+        for (int d = 1; frontier.length > 0 && level[sourceIndex] < 0; d++) {
+            frontier = scan(frontier, d);
         }
-        return levels[graph.indexOf(sink)] != -1;
+        return level[sourceIndex] >= 0;
     }
 
-    // Use DFS to repeatedly found augmenting paths.
-    // A blocking flow blocks all augmenting paths in a level graph such that 
-    // no more flow can be sent from the source to the sink 
-    // without increasing the levels of some vertices.
-    private boolean createBlockingFlow() {
-        Arrays.fill(succPos, -1);
-        Arrays.fill(predPos, -1);
-
-        residual = new double[numVertices];
-        parent = new int[numVertices];
-        forward = new boolean[numVertices];
-        visited = new boolean[numVertices];
-        stack = new VertexStack(graph, numVertices);
-
-        stack.push(source);
-        parent[sourceIndex] = -1;
-        residual[sourceIndex] = Double.POSITIVE_INFINITY;
-        visited[sourceIndex] = true;
-
-        int flowIncreased = 0;
-        top:
-        while (!stack.isEmpty()) {
-            int v = stack.peek();
-            int vi = graph.indexOf(v);
-            
-            //forward
-            var succIt = graph.successorIterator(v, succPos[vi]);
-            succPos[vi]++;
-            while (succIt.hasNext()) {
-                int u = succIt.next();
-                int ui = graph.indexOf(u);
-                if (visited[ui] || levels[ui] != levels[vi] + 1) {
-                    continue;
+    private int[] scan(int[] frontier, int d) {
+        int[] found = expand(frontier, parallel, (vi, next) -> {
+            for (int a = start[vi], end = start[vi + 1]; a < end; a++) {
+                int ui = head[a];
+                int b = reverse[a]; //ui -> vi
+                if (level[ui] < 0 && capacity[b] - flow[b] > 0) {
+                    level[ui] = d;
+                    next.add(ui);
                 }
-                double edgeResidual = succIt.getEdgeData(CAPACITY) - succIt.getEdgeData(FLOW);
-                if (edgeResidual == 0) {
-                    continue;
-                }
-                visited[ui] = true;
-                parent[ui] = vi;
-                forward[ui] = true;
-                residual[ui] = Math.min(edgeResidual, residual[vi]);
-                stack.push(u);
-                if (u == sink) {
-                    //found an augmenting path                    
-                    augmentFlow();
-                    flowIncreased++;
-                }
-                continue top;
             }
-
-            //backward
-            var predIt = graph.predecessorIterator(v, predPos[vi]);
-            predPos[vi]++;
-            while (predIt.hasNext()) {
-                int u = predIt.next();
-                int ui = graph.indexOf(u);
-                if (visited[ui] || levels[ui] != levels[vi] + 1) {
-                    continue;
-                }
-                double edgeResidual = predIt.getEdgeData(FLOW);
-                if (edgeResidual == 0) {
-                    continue;
-                }
-                visited[ui] = true;
-                forward[ui] = false;
-                parent[ui] = vi;
-                residual[ui] = Math.min(edgeResidual, residual[vi]);
-                stack.push(u);
-                continue top;
+        });
+        if (numChunks(frontier.length) == 1) {
+            return found;
+        }
+        int k = 0;
+        for (int ui : found) {
+            //the first occurrence is marked by setting the current arc
+            if (current[ui] != -d) {
+                current[ui] = -d;
+                found[k++] = ui;
             }
-            
-            stack.pop();
         }
-        return flowIncreased > 0;
+        return k == found.length ? found : Arrays.copyOf(found, k);
     }
 
-    // Alter the flow on the augmenting path.
-    // Increase on forward edges, decrease on backward.
-    private void augmentFlow() {
-        double r = residual[sinkIndex];
-        int bi = sinkIndex;
-        do {
-            residual[bi] -= r;
-            if (residual[bi] == 0) {
-                stack.pop();
-                visited[bi] = false;
+    /*
+     * Repeatedly finds augmenting paths in the level graph, until the source
+     * becomes a dead end. A vertex from which the sink cannot be reached is
+     * removed from the level graph by setting its level to -1.
+     */
+    private void createBlockingFlow() {
+        for (int vi = 0; vi < n; vi++) {
+            current[vi] = start[vi];
+        }
+        int top = 0;
+        int vi = sourceIndex;
+        while (true) {
+            if (vi == sinkIndex) {
+                top = augment(top);
+                vi = top == 0 ? sourceIndex : head[path[top - 1]];
+                continue;
             }
-            int ai = parent[bi];
-            if (forward[bi]) {
-                //a -> b
-                int a = graph.vertexAt(ai);
-                int b = graph.vertexAt(bi);
-                graph.incEdgeData(FLOW, a, b, r);
-                if (residual[bi] == 0) {
-                    succPos[bi] = -1;
-                }
+            int next = level[vi] - 1;
+            int a = current[vi];
+            int end = start[vi + 1];
+            while (a < end && (level[head[a]] != next || capacity[a] - flow[a] <= 0)) {
+                a++;
+            }
+            current[vi] = a;
+            if (a < end) {
+                //advance
+                path[top++] = a;
+                vi = head[a];
             } else {
-                //a <- b
-                int a = graph.vertexAt(ai);
-                int b = graph.vertexAt(bi);
-                graph.incEdgeData(FLOW, b, a, -r);
-                if (residual[bi] == 0) {
-                    predPos[bi] = -1;
+                //retreat
+                level[vi] = -1;
+                if (top == 0) {
+                    break;
                 }
+                vi = head[reverse[path[--top]]];
+                current[vi]++;
+            }
+        }
+    }
+
+    //pushes the bottleneck amount along the path, returns the length of the
+    //path before its first saturated arc
+    private int augment(int top) {
+        double amount = Double.POSITIVE_INFINITY;
+        for (int k = 0; k < top; k++) {
+            int a = path[k];
+            amount = Math.min(amount, capacity[a] - flow[a]);
+        }
+        int saturated = -1;
+        for (int k = 0; k < top; k++) {
+            int a = path[k];
+            residualGraph.push(a, amount);
+            if (saturated < 0 && capacity[a] - flow[a] <= 0) {
+                saturated = k;
             }
-            bi = ai;
-        } while (bi != sourceIndex);
+        }
+        return saturated;
     }
 }
 // https://courses.csail.mit.edu/6.854/06/scribe/scribe11.pdf
@@ -16,15 +16,25 @@
  */
 package org.graph4j.flow;
 
-import java.util.Map;
+import java.util.LinkedHashSet;
 import java.util.Set;
-import java.util.TreeMap;
-import org.graph4j.Network;
 import org.graph4j.Edge;
+import org.graph4j.InvalidEdgeException;
+import org.graph4j.Network;
 
 /**
  * Utility class for representing the flow of a network.
  *
+ * <p>
+ * The flow values are stored in a single array of primitives, the flow on the
+ * edge leaving the vertex having the index {@code vi}, at the position
+ * {@code pos} in its successors list, being stored at
+ * {@code start[vi] + pos}. The lookup by index and position is constant time,
+ * and copies share the offsets array, so they are cheap to create, for
+ * example for warm-starting another algorithm. The flow data corresponds to
+ * the structure of the network at the moment of its creation; it becomes
+ * invalid if edges are added or removed afterwards.
+ *
  * @author Cristian Frăsinaru
  */
 public class FlowData {
@@ -32,32 +42,163 @@ public class FlowData {
     private final int source;
     private final int sink;
     private final Network graph;
-    private final Map<Edge, Double> map;
+    private final int[] start;
+    private final double[] values;
 
+    /**
+     * Creates a zero flow for the specified network.
+     *
+     * @param graph the network.
+     */
     public FlowData(Network graph) {
         this.graph = graph;
         this.source = graph.getSource();
         this.sink = graph.getSink();
-        this.map = new TreeMap<>();
+        int n = graph.numVertices();
+        this.start = new int[n + 1];
+        for (int vi = 0; vi < n; vi++) {
+            start[vi + 1] = start[vi] + graph.outdegree(graph.vertexAt(vi));
+        }
+        this.values = new double[start[n]];
     }
 
-    public void put(Edge e, double value) {
-        map.put(e, value);
+    private FlowData(FlowData other) {
+        this.graph = other.graph;
+        this.source = other.source;
+        this.sink = other.sink;
+        this.start = other.start;
+        this.values = other.values.clone();
+    }
+
+    /**
+     * Creates a flow data structure holding the current {@code FLOW} values of
+     * the network edges.
+     *
+     * @param graph the network.
+     * @return the flow of the network.
+     */
+    public static FlowData of(Network graph) {
+        var flowData = new FlowData(graph);
+        for (int vi = 0, n = graph.numVertices(); vi < n; vi++) {
+            int offset = flowData.start[vi];
+            for (var it = graph.successorIterator(graph.vertexAt(vi)); it.hasNext();) {
+                it.next();
+                flowData.values[offset + it.adjListPos()] = it.getEdgeData(Network.FLOW, 0);
+            }
+        }
+        return flowData;
+    }
+
+    /**
+     *
+     * @return a copy of this flow data.
+     */
+    public FlowData copy() {
+        return new FlowData(this);
+    }
+
+    /**
+     *
+     * @return the network.
+     */
+    public Network getGraph() {
+        return graph;
+    }
+
+    /**
+     * Returns the flow on the edge leaving the vertex having the specified
+     * index, at the specified position in its successors list.
+     *
+     * @param vi a vertex index.
+     * @param pos a position in the successors list of the vertex.
+     * @return the flow on the edge.
+     */
+    public double getAt(int vi, int pos) {
+        return values[start[vi] + pos];
+    }
+
+    /**
+     * Sets the flow on the edge leaving the vertex having the specified index,
+     * at the specified position in its successors list.
+     *
+     * @param vi a vertex index.
+     * @param pos a position in the successors list of the vertex.
+     * @param value the flow on the edge.
+     */
+    public void setAt(int vi, int pos, double value) {
+        values[start[vi] + pos] = value;
+    }
+
+    /**
+     *
+     * @param v a vertex number.
+     * @param u a vertex number.
+     * @return the flow on the edge vu, or {@code 0} if there is no such edge.
+     */
+    public double get(int v, int u) {
+        int pos = graph.adjListPos(v, u);
+        if (pos < 0) {
+            return 0.0;
+        }
+        return getAt(graph.indexOf(v), pos);
+    }
+
+    /**
+     *
+     * @param v a vertex number.
+     * @param u a vertex number.
+     * @param value the flow on the edge vu.
+     * @throws InvalidEdgeException if the network does not contain the edge
+     * vu.
+     */
+    public void put(int v, int u, double value) {
+        int pos = graph.adjListPos(v, u);
+        if (pos < 0) {
+            throw new InvalidEdgeException(v, u);
+        }
+        setAt(graph.indexOf(v), pos, value);
     }
 
     public double get(Edge e) {
-        return map.getOrDefault(e, 0.0);
+        return get(e.source(), e.target());
+    }
+
+    public void put(Edge e, double value) {
+        put(e.source(), e.target(), value);
     }
 
+    /**
+     *
+     * @return the edges having a non-zero flow.
+     */
     public Set<Edge> edges() {
-        return map.keySet();
+        Set<Edge> edges = new LinkedHashSet<>();
+        for (int vi = 0, n = start.length - 1; vi < n; vi++) {
+            for (var it = graph.successorIterator(graph.vertexAt(vi)); it.hasNext();) {
+                it.next();
+                if (values[start[vi] + it.adjListPos()] != 0) {
+                    edges.add(it.edge());
+                }
+            }
+        }
+        return edges;
     }
 
+    /**
+     * Returns the value of the flow, that is the total flow leaving the
+     * source minus the total flow entering the source.
+     *
+     * @return the value of the flow.
+     */
     public double value() {
         double value = 0.0;
         for (var it = graph.successorIterator(source); it.hasNext();) {
             it.next();
-            value += map.get(it.edge());
+            value += getAt(graph.indexOf(source), it.adjListPos());
+        }
+        for (var it = graph.predecessorIterator(source); it.hasNext();) {
+            int u = it.next();
+            value -= get(u, source);
         }
         return value;
     }
@@ -65,8 +206,8 @@ public class FlowData {
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        for (Edge e : map.keySet()) {
-            double w = map.get(e);
+        for (Edge e : edges()) {
+            double w = get(e);
             if (w > 0) {
                 sb.append(e).append(" :").append(w).append("\n");
             }
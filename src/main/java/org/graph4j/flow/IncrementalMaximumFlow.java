@@ -0,0 +1,423 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.flow;
+
+import java.util.Arrays;
+import org.graph4j.InvalidEdgeException;
+import org.graph4j.Network;
+import static org.graph4j.Network.CAPACITY;
+import static org.graph4j.Network.FLOW;
+
+/**
+ * Maintains a maximum flow in a network whose edge capacities change over
+ * time.
+ *
+ * <p>
+ * The first computation solves the problem from scratch, using
+ * {@link PushRelabelMaximumFlow}, and keeps the residual graph of the result.
+ * Afterwards, the capacities are modified using
+ * {@link #setCapacity(int, int, double)} and the next query repairs the
+ * previous flow, instead of recomputing it. If the capacity of an edge drops
+ * below its flow, the surplus is cancelled, leaving an excess at the tail of
+ * the edge and a deficit at its head. Each excess is sent, along residual
+ * paths found by breadth-first searches started from it, to the nearest
+ * vertex having a deficit, or back to the source or the sink; the remaining
+ * deficits are covered in the same way. Then, the flow is augmented using
+ * bidirectional searches, growing alternately from the source and from the
+ * sink, so that proving that no augmenting path exists only explores the
+ * smaller side of the minimum cut. Only the modified edges are written back
+ * to the network.
+ *
+ * <p>
+ * The structure of the network must not be modified while using this
+ * algorithm; only the capacities may be changed, and only through this
+ * class.
+ *
+ * @author Cristian Frăsinaru
+ */
+public class IncrementalMaximumFlow extends MaximumFlowBase {
+
+    private ResidualNetwork residualGraph;
+    private int n;
+    private double[] excess;
+    private int[] unbalanced; //vertices having a non-zero excess
+    private int numUnbalanced;
+    private int[] changed; //network arcs whose capacity or flow changed
+    private boolean[] isChanged;
+    private int numChanged;
+    //searches
+    private int[] parentArc; //the arc used to reach a vertex, from the source side
+    private int[] childArc; //the arc used to reach a vertex, from the sink side
+    private int[] forwardMark;
+    private int[] backwardMark;
+    private int stamp;
+    private int[] forwardQueue;
+    private int[] backwardQueue;
+
+    /**
+     * Creates an algorithm for maintaining the maximum flow in a network.
+     *
+     * @param graph the input network.
+     */
+    public IncrementalMaximumFlow(Network graph) {
+        super(graph);
+    }
+
+    /**
+     * Creates an algorithm for maintaining the maximum flow in a network,
+     * starting from the specified flow.
+     *
+     * @param graph the input network.
+     * @param initialFlow the initial flow.
+     */
+    public IncrementalMaximumFlow(Network graph, FlowData initialFlow) {
+        super(graph, initialFlow);
+    }
+
+    /**
+     * Changes the capacity of an edge. The maximum flow is updated at the next
+     * query.
+     *
+     * @param v a vertex number.
+     * @param u a vertex number.
+     * @param capacity the new capacity of the edge vu.
+     * @throws InvalidEdgeException if vu is not an edge of the network.
+     */
+    public void setCapacity(int v, int u, double capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must be non-negative: " + capacity);
+        }
+        if (residualGraph == null) {
+            computeMaximumFlow();
+        }
+        int pos = graph.adjListPos(v, u);
+        if (pos < 0) {
+            throw new InvalidEdgeException(v, u);
+        }
+        int vi = graph.indexOf(v);
+        int a = residualGraph.arc(vi, pos);
+        double[] flow = residualGraph.flow;
+        if (capacity < flow[a]) {
+            //cancel the surplus
+            double surplus = flow[a] - capacity;
+            residualGraph.setFlow(a, capacity);
+            addExcess(vi, surplus);
+            addExcess(graph.indexOf(u), -surplus);
+        }
+        residualGraph.capacity[a] = capacity;
+        markChanged(a);
+        computed = false;
+    }
+
+    /**
+     * Changes the capacities of several edges. The maximum flow is updated at
+     * the next query.
+     *
+     * @param edges pairs of vertex numbers, {@code edges[k] = {v, u}}.
+     * @param capacities the new capacities of the edges.
+     */
+    public void setCapacities(int[][] edges, double[] capacities) {
+        if (edges.length != capacities.length) {
+            throw new IllegalArgumentException(
+                    "The number of edges and capacities must be the same.");
+        }
+        for (int k = 0; k < edges.length; k++) {
+            setCapacity(edges[k][0], edges[k][1], capacities[k]);
+        }
+    }
+
+    @Override
+    public void computeMaximumFlow() {
+        if (residualGraph == null) {
+            var alg = initialFlow == null
+                    ? new PushRelabelMaximumFlow(graph)
+                    : new PushRelabelMaximumFlow(graph, initialFlow);
+            alg.computeMaximumFlow();
+            init();
+        } else {
+            balance();
+            augment();
+            writeChanges();
+        }
+        resetCut();
+        computed = true;
+        assert graph.isFlowValid();
+    }
+
+    private void init() {
+        residualGraph = new ResidualNetwork(graph);
+        n = numVertices;
+        excess = new double[n];
+        unbalanced = new int[16];
+        changed = new int[16];
+        isChanged = new boolean[residualGraph.head.length];
+        parentArc = new int[n];
+        childArc = new int[n];
+        forwardMark = new int[n];
+        backwardMark = new int[n];
+        forwardQueue = new int[n];
+        backwardQueue = new int[n];
+    }
+
+    private void addExcess(int vi, double amount) {
+        if (vi == sourceIndex || vi == sinkIndex) {
+            return;
+        }
+        if (excess[vi] == 0) {
+            if (numUnbalanced == unbalanced.length) {
+                unbalanced = Arrays.copyOf(unbalanced, 2 * numUnbalanced);
+            }
+            unbalanced[numUnbalanced++] = vi;
+        }
+        excess[vi] += amount;
+    }
+
+    private void markChanged(int a) {
+        if (!residualGraph.isForward(a)) {
+            a = residualGraph.reverse[a];
+        }
+        if (!isChanged[a]) {
+            isChanged[a] = true;
+            if (numChanged == changed.length) {
+                changed = Arrays.copyOf(changed, 2 * numChanged);
+            }
+            changed[numChanged++] = a;
+        }
+    }
+
+    private void push(int a, double amount) {
+        residualGraph.push(a, amount);
+        markChanged(a);
+    }
+
+    /*
+     * Restores the flow conservation in the vertices affected by the capacity
+     * decreases. The excesses are sent first, to the nearest vertices with a
+     * deficit, the source or the sink. The remaining deficits are filled from
+     * the source or the sink.
+     */
+    private void balance() {
+        for (int k = 0; k < numUnbalanced; k++) {
+            int vi = unbalanced[k];
+            while (excess[vi] > 0) {
+                int ti = searchFrom(vi);
+                if (ti < 0) {
+                    break;
+                }
+                double amount = Math.min(excess[vi], bottleneck(ti, vi));
+                if (excess[ti] < 0) {
+                    amount = Math.min(amount, -excess[ti]);
+                }
+                augmentFrom(ti, vi, amount);
+                excess[vi] = amount >= excess[vi] ? 0 : excess[vi] - amount;
+                excess[ti] = excess[ti] < 0 ? Math.min(0, excess[ti] + amount) : 0;
+            }
+        }
+        for (int k = 0; k < numUnbalanced; k++) {
+            int vi = unbalanced[k];
+            while (excess[vi] < 0) {
+                int ti = searchTo(vi);
+                if (ti < 0) {
+                    break;
+                }
+                double amount = Math.min(-excess[vi], bottleneckTo(ti, vi));
+                augmentTo(ti, vi, amount);
+                excess[vi] = amount >= -excess[vi] ? 0 : excess[vi] + amount;
+            }
+        }
+        for (int k = 0; k < numUnbalanced; k++) {
+            excess[unbalanced[k]] = 0;
+        }
+        numUnbalanced = 0;
+    }
+
+    /*
+     * Breadth-first search in the residual graph, starting from the vertex at
+     * index si, stopping at the first vertex having a deficit, or at the
+     * source or the sink.
+     */
+    private int searchFrom(int si) {
+        var r = residualGraph;
+        stamp++;
+        forwardMark[si] = stamp;
+        int first = 0, last = 0;
+        forwardQueue[last++] = si;
+        while (first < last) {
+            int vi = forwardQueue[first++];
+            for (int a = r.start[vi], end = r.start[vi + 1]; a < end; a++) {
+                int ui = r.head[a];
+                if (forwardMark[ui] == stamp || r.capacity[a] - r.flow[a] <= 0) {
+                    continue;
+                }
+                forwardMark[ui] = stamp;
+                parentArc[ui] = a;
+                if (ui == sourceIndex || ui == sinkIndex || excess[ui] < 0) {
+                    return ui;
+                }
+                forwardQueue[last++] = ui;
+            }
+        }
+        return -1;
+    }
+
+    /*
+     * Breadth-first search in the reversed residual graph, starting from the
+     * vertex at index ti, stopping at the source or the sink.
+     */
+    private int searchTo(int ti) {
+        var r = residualGraph;
+        stamp++;
+        backwardMark[ti] = stamp;
+        int first = 0, last = 0;
+        backwardQueue[last++] = ti;
+        while (first < last) {
+            int vi = backwardQueue[first++];
+            for (int a = r.start[vi], end = r.start[vi + 1]; a < end; a++) {
+                int ui = r.head[a];
+                int b = r.reverse[a]; //ui -> vi
+                if (backwardMark[ui] == stamp || r.capacity[b] - r.flow[b] <= 0) {
+                    continue;
+                }
+                backwardMark[ui] = stamp;
+                childArc[ui] = b;
+                if (ui == sourceIndex || ui == sinkIndex) {
+                    return ui;
+                }
+                backwardQueue[last++] = ui;
+            }
+        }
+        return -1;
+    }
+
+    //the residual capacity of the path from si to ti, following parentArc
+    private double bottleneck(int ti, int si) {
+        var r = residualGraph;
+        double min = Double.POSITIVE_INFINITY;
+        for (int vi = ti; vi != si; vi = r.tail(parentArc[vi])) {
+            min = Math.min(min, r.residual(parentArc[vi]));
+        }
+        return min;
+    }
+
+    private void augmentFrom(int ti, int si, double amount) {
+        var r = residualGraph;
+        for (int vi = ti; vi != si; vi = r.tail(parentArc[vi])) {
+            push(parentArc[vi], amount);
+        }
+    }
+
+    //the residual capacity of the path from si to ti, following childArc
+    private double bottleneckTo(int si, int ti) {
+        var r = residualGraph;
+        double min = Double.POSITIVE_INFINITY;
+        for (int vi = si; vi != ti; vi = r.head[childArc[vi]]) {
+            min = Math.min(min, r.residual(childArc[vi]));
+        }
+        return min;
+    }
+
+    private void augmentTo(int si, int ti, double amount) {
+        var r = residualGraph;
+        for (int vi = si; vi != ti; vi = r.head[childArc[vi]]) {
+            push(childArc[vi], amount);
+        }
+    }
+
+    /*
+     * Augments the flow along the paths found by bidirectional breadth-first
+     * searches. At each step, the search having the shorter queue is
+     * extended.
+     */
+    private void augment() {
+        var r = residualGraph;
+        while (true) {
+            stamp++;
+            forwardMark[sourceIndex] = stamp;
+            backwardMark[sinkIndex] = stamp;
+            forwardQueue[0] = sourceIndex;
+            backwardQueue[0] = sinkIndex;
+            int ff = 0, fl = 1, bf = 0, bl = 1;
+            int meet = -1;
+            while (meet < 0 && ff < fl && bf < bl) {
+                if (fl - ff <= bl - bf) {
+                    int vi = forwardQueue[ff++];
+                    for (int a = r.start[vi], end = r.start[vi + 1]; a < end; a++) {
+                        int ui = r.head[a];
+                        if (forwardMark[ui] == stamp || r.capacity[a] - r.flow[a] <= 0) {
+                            continue;
+                        }
+                        if (backwardMark[ui] == stamp) {
+                            meet = a;
+                            break;
+                        }
+                        forwardMark[ui] = stamp;
+                        parentArc[ui] = a;
+                        forwardQueue[fl++] = ui;
+                    }
+                } else {
+                    int vi = backwardQueue[bf++];
+                    for (int a = r.start[vi], end = r.start[vi + 1]; a < end; a++) {
+                        int ui = r.head[a];
+                        int b = r.reverse[a]; //ui -> vi
+                        if (backwardMark[ui] == stamp || r.capacity[b] - r.flow[b] <= 0) {
+                            continue;
+                        }
+                        if (forwardMark[ui] == stamp) {
+                            meet = b;
+                            break;
+                        }
+                        backwardMark[ui] = stamp;
+                        childArc[ui] = b;
+                        backwardQueue[bl++] = ui;
+                    }
+                }
+            }
+            if (meet < 0) {
+                return;
+            }
+            int vi = r.tail(meet);
+            int ui = r.head[meet];
+            double amount = Math.min(r.residual(meet),
+                    Math.min(bottleneck(vi, sourceIndex), bottleneckTo(ui, sinkIndex)));
+            augmentFrom(vi, sourceIndex, amount);
+            push(meet, amount);
+            augmentTo(ui, sinkIndex, amount);
+        }
+    }
+
+    /*
+     * Writes the capacity and the flow of the changed arcs to the network, in
+     * an order that keeps the flow of each edge within its capacity.
+     */
+    private void writeChanges() {
+        var r = residualGraph;
+        for (int k = 0; k < numChanged; k++) {
+            int a = changed[k];
+            isChanged[a] = false;
+            int v = graph.vertexAt(r.tail(a));
+            int u = graph.vertexAt(r.head[a]);
+            if (r.flow[a] <= graph.getEdgeData(CAPACITY, v, u)) {
+                graph.setEdgeData(FLOW, v, u, r.flow[a]);
+                graph.setEdgeData(CAPACITY, v, u, r.capacity[a]);
+            } else {
+                graph.setEdgeData(CAPACITY, v, u, r.capacity[a]);
+                graph.setEdgeData(FLOW, v, u, r.flow[a]);
+            }
+        }
+        numChanged = 0;
+    }
+}
@@ -17,6 +17,7 @@
 package org.graph4j.flow;
 
 import org.graph4j.Network;
+import static org.graph4j.Network.CAPACITY;
 import static org.graph4j.Network.FLOW;
 import org.graph4j.util.EdgeSet;
 import org.graph4j.util.VertexSet;
@@ -37,8 +38,13 @@ public abstract class MaximumFlowBase
     protected VertexSet sourcePart;
     protected VertexSet sinkPart;
     protected EdgeSet cutEdges;
-    //
+    /**
+     * @deprecated the minimum cut is determined directly from the residual
+     * network, this field is no longer used and it is always {@code null}.
+     */
+    @Deprecated
     protected EdmondsKarpMaximumFlow ekAlg;
+    private boolean[] sourceSide;
 
     /**
      * Creates an algorithm for computing the maximum flow in a network. If the
@@ -54,10 +60,14 @@ public abstract class MaximumFlowBase
     /**
      * Creates an algorithm for computing the maximum flow in a network,
      * initializing the edge flows using the values in the specified in
-     * {@code initialFlow}.
+     * {@code initialFlow}. The initial flow may be created for the network
+     * itself or for a network having the same vertices and edges, such as a
+     * copy of it.
      *
      * @param graph the input network.
      * @param initialFlow the initial flow.
+     * @throws IllegalArgumentException if the initial flow was created for a
+     * network having other vertices or edges.
      */
     public MaximumFlowBase(Network graph, FlowData initialFlow) {
         this.graph = graph;
@@ -66,14 +76,47 @@ public abstract class MaximumFlowBase
         this.sink = graph.getSink();
         this.sourceIndex = graph.indexOf(source);
         this.sinkIndex = graph.indexOf(sink);
+        if (initialFlow != null && !isCompatible(initialFlow.getGraph())) {
+            throw new IllegalArgumentException(
+                    "The initial flow does not belong to the specified network.");
+        }
         this.initialFlow = initialFlow;
     }
 
+    //checks if the network has the same vertices and edges as this one
+    private boolean isCompatible(Network other) {
+        if (other == graph) {
+            return true;
+        }
+        if (other.numVertices() != numVertices || other.numEdges() != graph.numEdges()) {
+            return false;
+        }
+        for (int v : graph.vertices()) {
+            if (!other.containsVertex(v)) {
+                return false;
+            }
+        }
+        for (var e : graph.edges()) {
+            if (!other.containsEdge(e.source(), e.target())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     protected void initFlow() {
-        graph.resetEdgeData(FLOW, 0);
-        if (initialFlow != null) {
-            for (var e : initialFlow.edges()) {
-                graph.setEdgeData(FLOW, e.source(), e.target(), initialFlow.get(e));
+        if (initialFlow == null) {
+            graph.resetEdgeData(FLOW, 0);
+            return;
+        }
+        boolean same = initialFlow.getGraph() == graph;
+        for (int vi = 0; vi < numVertices; vi++) {
+            int v = graph.vertexAt(vi);
+            for (var it = graph.successorIterator(v); it.hasNext();) {
+                int u = it.next();
+                it.setEdgeData(FLOW, same
+                        ? initialFlow.getAt(vi, it.adjListPos())
+                        : initialFlow.get(v, u));
             }
         }
     }
@@ -109,14 +152,43 @@ public abstract class MaximumFlowBase
         if (!computed) {
             computeMaximumFlow();
         }
-        FlowData flowData = new FlowData(graph);
-        for (var v : graph.vertices()) {
+        return FlowData.of(graph);
+    }
+
+    /*
+     * The vertices reachable from the source in the residual graph of the
+     * maximum flow, using a breadth-first search.
+     */
+    private boolean[] sourceSide() {
+        if (sourceSide != null) {
+            return sourceSide;
+        }
+        if (!computed) {
+            computeMaximumFlow();
+        }
+        sourceSide = new boolean[numVertices];
+        int[] queue = new int[numVertices];
+        int first = 0, last = 0;
+        queue[last++] = sourceIndex;
+        sourceSide[sourceIndex] = true;
+        while (first < last) {
+            int v = graph.vertexAt(queue[first++]);
             for (var it = graph.successorIterator(v); it.hasNext();) {
-                it.next();
-                flowData.put(it.edge(), it.getEdgeData(FLOW));
+                int ui = graph.indexOf(it.next());
+                if (!sourceSide[ui] && it.getEdgeData(CAPACITY) > it.getEdgeData(FLOW)) {
+                    sourceSide[ui] = true;
+                    queue[last++] = ui;
+                }
+            }
+            for (var it = graph.predecessorIterator(v); it.hasNext();) {
+                int ui = graph.indexOf(it.next());
+                if (!sourceSide[ui] && it.getEdgeData(FLOW) > 0) {
+                    sourceSide[ui] = true;
+                    queue[last++] = ui;
+                }
             }
         }
-        return flowData;
+        return sourceSide;
     }
 
     @Override
@@ -124,13 +196,13 @@ public abstract class MaximumFlowBase
         if (sourcePart != null) {
             return sourcePart;
         }
-        if (!computed) {
-            computeMaximumFlow();
-        }
-        if (ekAlg == null) {
-            ekAlg = new EdmondsKarpMaximumFlow(graph, getMaximumFlowData());
+        boolean[] side = sourceSide();
+        sourcePart = new VertexSet(graph);
+        for (int vi = 0; vi < numVertices; vi++) {
+            if (side[vi]) {
+                sourcePart.add(graph.vertexAt(vi));
+            }
         }
-        sourcePart = ekAlg.getSourcePart();
         return sourcePart;
     }
 
@@ -139,13 +211,13 @@ public abstract class MaximumFlowBase
         if (sinkPart != null) {
             return sinkPart;
         }
-        if (!computed) {
-            computeMaximumFlow();
-        }
-        if (ekAlg == null) {
-            ekAlg = new EdmondsKarpMaximumFlow(graph, getMaximumFlowData());
+        boolean[] side = sourceSide();
+        sinkPart = new VertexSet(graph);
+        for (int vi = 0; vi < numVertices; vi++) {
+            if (!side[vi]) {
+                sinkPart.add(graph.vertexAt(vi));
+            }
         }
-        sinkPart = ekAlg.getSinkPart();
         return sinkPart;
     }
 
@@ -154,13 +226,16 @@ public abstract class MaximumFlowBase
         if (cutEdges != null) {
             return cutEdges;
         }
-        getSourcePart();
-        getSinkPart();
+        boolean[] side = sourceSide();
         cutEdges = new EdgeSet(graph);
-        for (int v : sourcePart) {
+        for (int vi = 0; vi < numVertices; vi++) {
+            if (!side[vi]) {
+                continue;
+            }
+            int v = graph.vertexAt(vi);
             for (var it = graph.successorIterator(v); it.hasNext();) {
                 int u = it.next();
-                if (sinkPart.contains(u)) {
+                if (!side[graph.indexOf(u)]) {
                     cutEdges.add(v, u);
                 }
             }
@@ -168,6 +243,16 @@ public abstract class MaximumFlowBase
         return cutEdges;
     }
 
+    /**
+     * Discards the minimum cut computed for a previous flow.
+     */
+    protected void resetCut() {
+        sourceSide = null;
+        sourcePart = null;
+        sinkPart = null;
+        cutEdges = null;
+    }
+
     public abstract void computeMaximumFlow();
 
 }
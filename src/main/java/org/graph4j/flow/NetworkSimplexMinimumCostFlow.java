@@ -0,0 +1,587 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.flow;
+
+import java.util.Arrays;
+import org.graph4j.Network;
+import static org.graph4j.Network.CAPACITY;
+import static org.graph4j.Network.COST;
+import static org.graph4j.Network.FLOW;
+
+/**
+ * Computes a minimum cost flow in a network, using the primal network simplex
+ * algorithm with block search pivoting.
+ *
+ * <p>
+ * The capacities and the costs of the edges are read from the
+ * {@code CAPACITY} and {@code COST} data of the network. The algorithm can
+ * compute: a minimum cost maximum flow from the source to the sink, a minimum
+ * cost flow of a given value from the source to the sink, or a minimum cost
+ * flow satisfying specified supplies and demands of the vertices (for example,
+ * for transportation problems). The costs may be negative. If the network
+ * contains a cycle of negative cost and infinite capacity, the cost is
+ * unbounded and an {@link InvalidFlowException} is thrown.
+ *
+ * <p>
+ * The algorithm maintains a spanning tree of the network, extended with an
+ * artificial root connected to all the vertices. The tree is stored using
+ * parent, predecessor arc, thread (preorder) and subtree size arrays, so that
+ * the cycle closed by an entering arc, and the potentials of the vertices,
+ * are updated in time proportional to the affected part of the tree. The arcs
+ * are scanned in blocks of size sqrt(m), the entering arc being the one with
+ * the most negative reduced cost in the first block that contains a candidate.
+ * When the algorithm finishes, the flow is written to the network, as the
+ * {@code FLOW} data of its edges.
+ *
+ * Implemented after: Ravindra Ahuja, Thomas Magnanti, James Orlin, "Network
+ * Flows", and the network simplex implementation of the LEMON library.
+ *
+ * @author Cristian Frăsinaru
+ */
+public class NetworkSimplexMinimumCostFlow {
+
+    private static final int STATE_UPPER = -1;
+    private static final int STATE_TREE = 0;
+    private static final int STATE_LOWER = 1;
+    private static final int DIR_UP = 1;
+    private static final int DIR_DOWN = -1;
+    private static final double EPSILON = 1e-9;
+    private final Network graph;
+    private double[] supply;
+    private Boolean feasible;
+    private double totalCost;
+    //
+    private int n; //number of vertices
+    private int m; //number of edges
+    private int root;
+    //arcs: the network edges, followed by the artificial arcs
+    private int[] arcSource;
+    private int[] arcTarget;
+    private double[] capacity;
+    private double[] cost;
+    private double[] flow;
+    private int[] state;
+    //the spanning tree
+    private int[] parent;
+    private int[] pred; //the arc connecting a vertex with its parent
+    private int[] predDir; //DIR_UP if the pred arc is directed towards the parent
+    private int[] thread; //the next vertex in a preorder traversal of the tree
+    private int[] revThread;
+    private int[] succNum; //the number of vertices in the subtree
+    private int[] lastSucc; //the last vertex of the subtree, in the thread order
+    private double[] pi; //the potentials of the vertices
+    private int[] dirtyRevs;
+    //pivoting
+    private int blockSize;
+    private int nextArc;
+    private double tolerance;
+    private int inArc, join, uIn, vIn, uOut;
+    private double delta;
+
+    /**
+     * Creates an algorithm for computing a minimum cost maximum flow, from the
+     * source to the sink of the network.
+     *
+     * @param graph the input network.
+     */
+    public NetworkSimplexMinimumCostFlow(Network graph) {
+        //the value of the maximum flow is determined by compute()
+        this.graph = graph;
+    }
+
+    /**
+     * Creates an algorithm for computing a minimum cost flow having the
+     * specified value, from the source to the sink of the network.
+     *
+     * @param graph the input network.
+     * @param flowValue the value of the flow.
+     */
+    public NetworkSimplexMinimumCostFlow(Network graph, double flowValue) {
+        this.graph = graph;
+        this.supply = new double[graph.numVertices()];
+        supply[graph.indexOf(graph.getSource())] += flowValue;
+        supply[graph.indexOf(graph.getSink())] -= flowValue;
+    }
+
+    /**
+     * Creates an algorithm for computing a minimum cost flow, satisfying the
+     * specified supplies of the vertices. A positive value represents a
+     * supply, a negative one represents a demand. The sum of the supplies must
+     * be zero. The source and the sink of the network have no special role.
+     *
+     * @param graph the input network.
+     * @param supply the supplies of the vertices, {@code supply[i]} being the
+     * supply of the vertex having the index {@code i}.
+     */
+    public NetworkSimplexMinimumCostFlow(Network graph, double[] supply) {
+        if (supply.length != graph.numVertices()) {
+            throw new IllegalArgumentException(
+                    "The number of supplies must be equal to the number of vertices.");
+        }
+        double sum = 0;
+        for (double s : supply) {
+            sum += s;
+        }
+        if (Math.abs(sum) > EPSILON * (1 + Arrays.stream(supply).map(Math::abs).sum())) {
+            throw new IllegalArgumentException("The sum of the supplies must be zero: " + sum);
+        }
+        this.graph = graph;
+        this.supply = supply.clone();
+    }
+
+    /**
+     * Checks if there is a flow satisfying the supplies (or having the
+     * requested value).
+     *
+     * @return {@code true} if there is a feasible flow.
+     * @throws InvalidFlowException if the cost of the flow is unbounded.
+     */
+    public boolean isFeasible() {
+        if (feasible == null) {
+            compute();
+        }
+        return feasible;
+    }
+
+    /**
+     *
+     * @return the cost of the minimum cost flow.
+     * @throws InvalidFlowException if there is no feasible flow.
+     */
+    public double getMinimumCost() {
+        checkFeasible();
+        return totalCost;
+    }
+
+    /**
+     *
+     * @param v a vertex number.
+     * @param u a vertex number.
+     * @return the flow on the edge vu.
+     * @throws InvalidFlowException if there is no feasible flow.
+     */
+    public double getFlowValue(int v, int u) {
+        checkFeasible();
+        return graph.getEdgeData(FLOW, v, u);
+    }
+
+    /**
+     *
+     * @return the minimum cost flow.
+     * @throws InvalidFlowException if there is no feasible flow.
+     */
+    public FlowData getFlowData() {
+        checkFeasible();
+        return FlowData.of(graph);
+    }
+
+    /**
+     * Returns the potential of a vertex, in the optimal dual solution. The
+     * reduced cost {@code cost(v,u) + potential(v) - potential(u)} is
+     * non-negative for the edges having the flow below capacity and
+     * non-positive for the edges having a positive flow.
+     *
+     * @param v a vertex number.
+     * @return the potential of v.
+     * @throws InvalidFlowException if there is no feasible flow.
+     */
+    public double getPotential(int v) {
+        checkFeasible();
+        return pi[graph.indexOf(v)];
+    }
+
+    private void checkFeasible() {
+        if (!isFeasible()) {
+            throw new InvalidFlowException("There is no flow satisfying the supplies.");
+        }
+    }
+
+    private void compute() {
+        if (supply == null) {
+            double flowValue = new PushRelabelMaximumFlow(graph).getMaximumFlowValue();
+            supply = new double[graph.numVertices()];
+            supply[graph.indexOf(graph.getSource())] += flowValue;
+            supply[graph.indexOf(graph.getSink())] -= flowValue;
+        }
+        init();
+        while (findEnteringArc()) {
+            findJoinNode();
+            boolean change = findLeavingArc();
+            if (delta == Double.POSITIVE_INFINITY) {
+                throw new InvalidFlowException(
+                        "The cost is unbounded, there is a negative cost cycle of infinite capacity.");
+            }
+            changeFlow(change);
+            if (change) {
+                updateTreeStructure();
+                updatePotential();
+            }
+        }
+        //the artificial arcs must carry no flow
+        double maxSupply = 0;
+        for (double s : supply) {
+            maxSupply = Math.max(maxSupply, Math.abs(s));
+        }
+        feasible = true;
+        for (int e = m; e < m + n; e++) {
+            if (flow[e] > EPSILON * (1 + maxSupply)) {
+                feasible = false;
+                return;
+            }
+        }
+        totalCost = 0;
+        for (int e = 0; e < m; e++) {
+            totalCost += flow[e] * cost[e];
+        }
+        writeFlow();
+    }
+
+    private void init() {
+        n = graph.numVertices();
+        m = (int) graph.numEdges();
+        root = n;
+        int numArcs = m + n;
+        arcSource = new int[numArcs];
+        arcTarget = new int[numArcs];
+        capacity = new double[numArcs];
+        cost = new double[numArcs];
+        flow = new double[numArcs];
+        state = new int[numArcs];
+        double maxCost = 0;
+        int e = 0;
+        for (int vi = 0; vi < n; vi++) {
+            for (var it = graph.successorIterator(graph.vertexAt(vi)); it.hasNext();) {
+                int ui = graph.indexOf(it.next());
+                arcSource[e] = vi;
+                arcTarget[e] = ui;
+                capacity[e] = it.getEdgeData(CAPACITY, 0);
+                cost[e] = it.getEdgeData(COST, 0);
+                state[e] = STATE_LOWER;
+                maxCost = Math.max(maxCost, Math.abs(cost[e]));
+                e++;
+            }
+        }
+        double artificialCost = (maxCost + 1) * (n + 1);
+        tolerance = EPSILON * (maxCost + 1);
+
+        parent = new int[n + 1];
+        pred = new int[n + 1];
+        predDir = new int[n + 1];
+        thread = new int[n + 1];
+        revThread = new int[n + 1];
+        succNum = new int[n + 1];
+        lastSucc = new int[n + 1];
+        pi = new double[n + 1];
+        dirtyRevs = new int[n + 1];
+
+        //the initial tree: the root connected to all the vertices
+        parent[root] = -1;
+        pred[root] = -1;
+        thread[root] = 0;
+        revThread[0] = root;
+        succNum[root] = n + 1;
+        lastSucc[root] = root - 1;
+        for (int u = 0; u < n; u++) {
+            e = m + u;
+            parent[u] = root;
+            pred[u] = e;
+            thread[u] = u + 1;
+            revThread[u + 1] = u;
+            succNum[u] = 1;
+            lastSucc[u] = u;
+            capacity[e] = Double.POSITIVE_INFINITY;
+            state[e] = STATE_TREE;
+            if (supply[u] >= 0) {
+                predDir[u] = DIR_UP;
+                pi[u] = 0;
+                arcSource[e] = u;
+                arcTarget[e] = root;
+                flow[e] = supply[u];
+                cost[e] = 0;
+            } else {
+                predDir[u] = DIR_DOWN;
+                pi[u] = artificialCost;
+                arcSource[e] = root;
+                arcTarget[e] = u;
+                flow[e] = -supply[u];
+                cost[e] = artificialCost;
+            }
+        }
+        blockSize = Math.max((int) Math.sqrt(m), 10);
+        nextArc = 0;
+    }
+
+    /*
+     * Block search: the arcs are scanned in blocks, starting from the position
+     * where the previous search stopped. The search stops at the end of the
+     * first block containing an arc that violates the optimality conditions,
+     * returning the best such arc found so far.
+     */
+    private boolean findEnteringArc() {
+        if (m == 0) {
+            return false;
+        }
+        double min = -tolerance;
+        int count = blockSize;
+        int e;
+        inArc = -1;
+        for (e = nextArc; e < m; e++) {
+            double c = state[e] * (cost[e] + pi[arcSource[e]] - pi[arcTarget[e]]);
+            if (c < min) {
+                min = c;
+                inArc = e;
+            }
+            if (--count == 0) {
+                if (inArc >= 0) {
+                    nextArc = e + 1 == m ? 0 : e + 1;
+                    return true;
+                }
+                count = blockSize;
+            }
+        }
+        for (e = 0; e < nextArc; e++) {
+            double c = state[e] * (cost[e] + pi[arcSource[e]] - pi[arcTarget[e]]);
+            if (c < min) {
+                min = c;
+                inArc = e;
+            }
+            if (--count == 0) {
+                if (inArc >= 0) {
+                    nextArc = e + 1;
+                    return true;
+                }
+                count = blockSize;
+            }
+        }
+        if (inArc < 0) {
+            return false;
+        }
+        nextArc = e;
+        return true;
+    }
+
+    //the first common ancestor of the endpoints of the entering arc
+    private void findJoinNode() {
+        int u = arcSource[inArc];
+        int v = arcTarget[inArc];
+        while (u != v) {
+            if (succNum[u] < succNum[v]) {
+                u = parent[u];
+            } else {
+                v = parent[v];
+            }
+        }
+        join = u;
+    }
+
+    /*
+     * Determines the arc of the cycle that limits the amount of flow that can
+     * be sent along it. Among the arcs with the same limit, the last one in
+     * the direction of the cycle is chosen, which keeps the tree strongly
+     * feasible and prevents cycling.
+     */
+    private boolean findLeavingArc() {
+        int first, second;
+        if (state[inArc] == STATE_LOWER) {
+            first = arcSource[inArc];
+            second = arcTarget[inArc];
+        } else {
+            first = arcTarget[inArc];
+            second = arcSource[inArc];
+        }
+        delta = capacity[inArc];
+        int result = 0;
+        for (int u = first; u != join; u = parent[u]) {
+            int e = pred[u];
+            double d = predDir[u] == DIR_DOWN ? capacity[e] - flow[e] : flow[e];
+            if (d < delta) {
+                delta = d;
+                uOut = u;
+                result = 1;
+            }
+        }
+        for (int u = second; u != join; u = parent[u]) {
+            int e = pred[u];
+            double d = predDir[u] == DIR_UP ? capacity[e] - flow[e] : flow[e];
+            if (d <= delta) {
+                delta = d;
+                uOut = u;
+                result = 2;
+            }
+        }
+        if (delta < 0) {
+            delta = 0;
+        }
+        if (result == 1) {
+            uIn = first;
+            vIn = second;
+        } else {
+            uIn = second;
+            vIn = first;
+        }
+        return result != 0;
+    }
+
+    private void changeFlow(boolean change) {
+        if (delta > 0) {
+            double value = state[inArc] * delta;
+            flow[inArc] += value;
+            for (int u = arcSource[inArc]; u != join; u = parent[u]) {
+                flow[pred[u]] -= predDir[u] * value;
+            }
+            for (int u = arcTarget[inArc]; u != join; u = parent[u]) {
+                flow[pred[u]] += predDir[u] * value;
+            }
+        }
+        if (change) {
+            state[inArc] = STATE_TREE;
+            //the leaving arc is exactly at one of its bounds
+            int e = pred[uOut];
+            if (Math.abs(flow[e]) <= Math.abs(capacity[e] - flow[e])) {
+                flow[e] = 0;
+                state[e] = STATE_LOWER;
+            } else {
+                flow[e] = capacity[e];
+                state[e] = STATE_UPPER;
+            }
+        } else {
+            //the entering arc goes from one bound to the other
+            flow[inArc] = state[inArc] == STATE_LOWER ? capacity[inArc] : 0;
+            state[inArc] = -state[inArc];
+        }
+    }
+
+    /*
+     * Replaces the leaving arc with the entering one: the subtree of uOut is
+     * detached and reattached below vIn, reversing the path from uIn to uOut.
+     */
+    private void updateTreeStructure() {
+        int oldRevThread = revThread[uOut];
+        int oldSuccNum = succNum[uOut];
+        int oldLastSucc = lastSucc[uOut];
+        int vOut = parent[uOut];
+
+        if (uIn == uOut) {
+            parent[uIn] = vIn;
+            pred[uIn] = inArc;
+            predDir[uIn] = uIn == arcSource[inArc] ? DIR_UP : DIR_DOWN;
+            if (thread[vIn] != uOut) {
+                int after = thread[oldLastSucc];
+                thread[oldRevThread] = after;
+                revThread[after] = oldRevThread;
+                after = thread[vIn];
+                thread[vIn] = uOut;
+                revThread[uOut] = vIn;
+                thread[oldLastSucc] = after;
+                revThread[after] = oldLastSucc;
+            }
+        } else {
+            int threadContinue = oldRevThread == vIn ? thread[oldLastSucc] : thread[vIn];
+            //update thread and parent along the stem, from uIn to uOut
+            int stem = uIn;
+            int parStem = vIn;
+            int last = lastSucc[uIn];
+            int after = thread[last];
+            thread[vIn] = uIn;
+            int numDirty = 0;
+            dirtyRevs[numDirty++] = vIn;
+            while (stem != uOut) {
+                int nextStem = parent[stem];
+                thread[last] = nextStem;
+                dirtyRevs[numDirty++] = last;
+                //remove the subtree of stem from the thread list
+                int before = revThread[stem];
+                thread[before] = after;
+                revThread[after] = before;
+                parent[stem] = parStem;
+                parStem = stem;
+                stem = nextStem;
+                last = lastSucc[stem] == lastSucc[parStem] ? revThread[parStem] : lastSucc[stem];
+                after = thread[last];
+            }
+            parent[uOut] = parStem;
+            thread[last] = threadContinue;
+            revThread[threadContinue] = last;
+            lastSucc[uOut] = last;
+            if (oldRevThread != vIn) {
+                thread[oldRevThread] = after;
+                revThread[after] = oldRevThread;
+            }
+            for (int i = 0; i < numDirty; i++) {
+                int u = dirtyRevs[i];
+                revThread[thread[u]] = u;
+            }
+            //update pred, predDir, lastSucc and succNum along the stem
+            int tmpSc = 0;
+            int tmpLs = lastSucc[uOut];
+            for (int u = uOut, p = parent[u]; u != uIn; u = p, p = parent[u]) {
+                pred[u] = pred[p];
+                predDir[u] = -predDir[p];
+                tmpSc += succNum[u] - succNum[p];
+                succNum[u] = tmpSc;
+                lastSucc[p] = tmpLs;
+            }
+            pred[uIn] = inArc;
+            predDir[uIn] = uIn == arcSource[inArc] ? DIR_UP : DIR_DOWN;
+            succNum[uIn] = oldSuccNum;
+        }
+
+        //update lastSucc from vIn towards the root
+        int upLimitOut = lastSucc[join] == vIn ? join : -1;
+        int lastSuccOut = lastSucc[uOut];
+        for (int u = vIn; u != -1 && lastSucc[u] == vIn; u = parent[u]) {
+            lastSucc[u] = lastSuccOut;
+        }
+        //update lastSucc from vOut towards the root
+        if (join != oldRevThread && vIn != oldRevThread) {
+            for (int u = vOut; u != upLimitOut && lastSucc[u] == oldLastSucc; u = parent[u]) {
+                lastSucc[u] = oldRevThread;
+            }
+        } else if (lastSuccOut != oldLastSucc) {
+            for (int u = vOut; u != upLimitOut && lastSucc[u] == oldLastSucc; u = parent[u]) {
+                lastSucc[u] = lastSuccOut;
+            }
+        }
+        //update succNum from vIn and vOut to the join node
+        for (int u = vIn; u != join; u = parent[u]) {
+            succNum[u] += oldSuccNum;
+        }
+        for (int u = vOut; u != join; u = parent[u]) {
+            succNum[u] -= oldSuccNum;
+        }
+    }
+
+    //the reduced cost of the entering arc becomes zero
+    private void updatePotential() {
+        double sigma = pi[vIn] - pi[uIn] - predDir[uIn] * cost[inArc];
+        int end = thread[lastSucc[uIn]];
+        for (int u = uIn; u != end; u = thread[u]) {
+            pi[u] += sigma;
+        }
+    }
+
+    private void writeFlow() {
+        int e = 0;
+        for (int vi = 0; vi < n; vi++) {
+            for (var it = graph.successorIterator(graph.vertexAt(vi)); it.hasNext();) {
+                it.next();
+                it.setEdgeData(FLOW, Math.max(0, Math.min(capacity[e], flow[e])));
+                e++;
+            }
+        }
+    }
+}
@@ -16,10 +16,9 @@
  */
 package org.graph4j.flow;
 
+import java.util.Arrays;
 import org.graph4j.Network;
-import static org.graph4j.Network.CAPACITY;
 import static org.graph4j.Network.FLOW;
-import org.graph4j.util.VertexQueue;
 
 /**
  * The Push-Relabel algorithm maintains a preflow (where flow into a node can
@@ -27,19 +26,53 @@ import org.graph4j.util.VertexQueue;
  * vertices to neighboring vertices or relabels the height of the overflowing
  * vertices to find new paths.
  *
- * The algorithm has a time complexity of O(n<sup>2</sup>m), where <em>n</em> is
- * the number of vertices and <em>m</em> the number of edges in the graph.
+ * <p>
+ * This implementation works on a residual graph stored in compressed form: the
+ * arcs of each vertex occupy a contiguous range of the arc arrays, each arc
+ * holding its head, the index of its reverse arc, its capacity and its flow.
+ * The arcs of the network are followed by their reverse arcs, having zero
+ * capacity. The active vertex having the highest label is always selected,
+ * using a bucket for each label. The gap heuristic lifts the vertices that can
+ * no longer reach the sink above all the others, and the labels are
+ * periodically recomputed as exact distances in the residual graph (global
+ * relabeling). When the algorithm finishes, the flow is written back to the
+ * network, as the {@code FLOW} data of its edges.
+ *
+ * The algorithm has a time complexity of O(n<sup>2</sup>sqrt(m)), where
+ * <em>n</em> is the number of vertices and <em>m</em> the number of edges in
+ * the graph.
+ *
+ * Implemented after: Boris Cherkassky, Andrew Goldberg, "On Implementing
+ * Push-Relabel Method for the Maximum Flow Problem".
  *
  * @author Cristian Frăsinaru
  */
 public class PushRelabelMaximumFlow extends MaximumFlowBase {
 
-    private double[] excess;
-    private int[] vertexHeight;
-    private VertexQueue active;
-    private int[] heightCount; //not used yet
-    private int relabelCount;
+    private static final int GLOBAL_RELABEL_ALPHA = 6;
+    private static final int RELABEL_WORK = 12;
     private int n;
+    private ResidualNetwork residualGraph;
+    private int[] start; //the arcs of vertex i are in [start[i], start[i+1])
+    private int[] head;
+    private int[] reverse;
+    private double[] capacity;
+    private double[] flow;
+    //
+    private int[] height;
+    private double[] excess;
+    private int[] current; //the current arc of each vertex
+    //active vertices, as linked stacks for each height
+    private int[] activeFirst;
+    private int[] activeNext;
+    private int maxActive;
+    //all vertices with height < n, as doubly linked lists for each height
+    private int[] first;
+    private int[] next;
+    private int[] prev;
+    private int maxHeight;
+    private long work;
+    private long globalRelabelWork;
 
     public PushRelabelMaximumFlow(Network graph) {
         super(graph);
@@ -55,125 +88,133 @@ public class PushRelabelMaximumFlow extends MaximumFlowBase {
     @Override
     public void computeMaximumFlow() {
         initFlow();
-        n = graph.numVertices();
-        vertexHeight = new int[n];
-        heightCount = new int[2 * n + 1];
+        createResidualGraph();
+        n = numVertices;
+        height = new int[n];
         excess = new double[n];
-        active = new VertexQueue(graph, n);
-
-        //create the initial preflow and heights
-        for (var it = graph.successorIterator(source); it.hasNext();) {
-            int u = it.next();
-            int ui = graph.indexOf(u);
-            double capacity = it.getEdgeData(CAPACITY) - it.getEdgeData(FLOW);
-            it.incEdgeData(FLOW, capacity);
-            excess[ui] = capacity;
-            if (excess[ui] > 0 && ui != sinkIndex) {
-                active.add(u);
+        current = new int[n];
+        activeFirst = new int[2 * n + 1];
+        activeNext = new int[n];
+        first = new int[n];
+        next = new int[n];
+        prev = new int[n];
+        globalRelabelWork = (long) GLOBAL_RELABEL_ALPHA * n + start[n] / 2;
+
+        //the initial preflow: saturate the residual arcs leaving the source
+        for (int vi = 0; vi < n; vi++) {
+            for (int a = start[vi]; a < start[vi + 1]; a++) {
+                excess[head[a]] += flow[a];
             }
         }
-        vertexHeight[sourceIndex] = n;
-        heightCount[n]++;
-        for (int i = 0; i < n; i++) {
-            if (i != sourceIndex && i != sinkIndex) {
-                vertexHeight[i] = 1;
-                heightCount[1]++;
+        for (int a = start[sourceIndex]; a < start[sourceIndex + 1]; a++) {
+            double r = capacity[a] - flow[a];
+            if (r > 0) {
+                setFlow(a, capacity[a]);
+                excess[head[a]] += r;
+                excess[sourceIndex] -= r;
             }
         }
         globalRelabel();
-        relabelCount = 0;
-        while (!active.isEmpty()) {
-            int v = active.peek();
-            discharge(v);
+        while (true) {
+            if (work > globalRelabelWork) {
+                globalRelabel();
+            }
+            while (maxActive >= 0 && activeFirst[maxActive] < 0) {
+                maxActive--;
+            }
+            if (maxActive < 0) {
+                break;
+            }
+            int vi = activeFirst[maxActive];
+            activeFirst[maxActive] = activeNext[vi];
+            discharge(vi);
         }
+        residualGraph.writeFlow();
         computed = true;
         assert graph.isFlowValid();
     }
 
+    private void createResidualGraph() {
+        residualGraph = new ResidualNetwork(graph);
+        start = residualGraph.start;
+        head = residualGraph.head;
+        reverse = residualGraph.reverse;
+        capacity = residualGraph.capacity;
+        flow = residualGraph.flow;
+    }
+
+    private void setFlow(int a, double value) {
+        flow[a] = value;
+        flow[reverse[a]] = -value;
+    }
+
     //Try to get rid of the excess in v
-    private void discharge(int v) {
-        int vi = graph.indexOf(v);
-        boolean pushed = false;
-        int minHeight = 2 * n;
-
-        //arcs from v (forward)
-        for (var it = graph.successorIterator(v); it.hasNext();) {
-            int u = it.next(); // v -> u
-            int ui = graph.indexOf(u);
-            double residual = it.getEdgeData(CAPACITY) - it.getEdgeData(FLOW);
-            if (vertexHeight[ui] >= n || residual == 0) {
-                continue;
-            }
-            if (vertexHeight[vi] != vertexHeight[ui] + 1) {
-                if (vertexHeight[ui] + 1 < minHeight) {
-                    minHeight = vertexHeight[ui] + 1;
+    private void discharge(int vi) {
+        int end = start[vi + 1];
+        while (true) {
+            int h = height[vi] - 1;
+            int a = current[vi];
+            for (; a < end; a++) {
+                int ui = head[a];
+                double r = capacity[a] - flow[a];
+                if (r > 0 && height[ui] == h) {
+                    push(vi, a, ui, r);
+                    if (excess[vi] == 0) {
+                        current[vi] = a;
+                        return;
+                    }
                 }
-                continue;
-            }
-            double f = residual >= excess[vi] ? excess[vi] : residual;
-            it.incEdgeData(FLOW, f);
-            excess[ui] += f;
-            excess[vi] -= f;
-            if (excess[vi] == 0) {
-                active.poll();
-            }
-            if (u != source && u != sink && !active.contains(u)) {
-                active.add(u);
             }
-            if (excess[vi] == 0) {
+            relabel(vi);
+            if (height[vi] >= 2 * n) {
                 return;
             }
-            pushed = true;
         }
+    }
 
-        //arcs to v (backward)
-        for (var it = graph.predecessorIterator(v); it.hasNext();) {
-            int u = it.next(); // u -> v
-            int ui = graph.indexOf(u);
-            double residual = it.getEdgeData(FLOW);
-            if (residual == 0) {
-                continue;
+    private void push(int vi, int a, int ui, double residual) {
+        double f;
+        if (excess[vi] >= residual) {
+            f = residual;
+            setFlow(a, capacity[a]); //exactly saturated
+        } else {
+            f = excess[vi];
+            setFlow(a, Math.min(capacity[a], flow[a] + f));
+        }
+        if (excess[ui] == 0 && ui != sourceIndex && ui != sinkIndex) {
+            addActive(ui);
+        }
+        excess[ui] += f;
+        excess[vi] = f == excess[vi] ? 0 : excess[vi] - f;
+    }
+
+    private void relabel(int vi) {
+        int oldHeight = height[vi];
+        int newHeight = 2 * n;
+        int arc = start[vi];
+        for (int a = start[vi], end = start[vi + 1]; a < end; a++) {
+            if (capacity[a] - flow[a] > 0 && height[head[a]] + 1 < newHeight) {
+                newHeight = height[head[a]] + 1;
+                arc = a;
             }
-            if (vertexHeight[vi] != vertexHeight[ui] + 1) {
-                if (vertexHeight[ui] + 1 < minHeight) {
-                    minHeight = vertexHeight[ui] + 1;
+        }
+        work += RELABEL_WORK + start[vi + 1] - start[vi];
+        current[vi] = arc;
+        if (oldHeight < n) {
+            remove(vi);
+            if (first[oldHeight] < 0) {
+                //gap: the vertices above oldHeight cannot reach the sink
+                gap(oldHeight);
+                if (newHeight < n) {
+                    newHeight = n + 1;
+                    current[vi] = start[vi];
                 }
-                continue;
-            }
-            double f = residual >= excess[vi] ? excess[vi] : residual;
-            it.incEdgeData(FLOW, -f);
-            excess[ui] += f;
-            excess[vi] -= f;
-            if (excess[vi] == 0) {
-                active.poll();
-            }
-            if (u != source && u != sink && !active.contains(u)) {
-                active.add(u);
             }
-            if (excess[vi] == 0) {
-                return;
-            }
-            pushed = true;
-        }
-
-        if (!pushed) {
-            //relabel v
-            int oldHeight = vertexHeight[vi];
-            heightCount[oldHeight]--;
-            vertexHeight[vi] = minHeight;
-            heightCount[minHeight]++;
-            relabelCount++;
-
-            //gap
-            /*
-            if (0 < oldHeight && oldHeight < n && heightCount[oldHeight] == 0) {
-                gapRelabel(oldHeight);
-            }*/
-            //global
-            if (relabelCount % graph.numVertices() == 0) {
-                globalRelabel();
-            }
-        }        
+        }
+        height[vi] = newHeight;
+        if (newHeight < n) {
+            insert(vi);
+        }
     }
 
     /*
@@ -182,65 +223,105 @@ public class PushRelabelMaximumFlow extends MaximumFlowBase {
      * then any node v with n > height[v] > h is disconnected from sink and can
      * be relabeled to n + 1.
      */
-    private void gapRelabel(int h) {
-
-        for (int i = 0; i < n; i++) {
-            if (h < vertexHeight[i] && vertexHeight[i] < n) {
-                heightCount[vertexHeight[i]]--;
-                vertexHeight[i] = Math.max(vertexHeight[i], n + 1);
-                heightCount[vertexHeight[i]]++;
+    private void gap(int h) {
+        for (int k = h + 1; k <= maxHeight; k++) {
+            for (int vi = first[k]; vi >= 0; vi = next[vi]) {
+                height[vi] = n + 1;
+                current[vi] = start[vi];
+            }
+            first[k] = -1;
+            while (activeFirst[k] >= 0) {
+                int vi = activeFirst[k];
+                activeFirst[k] = activeNext[vi];
+                addActive(vi);
             }
         }
+        maxHeight = h - 1;
     }
 
     /*
      * The labels of the nodes are periodically recomputed by finding the
-     * distance of each node from the sink in the residual graph. This is done
-     * using a backwards breadth-first search.
+     * distance of each node from the sink in the residual graph, using a
+     * backwards breadth-first search. The nodes that cannot reach the sink
+     * receive n plus their distance to the source.
      */
     private void globalRelabel() {
-        boolean[] visited = new boolean[n];
-        visited[sinkIndex] = true;
-        //all the visited nodes can reach the sink in the residual graph
-        VertexQueue queue = new VertexQueue(graph, n);
-        queue.add(sink);
-        while (!queue.isEmpty()) {
-            int v = queue.poll();
-            if (v != sink) {
-                for (var it = graph.successorIterator(v); it.hasNext();) {
-                    int u = it.next(); //u<-v
-                    int ui = graph.indexOf(u);
-                    if (visited[ui]) {
-                        continue;
-                    }
-                    double residual = it.getEdgeData(FLOW);
-                    if (residual > 0) {
-                        visited[ui] = true;
-                        queue.add(u);
-                    }
-                }
+        work = 0;
+        Arrays.fill(height, 2 * n);
+        Arrays.fill(activeFirst, -1);
+        Arrays.fill(first, -1);
+        maxActive = -1;
+        maxHeight = 0;
+        int[] queue = new int[n];
+        height[sinkIndex] = 0;
+        height[sourceIndex] = n;
+        queue[0] = sinkIndex;
+        int size = bfs(queue, 0, 1);
+        queue[size] = sourceIndex;
+        bfs(queue, size, size + 1);
+        for (int vi = 0; vi < n; vi++) {
+            current[vi] = start[vi];
+            if (vi == sourceIndex || vi == sinkIndex) {
+                continue;
             }
-            for (var it = graph.predecessorIterator(v); it.hasNext();) {
-                int u = it.next(); //u->v
-                int ui = graph.indexOf(u);
-                if (visited[ui]) {
-                    continue;
-                }
-                double residual = it.getEdgeData(CAPACITY) - it.getEdgeData(FLOW);
-                if (residual > 0) {
-                    visited[ui] = true;
-                    queue.add(u);
-                }
+            if (height[vi] < n) {
+                insert(vi);
+            }
+            if (excess[vi] > 0 && height[vi] < 2 * n) {
+                addActive(vi);
             }
         }
-        for (int i = 0; i < n; i++) {
-            if (!visited[i]) {
-                heightCount[vertexHeight[i]]--;
-                vertexHeight[i] = Math.max(vertexHeight[i], n + 1);
-                heightCount[vertexHeight[i]]++;
+    }
+
+    //the vertices that can reach a vertex in the queue, in the residual graph
+    private int bfs(int[] queue, int from, int to) {
+        while (from < to) {
+            int vi = queue[from++];
+            int h = height[vi] + 1;
+            for (int a = start[vi], end = start[vi + 1]; a < end; a++) {
+                int ui = head[a];
+                int b = reverse[a];
+                if (height[ui] == 2 * n && capacity[b] - flow[b] > 0) {
+                    height[ui] = h;
+                    queue[to++] = ui;
+                }
             }
         }
-        vertexHeight[sourceIndex] = n;
+        return to;
+    }
+
+    private void addActive(int vi) {
+        int h = height[vi];
+        activeNext[vi] = activeFirst[h];
+        activeFirst[h] = vi;
+        if (h > maxActive) {
+            maxActive = h;
+        }
+    }
+
+    private void insert(int vi) {
+        int h = height[vi];
+        prev[vi] = -1;
+        next[vi] = first[h];
+        if (first[h] >= 0) {
+            prev[first[h]] = vi;
+        }
+        first[h] = vi;
+        if (h > maxHeight) {
+            maxHeight = h;
+        }
+    }
+
+    private void remove(int vi) {
+        int h = height[vi];
+        if (prev[vi] >= 0) {
+            next[prev[vi]] = next[vi];
+        } else {
+            first[h] = next[vi];
+        }
+        if (next[vi] >= 0) {
+            prev[next[vi]] = prev[vi];
+        }
     }
 
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.flow;
+
+import org.graph4j.Network;
+import static org.graph4j.Network.CAPACITY;
+import static org.graph4j.Network.FLOW;
+
+/**
+ * The residual graph of a network, stored in compressed form. The arcs of each
+ * vertex occupy a contiguous range of the arc arrays: first the network arcs
+ * leaving the vertex, in the order of its successors list, then the reverse
+ * arcs of the network arcs entering it, having zero capacity. Each arc holds
+ * its head, the index of its reverse arc, its capacity and its flow; the flow
+ * of a reverse arc is the opposite of the flow of its pair.
+ *
+ * @author Cristian Frăsinaru
+ */
+class ResidualNetwork {
+
+    final Network graph;
+    final int n;
+    final int[] start; //the arcs of vertex i are in [start[i], start[i+1])
+    final int[] outEnd; //the network arcs of vertex i are in [start[i], outEnd[i])
+    final int[] head;
+    final int[] reverse;
+    final double[] capacity;
+    final double[] flow;
+
+    /**
+     * Creates the residual graph of the current flow of the network.
+     *
+     * @param graph the network.
+     */
+    ResidualNetwork(Network graph) {
+        this.graph = graph;
+        this.n = graph.numVertices();
+        int[] degree = new int[n];
+        for (int vi = 0; vi < n; vi++) {
+            int v = graph.vertexAt(vi);
+            degree[vi] += graph.outdegree(v);
+            for (int u : graph.successors(v)) {
+                degree[graph.indexOf(u)]++;
+            }
+        }
+        start = new int[n + 1];
+        outEnd = new int[n];
+        for (int vi = 0; vi < n; vi++) {
+            start[vi + 1] = start[vi] + degree[vi];
+            outEnd[vi] = start[vi] + graph.outdegree(graph.vertexAt(vi));
+        }
+        int numArcs = start[n];
+        head = new int[numArcs];
+        reverse = new int[numArcs];
+        capacity = new double[numArcs];
+        flow = new double[numArcs];
+        int[] fill = outEnd.clone();
+        for (int vi = 0; vi < n; vi++) {
+            for (var it = graph.successorIterator(graph.vertexAt(vi)); it.hasNext();) {
+                int ui = graph.indexOf(it.next());
+                int a = start[vi] + it.adjListPos();
+                int b = fill[ui]++;
+                head[a] = ui;
+                head[b] = vi;
+                reverse[a] = b;
+                reverse[b] = a;
+                capacity[a] = it.getEdgeData(CAPACITY);
+                flow[a] = it.getEdgeData(FLOW, 0);
+                flow[b] = -flow[a];
+            }
+        }
+    }
+
+    /**
+     *
+     * @param vi a vertex index.
+     * @param pos a position in the successors list of the vertex.
+     * @return the arc corresponding to the network edge.
+     */
+    int arc(int vi, int pos) {
+        return start[vi] + pos;
+    }
+
+    int tail(int a) {
+        return head[reverse[a]];
+    }
+
+    boolean isForward(int a) {
+        return a < outEnd[tail(a)];
+    }
+
+    double residual(int a) {
+        return capacity[a] - flow[a];
+    }
+
+    void setFlow(int a, double value) {
+        flow[a] = value;
+        flow[reverse[a]] = -value;
+    }
+
+    /**
+     * Increases the flow on an arc, saturating it exactly if the amount is
+     * equal to its residual capacity.
+     *
+     * @param a an arc.
+     * @param amount the amount of flow.
+     */
+    void push(int a, double amount) {
+        setFlow(a, amount >= capacity[a] - flow[a]
+                ? capacity[a] : Math.min(capacity[a], flow[a] + amount));
+    }
+
+    /**
+     * Writes the flow of all the arcs to the network.
+     */
+    void writeFlow() {
+        for (int vi = 0; vi < n; vi++) {
+            for (var it = graph.successorIterator(graph.vertexAt(vi)); it.hasNext();) {
+                it.next();
+                it.setEdgeData(FLOW, flow[start[vi] + it.adjListPos()]);
+            }
+        }
+    }
+}
@@ -3,8 +3,15 @@ package org.graph4j.isomorphism;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.graph4j.Digraph;
 import org.graph4j.Graph;
 import org.graph4j.GraphUtils;
@@ -16,6 +23,11 @@ import org.graph4j.GraphUtils;
  * It provides a method for finding all the mappings between two graphs and a
  * method for finding the first mapping.
  * </p>
+ * <p>
+ * The mappings can also be enumerated lazily, using an iterator, a stream or a
+ * consumer, without storing them. The search advances only when a new mapping
+ * is requested, so the enumeration can be stopped at any time.
+ * </p>
  *
  * @author Ignat Gabriel-Andrei
  */
@@ -88,8 +100,8 @@ public abstract class AbstractGraphIsomorphism implements GraphIsomorphism {
      */
     @Override
     public Optional<Isomorphism> getMapping() {
-        List<Isomorphism> mappings = match(true);
-        return mappings.isEmpty() ? Optional.empty() : Optional.of(mappings.get(0));
+        Iterator<Isomorphism> it = iterator();
+        return it.hasNext() ? Optional.of(it.next()) : Optional.empty();
     }
 
     /**
@@ -97,80 +109,203 @@ public abstract class AbstractGraphIsomorphism implements GraphIsomorphism {
      */
     @Override
     public List<Isomorphism> getAllMappings() {
-        return match(false);
+        List<Isomorphism> mappings = new ArrayList<>();
+        forEachMapping(mappings::add);
+        return mappings;
     }
 
     /**
-     * Computes the mappings between the two graphs.
+     * Returns an iterator over the mappings between the two graphs. The
+     * mappings are computed lazily, the search advancing only when the next
+     * mapping is requested, so the caller may stop at any time.
      *
-     * @param onlyFirstMapping if true, the method will return only the first
-     * mapping
-     * @return a list of all the mappings between the two graphs
+     * @return an iterator over the mappings between the two graphs
      */
-    private List<Isomorphism> match(boolean onlyFirstMapping) {
-        return matchIterative(onlyFirstMapping);
+    public Iterator<Isomorphism> iterator() {
+        return iterator(false);
     }
 
     /**
-     * An iterative version of the match method, it simulates the recursive
-     * approach. By doing this,we might gain some performance, because we avoid
-     * the overhead of the recursive calls.
+     * Returns an iterator over the mappings between the two graphs. If
+     * {@code reuse} is true, the iterator returns the same {@link Isomorphism}
+     * object at each step, its content being overwritten by the next mapping;
+     * in this case, the caller must copy the data it needs before advancing.
      *
-     * @return a list of the mappings between the two graphs
+     * @param reuse if true, a single isomorphism object is used for all the
+     * mappings
+     * @return an iterator over the mappings between the two graphs
      */
-    private List<Isomorphism> matchIterative(boolean onlyFirstMapping) {
-        List<Isomorphism> mappings = new ArrayList<>();
+    public Iterator<Isomorphism> iterator(boolean reuse) {
+        return new MappingIterator(reuse);
+    }
 
-        // stack for simulating the recursive calls
-        Deque<State> stack = new ArrayDeque<>();
+    /**
+     * Returns a sequential stream of the mappings between the two graphs,
+     * computed lazily. Short-circuiting operations, such as
+     * {@code findFirst} or {@code limit}, stop the search.
+     *
+     * @return a stream of the mappings between the two graphs
+     */
+    public Stream<Isomorphism> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
 
-        // the initial state with an empty mapping
-        State s = getStateInstance(this.dg1, this.dg2, this.cache);
+    /**
+     * Finds all the mappings and sends them to a consumer, as soon as they are
+     * found. The mappings are not stored.
+     *
+     * @param consumer the consumer of the mappings
+     * @return the number of mappings found
+     */
+    public long forEachMapping(Consumer<Isomorphism> consumer) {
+        return forEachMapping(Long.MAX_VALUE, consumer);
+    }
 
-        // while there are more states to explore
-        while (true) {
-            // while for the current state, there are more candidate pairs
-            while (s.nextPair()) {
+    /**
+     * Finds at most {@code limit} mappings and sends them to a consumer, as
+     * soon as they are found. The mappings are not stored.
+     *
+     * @param limit the maximum number of mappings
+     * @param consumer the consumer of the mappings
+     * @return the number of mappings found
+     */
+    public long forEachMapping(long limit, Consumer<Isomorphism> consumer) {
+        Search search = new Search();
+        long count = 0;
+        while (count < limit && search.advance()) {
+            consumer.accept(search.state.getMapping());
+            search.resume();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Counts the mappings between the two graphs, without creating them.
+     *
+     * @return the number of mappings between the two graphs
+     */
+    public long countMappings() {
+        Search search = new Search();
+        long count = 0;
+        while (search.advance()) {
+            search.resume();
+            count++;
+        }
+        return count;
+    }
 
-                // if the pair is feasible, we continue, otherwise we truncate the branch
-                if (s.isFeasiblePair()) {
+    /**
+     * An iterative search that simulates the recursive approach. By doing
+     * this, we might gain some performance, because we avoid the overhead of
+     * the recursive calls. The search stops at each goal state, so the mappings
+     * can be consumed one at a time.
+     */
+    private class Search {
 
-                    // if the state is dead, we continue with the next pair
-                    if (s.isDead()) {
+        // stack for simulating the recursive calls
+        private final Deque<State> stack = new ArrayDeque<>();
+        // the initial state with an empty mapping
+        private State state = getStateInstance(dg1, dg2, cache);
+        private boolean goal;
+
+        /**
+         * Advances the search to the next goal state.
+         *
+         * @return true if a goal state was found, false if the search is over
+         */
+        boolean advance() {
+            // while there are more states to explore
+            while (true) {
+                // while for the current state, there are more candidate pairs
+                while (state.nextPair()) {
+
+                    // if the pair is not feasible or the state is dead, we truncate the branch
+                    if (!state.isFeasiblePair() || state.isDead()) {
                         continue;
                     }
 
                     // else we add the pair to the mapping
-                    stack.push(s);
+                    stack.push(state);
 
                     // just like in the recursive approach, we create a copy of the current state and then we add the pair
-                    s = getNewStateInstance(s);
-                    s.addPair();
-
-                    // if this state is a goal(complete solution), we add the mapping to the list
-                    if (s.isGoal()) {
-                        mappings.add(s.getMapping());
+                    state = getNewStateInstance(state);
+                    state.addPair();
 
-                        // if we need only the first mapping, we return it
-                        if (onlyFirstMapping) {
-                            return mappings;
-                        }
+                    // if this state is a goal (complete solution), we stop here
+                    if (state.isGoal()) {
+                        goal = true;
+                        return true;
                     }
 
-                    s.resetPreviousVertices();
+                    state.resetPreviousVertices();
                 }
+
+                if (stack.isEmpty()) {
+                    return false;
+                }
+
+                // if we have no more pairs to explore, we backtrack(get to the previous state)
+                state.backTrack();
+                state = stack.pop();
             }
+        }
 
-            if (stack.isEmpty()) {
-                break;
+        /**
+         * Must be invoked after the mapping of a goal state was consumed,
+         * before advancing.
+         */
+        void resume() {
+            if (goal) {
+                state.resetPreviousVertices();
+                goal = false;
             }
+        }
+    }
 
-            // if we have no more pairs to explore, we backtrack(get to the previous state)
-            s.backTrack();
-            s = stack.pop();
+    private class MappingIterator implements Iterator<Isomorphism> {
+
+        private final Search search = new Search();
+        private final int[] mapping;
+        private final int[] inverse;
+        private final Isomorphism buffer;
+        private boolean ready;
+        private boolean finished;
+
+        MappingIterator(boolean reuse) {
+            if (reuse) {
+                mapping = new int[dg1.numVertices()];
+                inverse = new int[dg2.numVertices()];
+                buffer = new Isomorphism(dg1, dg2, mapping, inverse);
+            } else {
+                mapping = inverse = null;
+                buffer = null;
+            }
         }
 
-        return mappings;
+        @Override
+        public boolean hasNext() {
+            if (!ready && !finished) {
+                search.resume();
+                ready = search.advance();
+                finished = !ready;
+            }
+            return ready;
+        }
+
+        @Override
+        public Isomorphism next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ready = false;
+            if (buffer == null) {
+                return search.state.getMapping();
+            }
+            search.state.fillMapping(mapping, inverse);
+            return buffer;
+        }
     }
 
     //Instantiates a new empty state.
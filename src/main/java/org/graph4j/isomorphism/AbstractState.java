@@ -44,7 +44,12 @@ public abstract class AbstractState implements State {
     public Isomorphism getMapping() {
         int[] forwardMap = new int[n1];
         int[] backwardMap = new int[n2];
+        fillMapping(forwardMap, backwardMap);
+        return new Isomorphism(o1.getGraph(), o2.getGraph(), forwardMap, backwardMap);
+    }
 
+    @Override
+    public void fillMapping(int[] forwardMap, int[] backwardMap) {
         for (int v1 : o1.getGraph().vertices()) {
             int index_1 = o1.getVertexOrder(v1);    // index in the sorted list of vertices
             int index_2 = core_1[index_1];          // index of the mapped vertex in the second digraph
@@ -56,13 +61,10 @@ public abstract class AbstractState implements State {
         for (int v2 : o2.getGraph().vertices()) {
             int index_2 = o2.getVertexOrder(v2);    // index in the sorted list of vertices
             int index_1 = core_2[index_2];          // index of the mapped vertex in the first digraph
-            if (index_1 != NULL_NODE) {
-                // the index of the vertex in the second digraph is mapped to the vertex in the first digraph
-                backwardMap[o2.getGraph().indexOf(v2)] = o1.getVertexNumber(index_1);
-            }
+            // the index of the vertex in the second digraph is mapped to the vertex in the first digraph
+            backwardMap[o2.getGraph().indexOf(v2)]
+                    = index_1 != NULL_NODE ? o1.getVertexNumber(index_1) : NULL_NODE;
         }
-
-        return new Isomorphism(o1.getGraph(), o2.getGraph(), forwardMap, backwardMap);
     }
 
     /**
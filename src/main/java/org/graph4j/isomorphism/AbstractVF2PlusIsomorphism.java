@@ -0,0 +1,238 @@
+package org.graph4j.isomorphism;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.graph4j.Graph;
+
+/**
+ * Base class for the implementations of the VF2++ algorithm.
+ *
+ * <p>
+ * Unlike {@link AbstractGraphIsomorphism}, the graphs are not converted to
+ * digraphs and the search does not create a new state at each step: a single
+ * state, containing only arrays of primitives, is updated in place and
+ * restored on backtracking. The vertices of the first graph are matched in the
+ * VF2++ order and the candidates are pruned using the labels, the degrees and
+ * the number of neighbors of the vertices, so that graphs with tens of
+ * thousands of vertices can be matched.
+ *
+ * <p>
+ * If both graphs have vertex labels, the corresponding vertices must have equal
+ * labels. If both graphs have edge labels, the corresponding edges must have
+ * equal labels, unless one of them is {@code null}. Self loops and multiple
+ * edges must have the same multiplicity.
+ *
+ * <p>
+ * The mappings can be delivered to a consumer as soon as they are found,
+ * without storing them, and the search can be stopped after a given number of
+ * mappings. In parallel mode, the top levels of the search tree are split into
+ * tasks executed on the common {@link ForkJoinPool}: a task creates subtasks
+ * for the children of its node only while the pool has few queued tasks, so
+ * that idle threads steal the unexplored branches of an imbalanced tree.
+ *
+ * <p>
+ * Based on the paper "A. Jüttner, P. Madarasi, VF2++ - An improved subgraph
+ * isomorphism algorithm, Discrete Applied Mathematics, 2018
+ * (10.1016/j.dam.2018.02.018)".
+ *
+ * @author Cristian Frăsinaru
+ */
+public abstract class AbstractVF2PlusIsomorphism implements GraphIsomorphism {
+
+    private static final int MAX_SPLIT_DEPTH = 16;
+    private static final int MAX_SURPLUS = 3;
+    protected final Graph graph1;
+    protected final Graph graph2;
+    protected final boolean parallel;
+
+    /**
+     *
+     * @param graph1 the first graph.
+     * @param graph2 the second graph.
+     */
+    public AbstractVF2PlusIsomorphism(Graph graph1, Graph graph2) {
+        this(graph1, graph2, false);
+    }
+
+    /**
+     *
+     * @param graph1 the first graph.
+     * @param graph2 the second graph.
+     * @param parallel specifies if the search should be performed in parallel.
+     */
+    public AbstractVF2PlusIsomorphism(Graph graph1, Graph graph2, boolean parallel) {
+        if (graph1 == null || graph2 == null) {
+            throw new NullPointerException("Graphs cannot be null");
+        }
+        if (graph1.isDirected() != graph2.isDirected()
+                || graph1.isAllowingSelfLoops() != graph2.isAllowingSelfLoops()
+                || graph1.isAllowingMultipleEdges() != graph2.isAllowingMultipleEdges()) {
+            throw new IllegalArgumentException("Graphs must have the same type");
+        }
+        this.graph1 = graph1;
+        this.graph2 = graph2;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Specifies if the first graph must be mapped to an induced subgraph of
+     * the second graph or to the whole second graph.
+     *
+     * @return {@code true} for subgraph isomorphism, {@code false} for exact
+     * isomorphism.
+     */
+    protected abstract boolean isSubgraphIsomorphism();
+
+    @Override
+    public boolean areIsomorphic() {
+        return getMapping().isPresent();
+    }
+
+    @Override
+    public Optional<Isomorphism> getMapping() {
+        List<Isomorphism> mappings = match(1);
+        return mappings.isEmpty() ? Optional.empty() : Optional.of(mappings.get(0));
+    }
+
+    @Override
+    public List<Isomorphism> getAllMappings() {
+        return match(Long.MAX_VALUE);
+    }
+
+    private List<Isomorphism> match(long limit) {
+        List<Isomorphism> mappings = new ArrayList<>();
+        forEachMapping(limit, mappings::add);
+        return mappings;
+    }
+
+    /**
+     * Finds all the mappings and sends them to a consumer, as soon as they are
+     * found. The mappings are not stored.
+     *
+     * @param consumer the consumer of the mappings.
+     * @return the number of mappings found.
+     */
+    public long forEachMapping(Consumer<Isomorphism> consumer) {
+        return forEachMapping(Long.MAX_VALUE, consumer);
+    }
+
+    /**
+     * Finds at most {@code limit} mappings and sends them to a consumer, as
+     * soon as they are found. The mappings are not stored. In parallel mode,
+     * the consumer is never invoked concurrently, but the order of the mappings
+     * is not deterministic.
+     *
+     * @param limit the maximum number of mappings.
+     * @param consumer the consumer of the mappings.
+     * @return the number of mappings found.
+     */
+    public long forEachMapping(long limit, Consumer<Isomorphism> consumer) {
+        if (limit <= 0) {
+            return 0;
+        }
+        var state = new VF2PlusState(graph1, graph2, isSubgraphIsomorphism());
+        if (!state.checkTrivialConditions()) {
+            return 0;
+        }
+        if (!parallel) {
+            long[] count = {0};
+            state.search(s -> {
+                consumer.accept(s.createIsomorphism());
+                return ++count[0] < limit;
+            });
+            return count[0];
+        }
+        var search = new ParallelSearch(limit, consumer);
+        ForkJoinPool.commonPool().invoke(search.new SearchTask(state));
+        return Math.min(search.count.get(), limit);
+    }
+
+    //the data shared by the tasks of a parallel search
+    private static class ParallelSearch {
+
+        final long limit;
+        final Consumer<Isomorphism> consumer;
+        final AtomicLong count = new AtomicLong();
+        final AtomicBoolean stop = new AtomicBoolean();
+
+        ParallelSearch(long limit, Consumer<Isomorphism> consumer) {
+            this.limit = limit;
+            this.consumer = consumer;
+        }
+
+        boolean accept(VF2PlusState s) {
+            if (stop.get()) {
+                return false;
+            }
+            long k = count.incrementAndGet();
+            if (k > limit) {
+                stop.set(true);
+                return false;
+            }
+            var iso = s.createIsomorphism();
+            synchronized (this) {
+                consumer.accept(iso);
+            }
+            if (k == limit) {
+                stop.set(true);
+                return false;
+            }
+            return true;
+        }
+
+        //explores the subtree of a node of the search tree
+        class SearchTask extends RecursiveAction {
+
+            final VF2PlusState state;
+
+            SearchTask(VF2PlusState state) {
+                this.state = state;
+            }
+
+            @Override
+            protected void compute() {
+                if (stop.get()) {
+                    return;
+                }
+                int d = state.depth;
+                if (d == state.n1 || d >= MAX_SPLIT_DEPTH
+                        || ForkJoinTask.getSurplusQueuedTaskCount() > MAX_SURPLUS) {
+                    state.search(ParallelSearch.this::accept);
+                    return;
+                }
+                //the children are forked only while the pool needs tasks,
+                //otherwise they are explored by this task
+                List<SearchTask> tasks = new ArrayList<>();
+                int ui = state.order[d];
+                state.cand[d] = -1;
+                for (int vi = state.nextCandidate(d); vi >= 0 && !stop.get();
+                        vi = state.nextCandidate(d)) {
+                    if (ForkJoinTask.getSurplusQueuedTaskCount() <= MAX_SURPLUS) {
+                        var child = new VF2PlusState(state);
+                        child.addPair(ui, vi);
+                        child.depth = d + 1;
+                        var task = new SearchTask(child);
+                        task.fork();
+                        tasks.add(task);
+                    } else {
+                        state.addPair(ui, vi);
+                        state.depth = d + 1;
+                        state.search(ParallelSearch.this::accept);
+                        state.depth = d;
+                        state.removePair(ui);
+                    }
+                }
+                for (var task : tasks) {
+                    task.join();
+                }
+            }
+        }
+    }
+}
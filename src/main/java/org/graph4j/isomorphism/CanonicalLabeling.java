@@ -0,0 +1,614 @@
+package org.graph4j.isomorphism;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import org.graph4j.Graph;
+import org.graph4j.util.CsrSnapshot;
+
+/**
+ * Computes a canonical labeling of a graph, that is an ordering of its
+ * vertices which depends only on the structure of the graph: isomorphic graphs
+ * produce identical graphs when their vertices are renumbered according to
+ * their canonical labelings. The adjacency of the renumbered graph is the
+ * {@link Certificate} of the graph.
+ *
+ * <p>
+ * The algorithm uses partition refinement and individualization, in the style
+ * of nauty and bliss. The vertices are initially partitioned by their labels
+ * and the partition is refined until it becomes equitable, every vertex of a
+ * cell having the same number of neighbors in any other cell. If the partition
+ * is not discrete, a search tree is explored: each vertex of the first
+ * non-singleton cell is individualized (placed in a cell of its own) and the
+ * partition is refined again. The leaves of the search tree are orderings of
+ * the vertices and the one producing the smallest adjacency code is the
+ * canonical labeling. Two leaves producing the same code define an
+ * automorphism of the graph; the automorphisms found are used to skip the
+ * vertices belonging to the same orbit as an already explored one.
+ *
+ * <p>
+ * Undirected trees without vertex labels are handled separately, in linear
+ * time (except for sorting), using the encoding of Aho, Hopcroft and Ullman
+ * starting from the center of the tree.
+ *
+ * <p>
+ * Vertex labels are taken into account; they are ordered and compared by
+ * their string representations, so two labels having the same string
+ * representation are considered equal. Edge labels and weights are ignored.
+ *
+ * @see Certificate
+ * @see CertificateCache
+ * @author Cristian Frăsinaru
+ */
+public class CanonicalLabeling {
+
+    private static final int MAX_AUTOMORPHISMS = 1024;
+    private final Graph graph;
+    private final int n;
+    private final boolean directed;
+    private int[] outStart, out, inStart, in;
+    private Object[] vertexLabels;
+    //
+    private int[] labeling;
+    private Certificate certificate;
+    //the search
+    private int[] bestElements;
+    private int[] bestCode;
+    private int[] code;
+    private int[] position;
+    private List<int[]> automorphisms;
+    //the refinement workspace
+    private int[] count;
+    private int[] queue;
+    private int queueHead, queueTail, queueSize;
+    private boolean[] inQueue;
+    private boolean[] touchedCell;
+    private int[] touched;
+    private long[] keys;
+
+    /**
+     *
+     * @param graph the input graph.
+     */
+    public CanonicalLabeling(Graph graph) {
+        this.graph = graph;
+        this.n = graph.numVertices();
+        this.directed = graph.isDirected();
+    }
+
+    /**
+     * Returns the canonical labeling of the graph. The element at position
+     * {@code i} is the canonical label of the vertex with the index {@code i},
+     * a number in the range {@code [0, n)}.
+     *
+     * @return the canonical labeling of the graph.
+     */
+    public int[] getLabeling() {
+        if (labeling == null) {
+            compute();
+        }
+        return labeling.clone();
+    }
+
+    /**
+     * Returns the certificate of the graph. Two graphs are isomorphic if and
+     * only if their certificates are equal.
+     *
+     * @return the certificate of the graph.
+     */
+    public Certificate getCertificate() {
+        if (certificate == null) {
+            compute();
+        }
+        return certificate;
+    }
+
+    private void compute() {
+        createAdjacency();
+        this.position = new int[n];
+        this.code = new int[2 + n + out.length];
+        int[] elements = isUnlabeledTree() ? treeOrdering() : searchOrdering();
+        createCode(elements);
+        this.labeling = position.clone();
+        String[] labels = null;
+        if (vertexLabels != null) {
+            //the labels are compared the same way they are ordered
+            labels = new String[n];
+            for (int i = 0; i < n; i++) {
+                labels[i] = String.valueOf(vertexLabels[elements[i]]);
+            }
+        }
+        this.certificate = new Certificate(code, labels);
+    }
+
+    private void createAdjacency() {
+        var csr = new CsrSnapshot(graph);
+        this.outStart = csr.getStart();
+        this.out = csr.getAdjacency();
+        if (directed) {
+            csr = new CsrSnapshot(graph, false, true);
+            this.inStart = csr.getStart();
+            this.in = csr.getAdjacency();
+        } else {
+            this.inStart = outStart;
+            this.in = out;
+        }
+        if (graph.hasVertexLabels()) {
+            boolean labeled = false;
+            this.vertexLabels = new Object[n];
+            for (int i = 0; i < n; i++) {
+                vertexLabels[i] = graph.getVertexLabel(graph.vertexAt(i));
+                labeled |= vertexLabels[i] != null;
+            }
+            if (!labeled) {
+                vertexLabels = null;
+            }
+        }
+    }
+
+    //the adjacency code of the graph, using the ordering given by the elements
+    private void createCode(int[] elements) {
+        for (int i = 0; i < n; i++) {
+            position[elements[i]] = i;
+        }
+        code[0] = directed ? 1 : 0;
+        code[1] = n;
+        int k = 2;
+        for (int i = 0; i < n; i++) {
+            int vi = elements[i];
+            int from = k + 1;
+            code[k] = outStart[vi + 1] - outStart[vi];
+            for (int p = outStart[vi]; p < outStart[vi + 1]; p++) {
+                code[from++] = position[out[p]];
+            }
+            Arrays.sort(code, k + 1, from);
+            k = from;
+        }
+    }
+
+    // ---------------------------- trees ----------------------------------
+    private boolean isUnlabeledTree() {
+        if (directed || vertexLabels != null || n == 0 || out.length != 2 * (n - 1)) {
+            return false;
+        }
+        //connected
+        boolean[] visited = new boolean[n];
+        int[] stack = new int[n];
+        int size = 0, numVisited = 1;
+        stack[size++] = 0;
+        visited[0] = true;
+        while (size > 0) {
+            int vi = stack[--size];
+            for (int p = outStart[vi]; p < outStart[vi + 1]; p++) {
+                int ui = out[p];
+                if (!visited[ui]) {
+                    visited[ui] = true;
+                    numVisited++;
+                    stack[size++] = ui;
+                }
+            }
+        }
+        return numVisited == n;
+    }
+
+    //the canonical ordering of a tree, rooted in its center
+    private int[] treeOrdering() {
+        int[] centers = treeCenters();
+        int[] elements = treeOrdering(centers[0]);
+        if (centers[1] >= 0) {
+            int[] other = treeOrdering(centers[1]);
+            createCode(elements);
+            int[] first = code.clone();
+            createCode(other);
+            if (Arrays.compare(code, first) < 0) {
+                elements = other;
+            }
+        }
+        return elements;
+    }
+
+    //the center of a tree, by removing the leaves level by level
+    private int[] treeCenters() {
+        int[] degree = new int[n];
+        int[] level = new int[n];
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            degree[i] = outStart[i + 1] - outStart[i];
+            if (degree[i] <= 1) {
+                level[size++] = i;
+            }
+        }
+        int remaining = n;
+        int[] next = new int[n];
+        while (remaining > 2) {
+            remaining -= size;
+            int nextSize = 0;
+            for (int j = 0; j < size; j++) {
+                int vi = level[j];
+                for (int p = outStart[vi]; p < outStart[vi + 1]; p++) {
+                    int ui = out[p];
+                    if (--degree[ui] == 1) {
+                        next[nextSize++] = ui;
+                    }
+                }
+            }
+            int[] temp = level;
+            level = next;
+            next = temp;
+            size = nextSize;
+        }
+        return new int[]{level[0], size > 1 ? level[1] : -1};
+    }
+
+    //the vertices at each depth are ranked by the sorted ranks of their
+    //children, from the deepest level to the root; the ordering is the
+    //preorder traversal, visiting the children in increasing order of ranks
+    private int[] treeOrdering(int root) {
+        int[] parent = new int[n];
+        int[] bfs = new int[n];
+        int[] depth = new int[n];
+        parent[root] = -1;
+        bfs[0] = root;
+        for (int head = 0, tail = 1; head < tail; head++) {
+            int vi = bfs[head];
+            for (int p = outStart[vi]; p < outStart[vi + 1]; p++) {
+                int ui = out[p];
+                if (ui != parent[vi]) {
+                    parent[ui] = vi;
+                    depth[ui] = depth[vi] + 1;
+                    bfs[tail++] = ui;
+                }
+            }
+        }
+        int[] rank = new int[n];
+        int[][] children = new int[n][];
+        for (int i = 0; i < n; i++) {
+            children[i] = new int[outStart[i + 1] - outStart[i] - (i == root ? 0 : 1)];
+        }
+        int[] numChildren = new int[n];
+        Comparator<Integer> byTuple = (a, b) -> Arrays.compare(childRanks(children[a], rank),
+                childRanks(children[b], rank));
+        int end = n;
+        while (end > 0) {
+            int start = end - 1;
+            while (start > 0 && depth[bfs[start - 1]] == depth[bfs[end - 1]]) {
+                start--;
+            }
+            Integer[] levelVertices = new Integer[end - start];
+            for (int j = start; j < end; j++) {
+                levelVertices[j - start] = bfs[j];
+            }
+            Arrays.sort(levelVertices, byTuple);
+            for (int j = 0; j < levelVertices.length; j++) {
+                int vi = levelVertices[j];
+                rank[vi] = (j > 0 && byTuple.compare(levelVertices[j - 1], vi) == 0)
+                        ? rank[levelVertices[j - 1]] : j;
+                if (parent[vi] >= 0) {
+                    children[parent[vi]][numChildren[parent[vi]]++] = vi;
+                }
+            }
+            end = start;
+        }
+        //preorder, the children are already sorted by their ranks
+        int[] elements = new int[n];
+        int[] stack = new int[n];
+        int size = 0, k = 0;
+        stack[size++] = root;
+        while (size > 0) {
+            int vi = stack[--size];
+            elements[k++] = vi;
+            int[] ch = children[vi];
+            for (int j = ch.length - 1; j >= 0; j--) {
+                stack[size++] = ch[j];
+            }
+        }
+        return elements;
+    }
+
+    //the children of a vertex are added in increasing order of their ranks
+    private int[] childRanks(int[] children, int[] rank) {
+        int[] ranks = new int[children.length];
+        for (int j = 0; j < children.length; j++) {
+            ranks[j] = rank[children[j]];
+        }
+        return ranks;
+    }
+
+    // ------------------ individualization - refinement -------------------
+    private int[] searchOrdering() {
+        this.count = new int[n];
+        this.queue = new int[n];
+        this.inQueue = new boolean[n];
+        this.touchedCell = new boolean[n];
+        this.touched = new int[n];
+        this.keys = new long[n];
+        this.automorphisms = new ArrayList<>();
+
+        var p = initialPartition();
+        for (int s = 0; s < n; s = p.cellEnd[s]) {
+            enqueue(s);
+        }
+        refine(p);
+        search(p, new int[n], 0);
+        return bestElements;
+    }
+
+    //the vertices are partitioned by their labels
+    private Partition initialPartition() {
+        var p = new Partition(n);
+        Integer[] sorted = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = i;
+        }
+        String[] labels = new String[n];
+        if (vertexLabels != null) {
+            for (int i = 0; i < n; i++) {
+                labels[i] = String.valueOf(vertexLabels[i]);
+            }
+            Arrays.sort(sorted, (a, b) -> labels[a].compareTo(labels[b]));
+        }
+        int start = 0;
+        for (int j = 0; j < n; j++) {
+            int vi = sorted[j];
+            p.elements[j] = vi;
+            if (j > 0 && vertexLabels != null && !labels[vi].equals(labels[sorted[j - 1]])) {
+                p.cellEnd[start] = j;
+                start = j;
+                p.numCells++;
+            }
+            p.cellOf[vi] = start;
+        }
+        if (n > 0) {
+            p.cellEnd[start] = n;
+            p.numCells++;
+        }
+        return p;
+    }
+
+    private void search(Partition p, int[] path, int depth) {
+        if (p.numCells == n) {
+            leaf(p.elements);
+            return;
+        }
+        //the first non-singleton cell
+        int s = 0;
+        while (p.cellEnd[s] == s + 1) {
+            s++;
+        }
+        int[] cell = Arrays.copyOfRange(p.elements, s, p.cellEnd[s]);
+        Arrays.sort(cell);
+        int[] explored = new int[cell.length];
+        int numExplored = 0;
+        int[] orbits = null;
+        int numAutomorphisms = -1;
+        for (int vi : cell) {
+            if (numExplored > 0) {
+                if (numAutomorphisms != automorphisms.size()) {
+                    numAutomorphisms = automorphisms.size();
+                    orbits = computeOrbits(path, depth);
+                }
+                if (isInOrbit(vi, explored, numExplored, orbits)) {
+                    continue;
+                }
+            }
+            explored[numExplored++] = vi;
+            var child = p.copy();
+            child.individualize(vi);
+            enqueue(child.cellOf[vi]);
+            refine(child);
+            path[depth] = vi;
+            search(child, path, depth + 1);
+        }
+    }
+
+    private boolean isInOrbit(int vi, int[] explored, int numExplored, int[] orbits) {
+        int root = find(orbits, vi);
+        for (int j = 0; j < numExplored; j++) {
+            if (find(orbits, explored[j]) == root) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //the orbits of the automorphisms found so far that fix the path
+    private int[] computeOrbits(int[] path, int depth) {
+        int[] orbits = new int[n];
+        for (int i = 0; i < n; i++) {
+            orbits[i] = i;
+        }
+        for (int[] gamma : automorphisms) {
+            boolean fixes = true;
+            for (int d = 0; d < depth && fixes; d++) {
+                fixes = gamma[path[d]] == path[d];
+            }
+            if (!fixes) {
+                continue;
+            }
+            for (int i = 0; i < n; i++) {
+                int a = find(orbits, i);
+                int b = find(orbits, gamma[i]);
+                if (a != b) {
+                    orbits[Math.max(a, b)] = Math.min(a, b);
+                }
+            }
+        }
+        return orbits;
+    }
+
+    private int find(int[] orbits, int i) {
+        while (orbits[i] != i) {
+            orbits[i] = orbits[orbits[i]];
+            i = orbits[i];
+        }
+        return i;
+    }
+
+    private void leaf(int[] elements) {
+        createCode(elements);
+        int cmp = bestCode == null ? -1 : Arrays.compare(code, bestCode);
+        if (cmp < 0) {
+            bestCode = code.clone();
+            bestElements = elements.clone();
+        } else if (cmp == 0 && automorphisms.size() < MAX_AUTOMORPHISMS) {
+            //the mapping between the two leaves is an automorphism
+            int[] gamma = new int[n];
+            for (int i = 0; i < n; i++) {
+                gamma[bestElements[i]] = elements[i];
+            }
+            automorphisms.add(gamma);
+        }
+    }
+
+    private void enqueue(int s) {
+        if (!inQueue[s]) {
+            inQueue[s] = true;
+            queue[queueTail] = s;
+            queueTail = (queueTail + 1) % n;
+            queueSize++;
+        }
+    }
+
+    //refines the partition until it becomes equitable, using the cells in the
+    //queue as splitters; the splitters and the cells are always processed
+    //in the order of their positions, so the result is canonical
+    private void refine(Partition p) {
+        while (queueSize > 0) {
+            int w = queue[queueHead];
+            queueHead = (queueHead + 1) % n;
+            queueSize--;
+            inQueue[w] = false;
+            int wEnd = p.cellEnd[w];
+            split(p, w, wEnd, outStart, out);
+            if (directed) {
+                split(p, w, wEnd, inStart, in);
+            }
+            if (p.numCells == n) {
+                //discrete partition
+                while (queueSize > 0) {
+                    inQueue[queue[queueHead]] = false;
+                    queueHead = (queueHead + 1) % n;
+                    queueSize--;
+                }
+            }
+        }
+    }
+
+    //splits the cells according to the number of neighbors in the splitter
+    private void split(Partition p, int w, int wEnd, int[] start, int[] adj) {
+        int numTouched = 0;
+        for (int j = w; j < wEnd; j++) {
+            int xi = p.elements[j];
+            for (int q = start[xi]; q < start[xi + 1]; q++) {
+                int yi = adj[q];
+                count[yi]++;
+                int c = p.cellOf[yi];
+                if (!touchedCell[c]) {
+                    touchedCell[c] = true;
+                    touched[numTouched++] = c;
+                }
+            }
+        }
+        Arrays.sort(touched, 0, numTouched);
+        for (int t = 0; t < numTouched; t++) {
+            int s = touched[t];
+            touchedCell[s] = false;
+            int e = p.cellEnd[s];
+            if (e - s > 1) {
+                splitCell(p, s, e);
+            }
+        }
+        for (int j = w; j < wEnd; j++) {
+            int xi = p.elements[j];
+            for (int q = start[xi]; q < start[xi + 1]; q++) {
+                count[adj[q]] = 0;
+            }
+        }
+    }
+
+    private void splitCell(Partition p, int s, int e) {
+        for (int j = s; j < e; j++) {
+            int vi = p.elements[j];
+            keys[j - s] = ((long) count[vi] << 32) | vi;
+        }
+        Arrays.sort(keys, 0, e - s);
+        if ((keys[0] >>> 32) == (keys[e - s - 1] >>> 32)) {
+            return; //all have the same count
+        }
+        boolean wasInQueue = inQueue[s];
+        int largest = s, largestSize = 0;
+        int f = s;
+        for (int j = s; j < e; j++) {
+            long key = keys[j - s];
+            int vi = (int) key;
+            p.elements[j] = vi;
+            if (j > s && (key >>> 32) != (keys[j - s - 1] >>> 32)) {
+                //a new fragment starts at j
+                p.cellEnd[f] = j;
+                if (j - f > largestSize) {
+                    largest = f;
+                    largestSize = j - f;
+                }
+                f = j;
+                p.numCells++;
+            }
+            p.cellOf[vi] = f;
+        }
+        p.cellEnd[f] = e;
+        if (e - f > largestSize) {
+            largest = f;
+        }
+        //the new fragments become splitters, except for the largest one
+        for (f = s; f < e; f = p.cellEnd[f]) {
+            if (wasInQueue ? f != s : f != largest) {
+                enqueue(f);
+            }
+        }
+    }
+
+    //an ordered partition of the vertices; each cell is a contiguous range of
+    //the elements array and it is identified by its starting position
+    private static class Partition {
+
+        final int[] elements;
+        final int[] cellOf;
+        final int[] cellEnd;
+        int numCells;
+
+        Partition(int n) {
+            this.elements = new int[n];
+            this.cellOf = new int[n];
+            this.cellEnd = new int[n];
+        }
+
+        Partition(Partition p) {
+            this.elements = p.elements.clone();
+            this.cellOf = p.cellOf.clone();
+            this.cellEnd = p.cellEnd.clone();
+            this.numCells = p.numCells;
+        }
+
+        Partition copy() {
+            return new Partition(this);
+        }
+
+        //places the vertex in a cell of its own, at the start of its cell
+        void individualize(int vi) {
+            int s = cellOf[vi];
+            int e = cellEnd[s];
+            int pos = s;
+            while (elements[pos] != vi) {
+                pos++;
+            }
+            elements[pos] = elements[s];
+            elements[s] = vi;
+            cellEnd[s] = s + 1;
+            cellEnd[s + 1] = e;
+            for (int j = s + 1; j < e; j++) {
+                cellOf[elements[j]] = s + 1;
+            }
+            numCells++;
+        }
+    }
+}
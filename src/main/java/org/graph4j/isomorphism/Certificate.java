@@ -0,0 +1,64 @@
+package org.graph4j.isomorphism;
+
+import java.util.Arrays;
+
+/**
+ * A certificate of a graph, computed from its canonical labeling. Two graphs
+ * are isomorphic if and only if they have equal certificates. Certificates are
+ * immutable and can be used as keys in hash-based collections.
+ *
+ * @see CanonicalLabeling
+ * @author Cristian Frăsinaru
+ */
+public final class Certificate {
+
+    private final int[] code;
+    private final String[] labels;
+    private final int hash;
+
+    /**
+     *
+     * @param code the adjacency of the graph, using the canonical labels.
+     * @param labels the string representations of the vertex labels, in
+     * canonical order, or {@code null}.
+     */
+    Certificate(int[] code, String[] labels) {
+        this.code = code;
+        this.labels = labels;
+        this.hash = 31 * Arrays.hashCode(code) + Arrays.hashCode(labels);
+    }
+
+    /**
+     * Returns the number of vertices of the graph that produced this
+     * certificate.
+     *
+     * @return the number of vertices.
+     */
+    public int numVertices() {
+        return code[1];
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final Certificate other = (Certificate) obj;
+        return hash == other.hash
+                && Arrays.equals(code, other.code)
+                && Arrays.equals(labels, other.labels);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(code);
+    }
+}
@@ -0,0 +1,78 @@
+package org.graph4j.isomorphism;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.graph4j.Graph;
+
+/**
+ * A collection of pairwise non-isomorphic graphs, indexed by their
+ * certificates. Checking if a graph is isomorphic to one of the graphs in the
+ * cache requires computing its certificate and a hash lookup, so removing the
+ * duplicates from N graphs requires N certificate computations, instead of a
+ * quadratic number of isomorphism tests. The cache is thread-safe.
+ *
+ * @see CanonicalLabeling
+ * @author Cristian Frăsinaru
+ */
+public class CertificateCache {
+
+    private final Map<Certificate, Graph> map = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a graph to the cache, if the cache does not contain a graph
+     * isomorphic to it.
+     *
+     * @param graph a graph.
+     * @return the graph in the cache isomorphic to the specified one, or
+     * {@code null} if the graph was added.
+     */
+    public Graph add(Graph graph) {
+        return map.putIfAbsent(new CanonicalLabeling(graph).getCertificate(), graph);
+    }
+
+    /**
+     * Returns the graph in the cache isomorphic to the specified one.
+     *
+     * @param graph a graph.
+     * @return the graph in the cache isomorphic to the specified one, or
+     * {@code null} if there is no such graph.
+     */
+    public Graph find(Graph graph) {
+        return map.get(new CanonicalLabeling(graph).getCertificate());
+    }
+
+    /**
+     * Checks if the cache contains a graph isomorphic to the specified one.
+     *
+     * @param graph a graph.
+     * @return {@code true} if the cache contains a graph isomorphic to the
+     * specified one.
+     */
+    public boolean contains(Graph graph) {
+        return find(graph) != null;
+    }
+
+    /**
+     *
+     * @return the number of graphs in the cache.
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     *
+     * @return the graphs in the cache.
+     */
+    public Collection<Graph> graphs() {
+        return map.values();
+    }
+
+    /**
+     * Removes all the graphs from the cache.
+     */
+    public void clear() {
+        map.clear();
+    }
+}
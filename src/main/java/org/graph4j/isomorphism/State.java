@@ -56,6 +56,18 @@ public interface State {
      */
     Isomorphism getMapping();
 
+    /**
+     * Writes the mapping of the current state into the given arrays, using the
+     * same conventions as {@link Isomorphism}. The vertices of the second graph
+     * that are not mapped have the inverse set to {@link #NULL_NODE}.
+     *
+     * @param mapping an array of size equal to the number of vertices of the
+     * first graph
+     * @param inverse an array of size equal to the number of vertices of the
+     * second graph
+     */
+    void fillMapping(int[] mapping, int[] inverse);
+
     void resetPreviousVertices();
 
     int getCoreLen();
@@ -0,0 +1,25 @@
+package org.graph4j.isomorphism;
+
+import org.graph4j.Graph;
+
+/**
+ * The VF2++ algorithm for exact graph isomorphism.
+ *
+ * @see AbstractVF2PlusIsomorphism
+ * @author Cristian Frăsinaru
+ */
+public class VF2PlusExactGraphIsomorphism extends AbstractVF2PlusIsomorphism {
+
+    public VF2PlusExactGraphIsomorphism(Graph g1, Graph g2) {
+        super(g1, g2);
+    }
+
+    public VF2PlusExactGraphIsomorphism(Graph g1, Graph g2, boolean parallel) {
+        super(g1, g2, parallel);
+    }
+
+    @Override
+    protected boolean isSubgraphIsomorphism() {
+        return false;
+    }
+}
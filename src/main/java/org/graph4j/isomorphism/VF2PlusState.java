@@ -0,0 +1,604 @@
+package org.graph4j.isomorphism;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import org.graph4j.Digraph;
+import org.graph4j.Graph;
+
+/**
+ * The search state of the VF2++ algorithm. There is a single state, which is
+ * updated in place when a pair is added to the mapping and restored when the
+ * pair is removed. All the data is stored in arrays of primitives, indexed by
+ * the vertex indices, and the adjacency lists of the graphs are kept in a
+ * compact form; there are no caches of quadratic size.
+ *
+ * <p>
+ * The vertices of the first graph are matched in a fixed order, computed
+ * before the search: each connected component is traversed in BFS manner,
+ * starting from a vertex with the rarest label and maximum degree, and the
+ * vertices of each BFS level are sorted by the number of their neighbors
+ * already ordered, their degree and the rarity of their labels. Except for
+ * the roots, each vertex has an already matched neighbor, so the candidates
+ * for it are only the neighbors of the image of that vertex.
+ *
+ * @author Cristian Frăsinaru
+ */
+final class VF2PlusState {
+
+    final Graph graph1;
+    final Graph graph2;
+    final boolean subgraph; //induced subgraph isomorphism
+    final int n1, n2;
+    //compact adjacency, for undirected graphs in == out
+    private final int[] outStart1, out1, inStart1, in1;
+    private final int[] outStart2, out2, inStart2, in2;
+    private final boolean directed;
+    private final boolean multigraph;
+    private final boolean edgeLabels;
+    //the label class and the number of self loops of each vertex
+    private final int[] label1, label2;
+    private final int[] loops1, loops2;
+    //the matching order
+    final int[] order;
+    private final int[] parent; //an earlier neighbor of order[d], or -1
+    private final boolean[] parentOut; //order[d] is a successor of its parent
+    //the current state
+    final int[] core1, core2;
+    private final int[] conn1, conn2; //the number of mapped neighbors
+    final int[] cand; //the position of the current candidate at each depth
+    int depth;
+    //workspace
+    private final int[] mark;
+    private final int[] count;
+    private int stamp;
+
+    VF2PlusState(Graph graph1, Graph graph2, boolean subgraph) {
+        this.graph1 = graph1;
+        this.graph2 = graph2;
+        this.subgraph = subgraph;
+        this.directed = graph1.isDirected();
+        this.multigraph = graph1.isAllowingMultipleEdges();
+        this.edgeLabels = graph1.hasEdgeLabels() && graph2.hasEdgeLabels();
+        this.n1 = graph1.numVertices();
+        this.n2 = graph2.numVertices();
+
+        this.outStart1 = new int[n1 + 1];
+        this.out1 = createAdjacency(graph1, outStart1, false);
+        this.outStart2 = new int[n2 + 1];
+        this.out2 = createAdjacency(graph2, outStart2, false);
+        if (directed) {
+            this.inStart1 = new int[n1 + 1];
+            this.in1 = createAdjacency(graph1, inStart1, true);
+            this.inStart2 = new int[n2 + 1];
+            this.in2 = createAdjacency(graph2, inStart2, true);
+        } else {
+            this.inStart1 = outStart1;
+            this.in1 = out1;
+            this.inStart2 = outStart2;
+            this.in2 = out2;
+        }
+
+        this.label1 = new int[n1];
+        this.label2 = new int[n2];
+        createLabels();
+        this.loops1 = countLoops(outStart1, out1, n1);
+        this.loops2 = countLoops(outStart2, out2, n2);
+
+        this.order = new int[n1];
+        this.parent = new int[n1];
+        this.parentOut = new boolean[n1];
+        createOrder();
+
+        this.core1 = new int[n1];
+        this.core2 = new int[n2];
+        Arrays.fill(core1, State.NULL_NODE);
+        Arrays.fill(core2, State.NULL_NODE);
+        this.conn1 = new int[n1];
+        this.conn2 = new int[n2];
+        this.cand = new int[n1 + 1];
+        Arrays.fill(cand, -1);
+        this.mark = new int[n2];
+        this.count = new int[n2];
+    }
+
+    //copy constructor, used for splitting the search
+    VF2PlusState(VF2PlusState s) {
+        this.graph1 = s.graph1;
+        this.graph2 = s.graph2;
+        this.subgraph = s.subgraph;
+        this.n1 = s.n1;
+        this.n2 = s.n2;
+        this.outStart1 = s.outStart1;
+        this.out1 = s.out1;
+        this.inStart1 = s.inStart1;
+        this.in1 = s.in1;
+        this.outStart2 = s.outStart2;
+        this.out2 = s.out2;
+        this.inStart2 = s.inStart2;
+        this.in2 = s.in2;
+        this.directed = s.directed;
+        this.multigraph = s.multigraph;
+        this.edgeLabels = s.edgeLabels;
+        this.label1 = s.label1;
+        this.label2 = s.label2;
+        this.loops1 = s.loops1;
+        this.loops2 = s.loops2;
+        this.order = s.order;
+        this.parent = s.parent;
+        this.parentOut = s.parentOut;
+        this.core1 = s.core1.clone();
+        this.core2 = s.core2.clone();
+        this.conn1 = s.conn1.clone();
+        this.conn2 = s.conn2.clone();
+        this.cand = s.cand.clone();
+        this.depth = s.depth;
+        this.mark = new int[n2];
+        this.count = new int[n2];
+    }
+
+    private int[] createAdjacency(Graph g, int[] start, boolean pred) {
+        int n = g.numVertices();
+        for (int i = 0; i < n; i++) {
+            int v = g.vertexAt(i);
+            start[i + 1] = start[i] + (pred ? ((Digraph) g).indegree(v) : g.degree(v));
+        }
+        int[] adj = new int[start[n]];
+        for (int i = 0; i < n; i++) {
+            int pos = start[i];
+            int v = g.vertexAt(i);
+            var it = pred ? ((Digraph) g).predecessorIterator(v) : g.neighborIterator(v);
+            while (it.hasNext()) {
+                adj[pos++] = g.indexOf(it.next());
+            }
+        }
+        return adj;
+    }
+
+    //vertex labels are taken into account only if both graphs have them
+    private void createLabels() {
+        if (!graph1.hasVertexLabels() || !graph2.hasVertexLabels()) {
+            return;
+        }
+        Map<Object, Integer> ids = new HashMap<>();
+        for (int i = 0; i < n2; i++) {
+            label2[i] = ids.computeIfAbsent(graph2.getVertexLabel(graph2.vertexAt(i)), k -> ids.size());
+        }
+        for (int i = 0; i < n1; i++) {
+            label1[i] = ids.computeIfAbsent(graph1.getVertexLabel(graph1.vertexAt(i)), k -> ids.size());
+        }
+    }
+
+    private int[] countLoops(int[] start, int[] adj, int n) {
+        int[] loops = new int[n];
+        for (int i = 0; i < n; i++) {
+            for (int p = start[i]; p < start[i + 1]; p++) {
+                if (adj[p] == i) {
+                    loops[i]++;
+                }
+            }
+        }
+        return loops;
+    }
+
+    /**
+     * Checks the conditions that do not depend on the mapping: the number of
+     * vertices and edges and, for exact isomorphism, the multisets of vertex
+     * classes (label, degrees and self loops).
+     *
+     * @return {@code false} if there is certainly no mapping.
+     */
+    boolean checkTrivialConditions() {
+        if (subgraph) {
+            return n1 <= n2 && out1.length <= out2.length;
+        }
+        if (n1 != n2 || out1.length != out2.length) {
+            return false;
+        }
+        return Arrays.deepEquals(vertexClasses(label1, loops1, outStart1, inStart1, n1),
+                vertexClasses(label2, loops2, outStart2, inStart2, n2));
+    }
+
+    private int[][] vertexClasses(int[] label, int[] loops, int[] outStart, int[] inStart, int n) {
+        int[][] classes = new int[n][];
+        for (int i = 0; i < n; i++) {
+            classes[i] = new int[]{label[i], loops[i],
+                outStart[i + 1] - outStart[i], inStart[i + 1] - inStart[i]};
+        }
+        Arrays.sort(classes, Arrays::compare);
+        return classes;
+    }
+
+    //the VF2++ matching order
+    private void createOrder() {
+        //the number of vertices of the second graph having a label
+        int numLabels = 0;
+        for (int i = 0; i < n2; i++) {
+            numLabels = Math.max(numLabels, label2[i] + 1);
+        }
+        for (int i = 0; i < n1; i++) {
+            numLabels = Math.max(numLabels, label1[i] + 1);
+        }
+        int[] labelCount = new int[numLabels];
+        for (int i = 0; i < n2; i++) {
+            labelCount[label2[i]]++;
+        }
+        boolean[] ordered = new boolean[n1];
+        boolean[] visited = new boolean[n1];
+        int[] connOrdered = new int[n1];
+        int[] level = new int[n1];
+        int[] next = new int[n1];
+        int k = 0;
+        while (k < n1) {
+            //the root: rarest label, maximum degree
+            int root = -1;
+            for (int i = 0; i < n1; i++) {
+                if (!ordered[i] && (root < 0
+                        || labelCount[label1[i]] < labelCount[label1[root]]
+                        || (labelCount[label1[i]] == labelCount[label1[root]]
+                        && degree1(i) > degree1(root)))) {
+                    root = i;
+                }
+            }
+            level[0] = root;
+            visited[root] = true;
+            int levelSize = 1;
+            while (levelSize > 0) {
+                //sorts the current level
+                for (int j = 0; j < levelSize; j++) {
+                    int best = j;
+                    for (int l = j + 1; l < levelSize; l++) {
+                        if (isBefore(level[l], level[best], connOrdered, labelCount)) {
+                            best = l;
+                        }
+                    }
+                    int ui = level[best];
+                    level[best] = level[j];
+                    level[j] = ui;
+                    ordered[ui] = true;
+                    order[k++] = ui;
+                    labelCount[label1[ui]]--;
+                    for (int p = outStart1[ui]; p < outStart1[ui + 1]; p++) {
+                        connOrdered[out1[p]]++;
+                    }
+                    if (directed) {
+                        for (int p = inStart1[ui]; p < inStart1[ui + 1]; p++) {
+                            connOrdered[in1[p]]++;
+                        }
+                    }
+                }
+                //the next level
+                int nextSize = 0;
+                for (int j = 0; j < levelSize; j++) {
+                    int ui = level[j];
+                    for (int p = outStart1[ui]; p < outStart1[ui + 1]; p++) {
+                        if (!visited[out1[p]]) {
+                            visited[out1[p]] = true;
+                            next[nextSize++] = out1[p];
+                        }
+                    }
+                    if (directed) {
+                        for (int p = inStart1[ui]; p < inStart1[ui + 1]; p++) {
+                            if (!visited[in1[p]]) {
+                                visited[in1[p]] = true;
+                                next[nextSize++] = in1[p];
+                            }
+                        }
+                    }
+                }
+                int[] temp = level;
+                level = next;
+                next = temp;
+                levelSize = nextSize;
+            }
+        }
+        //the parent of each vertex is its first ordered neighbor
+        int[] position = new int[n1];
+        for (int d = 0; d < n1; d++) {
+            position[order[d]] = d;
+        }
+        for (int d = 0; d < n1; d++) {
+            int ui = order[d];
+            parent[d] = -1;
+            //ui is a successor of the parent
+            for (int p = inStart1[ui]; p < inStart1[ui + 1]; p++) {
+                int pi = in1[p];
+                if (position[pi] < d && (parent[d] < 0 || position[pi] < position[parent[d]])) {
+                    parent[d] = pi;
+                    parentOut[d] = true;
+                }
+            }
+            if (directed) {
+                //ui is a predecessor of the parent
+                for (int p = outStart1[ui]; p < outStart1[ui + 1]; p++) {
+                    int pi = out1[p];
+                    if (position[pi] < d && (parent[d] < 0 || position[pi] < position[parent[d]])) {
+                        parent[d] = pi;
+                        parentOut[d] = false;
+                    }
+                }
+            }
+        }
+    }
+
+    //more connections to the ordered vertices, higher degree, rarer label
+    private boolean isBefore(int ui, int vi, int[] connOrdered, int[] labelCount) {
+        if (connOrdered[ui] != connOrdered[vi]) {
+            return connOrdered[ui] > connOrdered[vi];
+        }
+        if (degree1(ui) != degree1(vi)) {
+            return degree1(ui) > degree1(vi);
+        }
+        return labelCount[label1[ui]] < labelCount[label1[vi]];
+    }
+
+    private int degree1(int ui) {
+        int deg = outStart1[ui + 1] - outStart1[ui];
+        return directed ? deg + inStart1[ui + 1] - inStart1[ui] : deg;
+    }
+
+    /**
+     * Explores the search tree below the current state. The search starts at
+     * the current depth and stops when it returns to it, leaving the state as
+     * it was.
+     *
+     * @param action invoked for each complete mapping; if it returns
+     * {@code false}, the search stops.
+     * @return {@code false} if the search was stopped by the action.
+     */
+    boolean search(Predicate<VF2PlusState> action) {
+        final int start = depth;
+        cand[start] = -1;
+        while (true) {
+            if (depth == n1) {
+                if (!action.test(this)) {
+                    unwind(start);
+                    return false;
+                }
+                if (depth == start) {
+                    return true;
+                }
+                depth--;
+                removePair(order[depth]);
+                continue;
+            }
+            int vi = nextCandidate(depth);
+            if (vi >= 0) {
+                addPair(order[depth], vi);
+                depth++;
+                cand[depth] = -1;
+                continue;
+            }
+            if (depth == start) {
+                return true;
+            }
+            depth--;
+            removePair(order[depth]);
+        }
+    }
+
+    //restores the state to the given depth
+    private void unwind(int start) {
+        while (depth > start) {
+            depth--;
+            removePair(order[depth]);
+        }
+    }
+
+    /**
+     * Finds the next feasible candidate for the vertex at the given depth,
+     * advancing {@code cand[d]}.
+     *
+     * @param d the current depth.
+     * @return the index of the candidate in the second graph, or -1.
+     */
+    int nextCandidate(int d) {
+        int ui = order[d];
+        int pi = parent[d];
+        if (pi < 0) {
+            for (int vi = cand[d] + 1; vi < n2; vi++) {
+                if (core2[vi] < 0 && isFeasible(ui, vi)) {
+                    cand[d] = vi;
+                    return vi;
+                }
+            }
+            cand[d] = n2;
+            return -1;
+        }
+        int pm = core1[pi];
+        int[] start = parentOut[d] ? outStart2 : inStart2;
+        int[] adj = parentOut[d] ? out2 : in2;
+        int from = start[pm], to = start[pm + 1];
+        for (int pos = Math.max(cand[d] + 1, from); pos < to; pos++) {
+            int vi = adj[pos];
+            if (core2[vi] < 0 && !(multigraph && isRepeated(adj, from, pos))
+                    && isFeasible(ui, vi)) {
+                cand[d] = pos;
+                return vi;
+            }
+        }
+        cand[d] = to;
+        return -1;
+    }
+
+    //multiple edges create repeated candidates
+    private boolean isRepeated(int[] adj, int from, int pos) {
+        for (int p = from; p < pos; p++) {
+            if (adj[p] == adj[pos]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isFeasible(int ui, int vi) {
+        if (label1[ui] != label2[vi] || loops1[ui] != loops2[vi]) {
+            return false;
+        }
+        int out1Deg = outStart1[ui + 1] - outStart1[ui];
+        int out2Deg = outStart2[vi + 1] - outStart2[vi];
+        int in1Deg = inStart1[ui + 1] - inStart1[ui];
+        int in2Deg = inStart2[vi + 1] - inStart2[vi];
+        if (subgraph ? (out1Deg > out2Deg || in1Deg > in2Deg)
+                : (out1Deg != out2Deg || in1Deg != in2Deg)) {
+            return false;
+        }
+        if (!checkMapped(ui, vi, outStart1, out1, outStart2, out2, true)) {
+            return false;
+        }
+        if (directed && !checkMapped(ui, vi, inStart1, in1, inStart2, in2, false)) {
+            return false;
+        }
+        //look-ahead: the unmapped neighbors in the frontier or new
+        int term1 = 0, new1 = 0, term2 = 0, new2 = 0;
+        for (int p = outStart1[ui]; p < outStart1[ui + 1]; p++) {
+            int xi = out1[p];
+            if (core1[xi] < 0 && xi != ui) {
+                if (conn1[xi] > 0) {
+                    term1++;
+                } else {
+                    new1++;
+                }
+            }
+        }
+        for (int p = outStart2[vi]; p < outStart2[vi + 1]; p++) {
+            int yi = out2[p];
+            if (core2[yi] < 0 && yi != vi) {
+                if (conn2[yi] > 0) {
+                    term2++;
+                } else {
+                    new2++;
+                }
+            }
+        }
+        if (directed) {
+            for (int p = inStart1[ui]; p < inStart1[ui + 1]; p++) {
+                int xi = in1[p];
+                if (core1[xi] < 0 && xi != ui) {
+                    if (conn1[xi] > 0) {
+                        term1++;
+                    } else {
+                        new1++;
+                    }
+                }
+            }
+            for (int p = inStart2[vi]; p < inStart2[vi + 1]; p++) {
+                int yi = in2[p];
+                if (core2[yi] < 0 && yi != vi) {
+                    if (conn2[yi] > 0) {
+                        term2++;
+                    } else {
+                        new2++;
+                    }
+                }
+            }
+        }
+        return subgraph
+                ? term1 <= term2 && new1 <= new2
+                : term1 == term2 && new1 == new2;
+    }
+
+    //the mapped neighbors of ui must correspond to the mapped neighbors of vi,
+    //with the same multiplicity
+    private boolean checkMapped(int ui, int vi, int[] start1, int[] adj1,
+            int[] start2, int[] adj2, boolean out) {
+        stamp++;
+        int total2 = 0;
+        for (int p = start2[vi]; p < start2[vi + 1]; p++) {
+            int yi = adj2[p];
+            if (core2[yi] < 0) {
+                continue;
+            }
+            if (mark[yi] != stamp) {
+                mark[yi] = stamp;
+                count[yi] = 0;
+            }
+            count[yi]++;
+            total2++;
+        }
+        int total1 = 0;
+        for (int p = start1[ui]; p < start1[ui + 1]; p++) {
+            int xi = adj1[p];
+            int yi = core1[xi];
+            if (yi < 0) {
+                continue;
+            }
+            if (mark[yi] != stamp || count[yi] == 0) {
+                return false;
+            }
+            count[yi]--;
+            total1++;
+            if (edgeLabels && !compatibleEdgeLabels(ui, xi, vi, yi, out)) {
+                return false;
+            }
+        }
+        return total1 == total2;
+    }
+
+    private boolean compatibleEdgeLabels(int ui, int xi, int vi, int yi, boolean out) {
+        int u = graph1.vertexAt(ui), x = graph1.vertexAt(xi);
+        int v = graph2.vertexAt(vi), y = graph2.vertexAt(yi);
+        Object label1 = out ? graph1.getEdgeLabel(u, x) : graph1.getEdgeLabel(x, u);
+        Object label2 = out ? graph2.getEdgeLabel(v, y) : graph2.getEdgeLabel(y, v);
+        return label1 == null || label2 == null || Objects.equals(label1, label2);
+    }
+
+    void addPair(int ui, int vi) {
+        core1[ui] = vi;
+        core2[vi] = ui;
+        updateConnections(ui, vi, 1);
+    }
+
+    void removePair(int ui) {
+        int vi = core1[ui];
+        updateConnections(ui, vi, -1);
+        core1[ui] = State.NULL_NODE;
+        core2[vi] = State.NULL_NODE;
+    }
+
+    private void updateConnections(int ui, int vi, int delta) {
+        for (int p = outStart1[ui]; p < outStart1[ui + 1]; p++) {
+            conn1[out1[p]] += delta;
+        }
+        for (int p = outStart2[vi]; p < outStart2[vi + 1]; p++) {
+            conn2[out2[p]] += delta;
+        }
+        if (directed) {
+            for (int p = inStart1[ui]; p < inStart1[ui + 1]; p++) {
+                conn1[in1[p]] += delta;
+            }
+            for (int p = inStart2[vi]; p < inStart2[vi + 1]; p++) {
+                conn2[in2[p]] += delta;
+            }
+        }
+    }
+
+    /**
+     * Creates the isomorphism corresponding to the current, complete, mapping.
+     *
+     * @return the current mapping.
+     */
+    Isomorphism createIsomorphism() {
+        int[] mapping = new int[n1];
+        int[] inverse = new int[n2];
+        fillMapping(mapping, inverse);
+        return new Isomorphism(graph1, graph2, mapping, inverse);
+    }
+
+    /**
+     * Writes the current mapping, using vertex numbers, in the given arrays.
+     *
+     * @param mapping an array of size n1.
+     * @param inverse an array of size n2.
+     */
+    void fillMapping(int[] mapping, int[] inverse) {
+        for (int i = 0; i < n1; i++) {
+            mapping[i] = graph2.vertexAt(core1[i]);
+        }
+        for (int j = 0; j < n2; j++) {
+            inverse[j] = core2[j] >= 0 ? graph1.vertexAt(core2[j]) : State.NULL_NODE;
+        }
+    }
+}
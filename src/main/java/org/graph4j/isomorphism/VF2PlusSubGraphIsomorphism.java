@@ -0,0 +1,26 @@
+package org.graph4j.isomorphism;
+
+import org.graph4j.Graph;
+
+/**
+ * The VF2++ algorithm for subgraph isomorphism: the first graph is mapped to
+ * an induced subgraph of the second one.
+ *
+ * @see AbstractVF2PlusIsomorphism
+ * @author Cristian Frăsinaru
+ */
+public class VF2PlusSubGraphIsomorphism extends AbstractVF2PlusIsomorphism {
+
+    public VF2PlusSubGraphIsomorphism(Graph g1, Graph g2) {
+        super(g1, g2);
+    }
+
+    public VF2PlusSubGraphIsomorphism(Graph g1, Graph g2, boolean parallel) {
+        super(g1, g2, parallel);
+    }
+
+    @Override
+    protected boolean isSubgraphIsomorphism() {
+        return true;
+    }
+}
@@ -16,18 +16,269 @@
  */
 package org.graph4j.matching;
 
+import java.util.Arrays;
 import org.graph4j.Graph;
 import org.graph4j.SimpleGraphAlgorithm;
+import org.graph4j.util.CsrSnapshot;
+import org.graph4j.util.Matching;
 
 /**
- * TODO
- * Goldberg, p.95
+ * Computes a maximum cardinality matching in a general graph, using Edmonds'
+ * blossom algorithm.
+ *
+ * <p>
+ * The search starts from a greedy maximal matching, created by
+ * {@link MaximalCardinalityMatching}, so only the vertices left exposed by it
+ * are used as roots. From each exposed vertex, an alternating tree is grown in
+ * breadth-first order. When an edge joins two even vertices of the tree, the
+ * odd cycle (the blossom) is contracted implicitly: the vertices of the cycle
+ * are united, using a disjoint-set structure, with the base of the blossom,
+ * and the odd vertices of the cycle become even. When an exposed vertex is
+ * reached, the matching is augmented along the alternating path. If the
+ * search from a vertex fails, the vertex remains exposed in any maximum
+ * matching, so it is never used as a root again.
+ *
+ * <p>
+ * All the data structures are primitive arrays, allocated once, and only the
+ * vertices touched by a search are reset after it. The worst case running
+ * time is O(nm α(n)), where α is the inverse Ackermann function.
+ *
+ * Implemented after: Jack Edmonds, "Paths, trees, and flowers" and Harold
+ * Gabow, "An Efficient Implementation of Edmonds' Algorithm for Maximum
+ * Matching on Graphs".
+ *
+ * @see HopcroftKarpMaximumMatching
+ * @see MaximalCardinalityMatching
  * @author Cristian Frăsinaru
  */
-public class EdmondsMaximumMatching extends SimpleGraphAlgorithm {
+public class EdmondsMaximumMatching extends SimpleGraphAlgorithm
+        implements MatchingAlgorithm {
 
+    private static final int FREE = -1;
+    private static final int UNLABELED = 0;
+    private static final int EVEN = 1;
+    private static final int ODD = 2;
+    private Matching matching;
+    private int n;
+    private int[] start; //the adjacency lists, as vertex indices (CSR)
+    private int[] adj;
+    private int[] mate;
+    private int[] label;
+    private int[] parent; //the vertex from which an odd vertex was reached
+    private int[] set; //the disjoint-set forest of the blossoms, rooted at their bases
+    private int[] mark; //used for computing the lowest common ancestor
+    private int stamp;
+    private int[] queue;
+    private int head, tail;
+    private int[] touched; //the labeled vertices
+    private int numTouched;
+
+    /**
+     * Creates an algorithm for determining a maximum matching in a general
+     * graph.
+     *
+     * @param graph the input graph.
+     */
     public EdmondsMaximumMatching(Graph graph) {
         super(graph);
     }
 
+    /**
+     *
+     * @return the maximum cardinality matching.
+     */
+    @Override
+    public Matching getMatching() {
+        if (matching != null) {
+            return matching;
+        }
+        compute();
+        matching = new Matching(graph);
+        for (int vi = 0; vi < n; vi++) {
+            int ui = mate[vi];
+            if (vi < ui) {
+                matching.add(graph.vertexAt(vi), graph.vertexAt(ui));
+            }
+        }
+        assert matching.isValid();
+        return matching;
+    }
+
+    private void compute() {
+        init();
+        int size = 0;
+        for (int vi = 0; vi < n; vi++) {
+            if (mate[vi] != FREE) {
+                size++;
+            }
+        }
+        size /= 2;
+        for (int root = 0; root < n && size < n / 2; root++) {
+            if (mate[root] == FREE && start[root] < start[root + 1]) {
+                if (search(root)) {
+                    size++;
+                }
+                reset();
+            }
+        }
+    }
+
+    private void init() {
+        n = graph.numVertices();
+        var csr = new CsrSnapshot(graph);
+        start = csr.getStart();
+        adj = csr.getAdjacency();
+        mate = new int[n];
+        Arrays.fill(mate, FREE);
+        var greedy = new MaximalCardinalityMatching(graph).getMatching();
+        for (int i = 0; i < n; i++) {
+            int u = greedy.mate(graph.vertexAt(i));
+            if (u >= 0) {
+                mate[i] = graph.indexOf(u);
+            }
+        }
+        label = new int[n];
+        parent = new int[n];
+        Arrays.fill(parent, FREE);
+        set = new int[n];
+        for (int i = 0; i < n; i++) {
+            set[i] = i;
+        }
+        mark = new int[n];
+        queue = new int[n];
+        touched = new int[n];
+    }
+
+    /*
+     * Grows an alternating tree from the given exposed vertex. Returns true if
+     * an augmenting path was found, in which case the matching is augmented.
+     */
+    private boolean search(int root) {
+        head = tail = 0;
+        setLabel(root, EVEN);
+        queue[tail++] = root;
+        while (head < tail) {
+            int v = queue[head++];
+            for (int k = start[v], end = start[v + 1]; k < end; k++) {
+                int u = adj[k];
+                if (label[u] == UNLABELED) {
+                    setLabel(u, ODD);
+                    parent[u] = v;
+                    int w = mate[u];
+                    if (w == FREE) {
+                        augment(u);
+                        return true;
+                    }
+                    setLabel(w, EVEN);
+                    queue[tail++] = w;
+                } else if (label[u] == EVEN) {
+                    int bv = baseOf(v);
+                    int bu = baseOf(u);
+                    if (bv != bu) {
+                        int lca = lowestCommonAncestor(bv, bu);
+                        shrink(v, u, lca);
+                        shrink(u, v, lca);
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private void setLabel(int v, int value) {
+        label[v] = value;
+        touched[numTouched++] = v;
+    }
+
+    /*
+     * The odd vertex v is exposed: flips the matched and unmatched edges
+     * along the path from v to the root.
+     */
+    private void augment(int v) {
+        while (v != FREE) {
+            int p = parent[v];
+            int next = mate[p];
+            mate[v] = p;
+            mate[p] = v;
+            v = next;
+        }
+    }
+
+    /*
+     * Walks alternately from the two bases towards the root, until reaching a
+     * base visited by the other walk.
+     */
+    private int lowestCommonAncestor(int a, int b) {
+        stamp++;
+        while (true) {
+            if (a != FREE) {
+                if (mark[a] == stamp) {
+                    return a;
+                }
+                mark[a] = stamp;
+                a = mate[a] == FREE ? FREE : baseOf(parent[mate[a]]);
+            }
+            int t = a;
+            a = b;
+            b = t;
+        }
+    }
+
+    /*
+     * Contracts the path from the even vertex v to the base of the blossom,
+     * the edge vu closing the cycle. The odd vertices on the path become even
+     * and their parent pointers are directed along the cycle, so that an
+     * augmenting path can later traverse the blossom.
+     */
+    private void shrink(int v, int u, int lca) {
+        while (baseOf(v) != lca) {
+            int w = mate[v];
+            parent[v] = u;
+            if (label[w] == ODD) {
+                label[w] = EVEN;
+                queue[tail++] = w;
+            }
+            union(v, lca);
+            union(w, lca);
+            u = w;
+            v = parent[w];
+        }
+    }
+
+    private int find(int v) {
+        int root = v;
+        while (set[root] != root) {
+            root = set[root];
+        }
+        while (set[v] != root) {
+            int next = set[v];
+            set[v] = root;
+            v = next;
+        }
+        return root;
+    }
+
+    //the root of each set is the base of the blossom
+    private int baseOf(int v) {
+        return find(v);
+    }
+
+    //adds the blossom containing v to the one whose base is lca
+    private void union(int v, int lca) {
+        int rv = find(v);
+        if (rv != lca) {
+            set[rv] = lca;
+        }
+    }
+
+    //clears the labels and the blossoms of the last search
+    private void reset() {
+        for (int i = 0; i < numTouched; i++) {
+            int v = touched[i];
+            label[v] = UNLABELED;
+            parent[v] = FREE;
+            set[v] = v;
+        }
+        numTouched = 0;
+    }
 }
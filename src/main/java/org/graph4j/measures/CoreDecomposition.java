@@ -0,0 +1,268 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.measures;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+import org.graph4j.Graph;
+import org.graph4j.SimpleGraphAlgorithm;
+import org.graph4j.util.CsrSnapshot;
+import static org.graph4j.util.ParallelFrontier.CHUNK_SIZE;
+import static org.graph4j.util.ParallelFrontier.expand;
+import org.graph4j.util.VertexSet;
+
+/**
+ * Computes the <em>core numbers</em> of the vertices of a graph. The
+ * <em>k-core</em> of a graph is its maximal induced subgraph having the minimum
+ * degree at least {@code k}. The core number of a vertex is the largest
+ * {@code k} such that the vertex belongs to the k-core. The
+ * <em>degeneracy</em> of the graph is the largest core number.
+ *
+ * <p>
+ * The sequential algorithm repeatedly removes a vertex of minimum degree,
+ * keeping the vertices sorted by their current degrees in an array of buckets,
+ * so that moving a vertex to the previous bucket takes constant time. Its
+ * complexity is {@code O(|V| + |E|)}.
+ *
+ * <p>
+ * The parallel algorithm peels the graph level by level. At level {@code k},
+ * the remaining vertices having the degree {@code k} are removed, and the
+ * degrees of their neighbors are decremented atomically. The neighbors whose
+ * degrees reach {@code k} form the next frontier of the same level. Each
+ * frontier is split in chunks, which are processed in parallel, on the common
+ * fork-join pool. After each level, the list of the remaining vertices is
+ * compacted and the empty levels are skipped.
+ *
+ * Implemented after: Vladimir Batagelj, Matjaž Zaversnik, "An O(m) Algorithm
+ * for Cores Decomposition of Networks" and Humayun Kabir, Kamesh Madduri,
+ * "Parallel k-Core Decomposition on Multicore Platforms".
+ *
+ * @see org.graph4j.ordering.SmallestDegreeLastOrdering
+ * @author Cristian Frăsinaru
+ */
+public class CoreDecomposition extends SimpleGraphAlgorithm {
+
+    private final boolean parallel;
+    private int n;
+    private int[] start, adj; //the adjacency lists, as vertex indices (CSR)
+    private int[] core;
+    private int degeneracy;
+
+    /**
+     *
+     * @param graph the input graph.
+     */
+    public CoreDecomposition(Graph graph) {
+        this(graph, false);
+    }
+
+    /**
+     *
+     * @param graph the input graph.
+     * @param parallel if {@code true}, the vertices are peeled in parallel.
+     */
+    public CoreDecomposition(Graph graph, boolean parallel) {
+        super(graph);
+        this.parallel = parallel;
+    }
+
+    /**
+     * Returns the core numbers of the vertices, indexed by the indices of the
+     * vertices.
+     *
+     * @return the core number of each vertex index.
+     */
+    public int[] getCoreNumbers() {
+        compute();
+        return core;
+    }
+
+    /**
+     *
+     * @param v a vertex number.
+     * @return the core number of the vertex.
+     */
+    public int getCoreNumber(int v) {
+        compute();
+        return core[graph.indexOf(v)];
+    }
+
+    /**
+     *
+     * @return the degeneracy of the graph, the largest core number.
+     */
+    public int getDegeneracy() {
+        compute();
+        return degeneracy;
+    }
+
+    /**
+     * Returns the vertices of the k-core, that is those having the core number
+     * at least {@code k}.
+     *
+     * @param k the order of the core.
+     * @return the vertex set of the k-core, possibly empty.
+     */
+    public VertexSet getCore(int k) {
+        compute();
+        int size = 0;
+        for (int vi = 0; vi < n; vi++) {
+            if (core[vi] >= k) {
+                size++;
+            }
+        }
+        int[] vertices = new int[size];
+        for (int vi = 0, j = 0; vi < n; vi++) {
+            if (core[vi] >= k) {
+                vertices[j++] = graph.vertexAt(vi);
+            }
+        }
+        return new VertexSet(graph, vertices);
+    }
+
+    private void compute() {
+        if (core != null) {
+            return;
+        }
+        init();
+        if (parallel) {
+            computeParallel();
+        } else {
+            computeSequential();
+        }
+        degeneracy = 0;
+        for (int vi = 0; vi < n; vi++) {
+            degeneracy = Math.max(degeneracy, core[vi]);
+        }
+        start = adj = null;
+    }
+
+    private void init() {
+        n = graph.numVertices();
+        var csr = new CsrSnapshot(graph);
+        start = csr.getStart();
+        adj = csr.getAdjacency();
+    }
+
+    /*
+     * Batagelj-Zaversnik: vert holds the vertices sorted by their current
+     * degrees, bin[d] is the position of the first vertex of degree d. A
+     * vertex whose degree is decremented is swapped with the first vertex of
+     * its bucket, and the bucket boundary is moved past it.
+     */
+    private void computeSequential() {
+        int[] deg = new int[n];
+        int maxDeg = 0;
+        for (int vi = 0; vi < n; vi++) {
+            deg[vi] = start[vi + 1] - start[vi];
+            maxDeg = Math.max(maxDeg, deg[vi]);
+        }
+        int[] bin = new int[maxDeg + 1];
+        for (int vi = 0; vi < n; vi++) {
+            bin[deg[vi]]++;
+        }
+        for (int d = 0, first = 0; d <= maxDeg; d++) {
+            int count = bin[d];
+            bin[d] = first;
+            first += count;
+        }
+        int[] vert = new int[n];
+        int[] pos = new int[n];
+        for (int vi = 0; vi < n; vi++) {
+            pos[vi] = bin[deg[vi]]++;
+            vert[pos[vi]] = vi;
+        }
+        for (int d = maxDeg; d > 0; d--) {
+            bin[d] = bin[d - 1];
+        }
+        bin[0] = 0;
+        for (int i = 0; i < n; i++) {
+            int vi = vert[i];
+            for (int k = start[vi], end = start[vi + 1]; k < end; k++) {
+                int ui = adj[k];
+                if (deg[ui] > deg[vi]) {
+                    int du = deg[ui];
+                    int pu = pos[ui];
+                    int pw = bin[du];
+                    int wi = vert[pw];
+                    if (ui != wi) {
+                        pos[ui] = pw;
+                        vert[pu] = wi;
+                        pos[wi] = pu;
+                        vert[pw] = ui;
+                    }
+                    bin[du]++;
+                    deg[ui]--;
+                }
+            }
+        }
+        core = deg;
+    }
+
+    /*
+     * The degree of a removed vertex is never decremented below the level at
+     * which it was removed, so at the end the degrees are the core numbers.
+     * A neighbor is added to the frontier only by the thread that decrements
+     * its degree from k + 1 to k; a thread that decrements it below k restores
+     * it.
+     */
+    private void computeParallel() {
+        var deg = new AtomicIntegerArray(n);
+        for (int vi = 0; vi < n; vi++) {
+            deg.set(vi, start[vi + 1] - start[vi]);
+        }
+        int[] remaining = new int[n];
+        Arrays.setAll(remaining, vi -> vi);
+        int level = 0;
+        while (remaining.length > 0) {
+            var degrees = IntStream.of(remaining);
+            int k = Math.max(level, (remaining.length > CHUNK_SIZE ? degrees.parallel() : degrees)
+                    .map(deg::get).min().getAsInt());
+            int[] frontier = expand(remaining, (vi, next) -> {
+                if (deg.get(vi) == k) {
+                    next.add(vi);
+                }
+            });
+            while (frontier.length > 0) {
+                frontier = expand(frontier, (vi, next) -> {
+                    for (int j = start[vi], end = start[vi + 1]; j < end; j++) {
+                        int ui = adj[j];
+                        if (deg.get(ui) > k) {
+                            int d = deg.getAndDecrement(ui);
+                            if (d == k + 1) {
+                                next.add(ui);
+                            } else if (d <= k) {
+                                deg.getAndIncrement(ui);
+                            }
+                        }
+                    }
+                });
+            }
+            remaining = expand(remaining, (vi, next) -> {
+                if (deg.get(vi) > k) {
+                    next.add(vi);
+                }
+            });
+            level = k + 1;
+        }
+        core = new int[n];
+        for (int vi = 0; vi < n; vi++) {
+            core[vi] = deg.get(vi);
+        }
+    }
+}
@@ -167,6 +167,31 @@ public class GraphMeasures {
         return new TriangleCounter(graph).count();
     }
 
+    /**
+     * The core number of a vertex is the largest k such that the vertex
+     * belongs to a subgraph having the minimum degree at least k.
+     *
+     * @param graph the input graph.
+     * @return the core numbers of the vertices, indexed by the indices of the
+     * vertices.
+     * @see CoreDecomposition
+     */
+    public static int[] coreNumbers(Graph graph) {
+        return new CoreDecomposition(graph).getCoreNumbers();
+    }
+
+    /**
+     * The <em>degeneracy</em> of a graph is the largest k such that the graph
+     * has a subgraph having the minimum degree at least k.
+     *
+     * @param graph the input graph.
+     * @return the degeneracy of the graph.
+     * @see CoreDecomposition
+     */
+    public static int degeneracy(Graph graph) {
+        return new CoreDecomposition(graph).getDegeneracy();
+    }
+
     /**
      * A <em>triplet</em> is formed by three distinct vertices that are
      * connected by either two (open triplet) or three (closed triplet)
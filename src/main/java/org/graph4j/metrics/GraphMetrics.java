@@ -34,6 +34,7 @@ import org.graph4j.util.VertexSet;
 public class GraphMetrics extends GraphAlgorithm {
 
     ExtremaCalculator extremaCalculator;
+    WeightedExtremaCalculator weightedCalculator;
     protected double dist[][]; //distances
     protected double ecc[]; //eccentricities
     protected Integer girth;
@@ -48,8 +49,26 @@ public class GraphMetrics extends GraphAlgorithm {
      * @param graph the input graph.
      */
     public GraphMetrics(Graph graph) {
+        this(graph, false);
+    }
+
+    /**
+     * Creates an object for computing the metrics of the graph. If
+     * {@code parallel} is {@code true}, the diameter, radius, center and
+     * periphery of the graph are computed using multiple threads, on the common
+     * fork-join pool.
+     *
+     * @param graph the input graph.
+     * @param parallel specifies if the extrema should be computed in parallel.
+     */
+    public GraphMetrics(Graph graph, boolean parallel) {
         super(graph);
-        extremaCalculator = new GraphExtremaCalculator(graph);
+        extremaCalculator = parallel
+                ? new ParallelGraphExtremaCalculator(graph)
+                : new GraphExtremaCalculator(graph);
+        if (!graph.isDirected()) {
+            weightedCalculator = new WeightedExtremaCalculator(graph, parallel);
+        }
     }
 
     //https://cstheory.stackexchange.com/questions/10983/optimal-algorithm-for-finding-the-girth-of-a-sparse-graph
@@ -216,6 +235,10 @@ public class GraphMetrics extends GraphAlgorithm {
             diameter = (double) extremaCalculator.getDiameter();
             return diameter;
         }
+        if (ecc == null && weightedCalculator != null && graph.hasEdgeWeights()) {
+            diameter = weightedCalculator.getDiameter();
+            return diameter;
+        }
         eccentricities();
         this.diameter = ecc[0];
         for (int i = 1, n = graph.numVertices(); i < n; i++) {
@@ -287,6 +310,10 @@ public class GraphMetrics extends GraphAlgorithm {
             radius = (double) extremaCalculator.getRadius();
             return radius;
         }
+        if (ecc == null && weightedCalculator != null && graph.hasEdgeWeights()) {
+            radius = weightedCalculator.getRadius();
+            return radius;
+        }
         eccentricities();
         this.radius = ecc[0];
         for (int i = 1, n = graph.numVertices(); i < n; i++) {
@@ -314,6 +341,10 @@ public class GraphMetrics extends GraphAlgorithm {
             center = extremaCalculator.getCenter();
             return center;
         }
+        if (ecc == null && weightedCalculator != null && graph.hasEdgeWeights()) {
+            center = weightedCalculator.getCenter();
+            return center;
+        }
         eccentricities();
         double r = radius();
         center = new VertexSet(graph);
@@ -342,6 +373,10 @@ public class GraphMetrics extends GraphAlgorithm {
             periphery = extremaCalculator.getPeriphery();
             return periphery;
         }
+        if (ecc == null && weightedCalculator != null && graph.hasEdgeWeights()) {
+            periphery = weightedCalculator.getPeriphery();
+            return periphery;
+        }
         eccentricities();
         double d = diameter();
         periphery = new VertexSet(graph);
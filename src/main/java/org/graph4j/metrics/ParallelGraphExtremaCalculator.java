@@ -0,0 +1,434 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+import org.graph4j.Graph;
+import org.graph4j.GraphAlgorithm;
+import org.graph4j.util.CsrSnapshot;
+import org.graph4j.util.VertexSet;
+
+/**
+ * Parallel calculator of the radius, diameter, center or periphery of an
+ * unweighted graph.
+ *
+ * <p>
+ * The radius, center and periphery are computed using the bounding approach of
+ * Takes and Kosters, see {@link GraphExtremaCalculator}. At each step, a batch
+ * of candidate vertices is selected, alternating the ones with the smallest
+ * lower bound and the largest upper bound of the eccentricity, and the BFS
+ * traversals starting in them are executed in parallel. The eccentricity
+ * bounds, both global and for each vertex, are shared and updated atomically
+ * by the BFS tasks, and the candidates whose bounds are no longer relevant are
+ * removed after each batch.
+ *
+ * <p>
+ * The diameter is computed using the iFUB (iterative Fringe Upper Bound)
+ * algorithm, starting from a vertex selected with the 4-Sweep heuristic. The
+ * eccentricities of the vertices of a fringe are computed in parallel and the
+ * computation stops as soon as the lower bound exceeds the upper bound.
+ *
+ * <p>
+ * The BFS traversals are executed on the common {@link ForkJoinPool}, on a
+ * compact representation of the graph, and each thread reuses its own
+ * workspace. For directed graphs the bounds are not valid, so all the
+ * eccentricities are computed, in parallel.
+ *
+ * [1] P. Crescenzi, R. Grossi, M. Habib, L. Lanzi, A. Marino, "On computing
+ * the diameter of real-world undirected graphs." Theoretical Computer Science,
+ * 2013 https://doi.org/10.1016/j.tcs.2012.09.018
+ *
+ * @see GraphExtremaCalculator
+ * @author Cristian Frăsinaru
+ */
+class ParallelGraphExtremaCalculator extends GraphAlgorithm implements ExtremaCalculator {
+
+    private final int n;
+    private final int parallelism;
+    private int[] adjStart; //the neighbors of vi are adj[adjStart[vi]..adjStart[vi+1])
+    private int[] adj;
+    private ThreadLocal<Workspace> workspace;
+    //
+    private AtomicIntegerArray eccLB, eccUB;
+    private AtomicInteger radiusLB, radiusUB, diamLB, diamUB;
+    private int[] candidates;
+    private int numCandidates;
+    private boolean selector;
+    private boolean connected;
+    //
+    private Integer radius, diameter;
+    private VertexSet center, periphery;
+    private Type extremaType;
+
+    private enum Type {
+        RADIUS, DIAMETER, CENTER, PERIPHERY
+    };
+
+    public ParallelGraphExtremaCalculator(Graph graph) {
+        super(graph);
+        this.n = graph.numVertices();
+        this.parallelism = Math.max(1, ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    @Override
+    public int getDiameter() {
+        if (diameter != null) {
+            return diameter;
+        }
+        init();
+        diameter = directed ? computeAll(Type.DIAMETER) : computeIFUB();
+        return diameter;
+    }
+
+    @Override
+    public int getRadius() {
+        if (radius != null) {
+            return radius;
+        }
+        init();
+        if (directed) {
+            radius = computeAll(Type.RADIUS);
+        } else {
+            extremaType = Type.RADIUS;
+            compute();
+            radius = radiusUB.get();
+        }
+        return radius;
+    }
+
+    @Override
+    public VertexSet getPeriphery() {
+        if (periphery != null) {
+            return periphery;
+        }
+        init();
+        periphery = new VertexSet(graph);
+        int diam;
+        if (directed) {
+            diam = computeAll(Type.PERIPHERY);
+        } else {
+            extremaType = Type.PERIPHERY;
+            compute();
+            diam = diamLB.get();
+        }
+        if (connected) {
+            for (int i = 0; i < n; i++) {
+                if (eccLB.get(i) == diam) {
+                    periphery.add(graph.vertexAt(i));
+                }
+            }
+        }
+        return periphery;
+    }
+
+    @Override
+    public VertexSet getCenter() {
+        if (center != null) {
+            return center;
+        }
+        init();
+        center = new VertexSet(graph);
+        int rad;
+        if (directed) {
+            rad = computeAll(Type.CENTER);
+        } else {
+            extremaType = Type.CENTER;
+            compute();
+            rad = radiusUB.get();
+        }
+        if (connected) {
+            for (int i = 0; i < n; i++) {
+                if (eccUB.get(i) == rad) {
+                    center.add(graph.vertexAt(i));
+                }
+            }
+        }
+        return center;
+    }
+
+    //creates the compact representation of the graph
+    private void init() {
+        if (adj != null) {
+            return;
+        }
+        var csr = new CsrSnapshot(graph);
+        this.adjStart = csr.getStart();
+        this.adj = csr.getAdjacency();
+        this.workspace = ThreadLocal.withInitial(() -> new Workspace(n));
+    }
+
+    //bounding approach, the BFS traversals of a batch are executed in parallel
+    private void compute() {
+        candidates = new int[n];
+        for (int i = 0; i < n; i++) {
+            candidates[i] = i;
+        }
+        numCandidates = n;
+        radiusLB = new AtomicInteger(0);
+        radiusUB = new AtomicInteger(n);
+        diamLB = new AtomicInteger(0);
+        diamUB = new AtomicInteger(n);
+        eccLB = new AtomicIntegerArray(n);
+        eccUB = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) {
+            eccUB.set(i, n);
+        }
+        connected = true;
+        if (n == 0) {
+            return;
+        }
+        var disconnected = new AtomicBoolean(false);
+        boolean[] selected = new boolean[n];
+
+        while (numCandidates > 0) {
+            int[] batch = selectBatch(selected);
+            IntStream.range(0, batch.length).parallel().forEach(k -> {
+                if (disconnected.get()) {
+                    return;
+                }
+                int vi = batch[k];
+                var ws = workspace.get();
+                int ecc = ws.bfs(vi);
+                if (ecc == Integer.MAX_VALUE) {
+                    disconnected.set(true);
+                    return;
+                }
+                radiusLB.accumulateAndGet(ecc >> 1, Math::max);
+                radiusUB.accumulateAndGet(ecc, Math::min);
+                diamLB.accumulateAndGet(ecc, Math::max);
+                diamUB.accumulateAndGet(ecc << 1, Math::min);
+                int[] dist = ws.dist;
+                for (int j = 0; j < numCandidates; j++) {
+                    int wi = candidates[j];
+                    eccLB.accumulateAndGet(wi, Math.max(dist[wi], ecc - dist[wi]), Math::max);
+                    eccUB.accumulateAndGet(wi, ecc + dist[wi], Math::min);
+                }
+            });
+            for (int vi : batch) {
+                selected[vi] = false;
+            }
+            if (disconnected.get()) {
+                connected = false;
+                diamLB.set(Integer.MAX_VALUE);
+                radiusUB.set(Integer.MAX_VALUE);
+                return;
+            }
+            int rLB = radiusLB.get(), rUB = radiusUB.get();
+            int dLB = diamLB.get(), dUB = diamUB.get();
+            if ((extremaType == Type.DIAMETER && (dLB == dUB || dLB == n - 1)
+                    || (extremaType == Type.RADIUS && (rLB == rUB || rUB <= 2)))) {
+                return;
+            }
+            //removing vertices
+            int k = 0;
+            for (int j = 0; j < numCandidates; j++) {
+                int wi = candidates[j];
+                int lb = eccLB.get(wi), ub = eccUB.get(wi);
+                if (lb == ub
+                        || (extremaType == Type.DIAMETER
+                        && (ub <= dLB && 2 * lb >= dUB))
+                        || (extremaType == Type.PERIPHERY
+                        && (ub < dLB && (dLB == dUB || lb > dUB)))
+                        || (extremaType == Type.RADIUS
+                        && (lb >= rUB && ub + 1 <= 2 * rLB))
+                        || (extremaType == Type.CENTER
+                        && (lb > rUB && (rLB == rUB || ub + 1 < 2 * rLB)))) {
+                    continue;
+                }
+                candidates[k++] = wi;
+            }
+            numCandidates = k;
+        }
+    }
+
+    //selects at most parallelism candidates, alternating min LB and max UB
+    private int[] selectBatch(boolean[] selected) {
+        int size = Math.min(parallelism, numCandidates);
+        int[] batch = new int[size];
+        for (int k = 0; k < size; k++) {
+            selector = !selector;
+            int best = -1;
+            for (int j = 0; j < numCandidates; j++) {
+                int vi = candidates[j];
+                if (selected[vi]) {
+                    continue;
+                }
+                if (best < 0 || isBetter(vi, best)) {
+                    best = vi;
+                }
+            }
+            batch[k] = best;
+            selected[best] = true;
+        }
+        return batch;
+    }
+
+    private boolean isBetter(int vi, int best) {
+        int x = selector ? eccLB.get(best) - eccLB.get(vi) : eccUB.get(vi) - eccUB.get(best);
+        if (x != 0) {
+            return x > 0;
+        }
+        return degree(vi) > degree(best);
+    }
+
+    private int degree(int vi) {
+        return adjStart[vi + 1] - adjStart[vi];
+    }
+
+    //iFUB, starting from a vertex selected by 4-Sweep
+    private int computeIFUB() {
+        connected = true;
+        eccLB = eccUB = new AtomicIntegerArray(n);
+        if (n == 0) {
+            return 0;
+        }
+        var ws = workspace.get();
+        //4-Sweep
+        int r1 = 0;
+        for (int i = 1; i < n; i++) {
+            if (degree(i) > degree(r1)) {
+                r1 = i;
+            }
+        }
+        int lb = ws.bfs(r1);
+        if (lb == Integer.MAX_VALUE) {
+            connected = false;
+            return lb;
+        }
+        int a1 = ws.queue[n - 1];
+        lb = Math.max(lb, ws.bfs(a1));
+        int r2 = ws.middle(ws.queue[n - 1]);
+        ws.bfs(r2);
+        int a2 = ws.queue[n - 1];
+        lb = Math.max(lb, ws.bfs(a2));
+        int u = ws.middle(ws.queue[n - 1]);
+
+        //the fringes of u, as contiguous ranges in the BFS queue
+        int eccU = ws.bfs(u);
+        lb = Math.max(lb, eccU);
+        int[] order = Arrays.copyOf(ws.queue, n);
+        int[] levelStart = new int[eccU + 2];
+        for (int j = 0; j < n; j++) {
+            levelStart[ws.dist[order[j]] + 1]++;
+        }
+        for (int i = 1; i <= eccU + 1; i++) {
+            levelStart[i] += levelStart[i - 1];
+        }
+
+        var lower = new AtomicInteger(lb);
+        int ub = 2 * eccU;
+        for (int i = eccU; ub > lower.get() && i > 0; i--) {
+            //the eccentricities of the vertices in the i-th fringe
+            final int upper = ub;
+            IntStream.range(levelStart[i], levelStart[i + 1]).parallel().forEach(j -> {
+                if (lower.get() >= upper) {
+                    return;
+                }
+                int ecc = workspace.get().bfs(order[j]);
+                lower.accumulateAndGet(ecc, Math::max);
+            });
+            if (lower.get() > 2 * (i - 1)) {
+                break;
+            }
+            ub = 2 * (i - 1);
+        }
+        return lower.get();
+    }
+
+    //for directed graphs, computes all the eccentricities
+    private int computeAll(Type type) {
+        eccLB = eccUB = new AtomicIntegerArray(n);
+        connected = true;
+        if (n == 0) {
+            return 0;
+        }
+        var disconnected = new AtomicBoolean(false);
+        IntStream.range(0, n).parallel().forEach(vi -> {
+            if (!disconnected.get()) {
+                int ecc = workspace.get().bfs(vi);
+                eccLB.set(vi, ecc);
+                if (ecc == Integer.MAX_VALUE) {
+                    disconnected.set(true);
+                }
+            }
+        });
+        connected = !disconnected.get();
+        if (!connected) {
+            return Integer.MAX_VALUE;
+        }
+        int min = Integer.MAX_VALUE, max = 0;
+        for (int i = 0; i < n; i++) {
+            min = Math.min(min, eccLB.get(i));
+            max = Math.max(max, eccLB.get(i));
+        }
+        return type == Type.RADIUS || type == Type.CENTER ? min : max;
+    }
+
+    //BFS data, reused by the tasks executed on the same thread
+    private class Workspace {
+
+        final int[] dist;
+        final int[] parent;
+        final int[] queue;
+
+        Workspace(int n) {
+            this.dist = new int[n];
+            this.parent = new int[n];
+            this.queue = new int[n];
+        }
+
+        //returns the eccentricity of si, or Integer.MAX_VALUE
+        //if not all the vertices are reachable from it
+        int bfs(int si) {
+            Arrays.fill(dist, -1);
+            dist[si] = 0;
+            parent[si] = -1;
+            queue[0] = si;
+            int head = 0, tail = 1;
+            while (head < tail) {
+                int vi = queue[head++];
+                int d = dist[vi] + 1;
+                for (int p = adjStart[vi], end = adjStart[vi + 1]; p < end; p++) {
+                    int ui = adj[p];
+                    if (dist[ui] < 0) {
+                        dist[ui] = d;
+                        parent[ui] = vi;
+                        queue[tail++] = ui;
+                    }
+                }
+            }
+            if (tail < n) {
+                return Integer.MAX_VALUE;
+            }
+            return dist[queue[n - 1]];
+        }
+
+        //the vertex in the middle of the path from the last source to vi
+        int middle(int vi) {
+            int steps = dist[vi] / 2;
+            for (int k = 0; k < steps; k++) {
+                vi = parent[vi];
+            }
+            return vi;
+        }
+    }
+}
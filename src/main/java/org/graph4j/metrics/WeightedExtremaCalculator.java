@@ -0,0 +1,318 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import org.graph4j.Graph;
+import org.graph4j.GraphAlgorithm;
+import org.graph4j.util.CsrSnapshot;
+import org.graph4j.util.VertexHeap;
+import org.graph4j.util.VertexSet;
+
+/**
+ * Calculator of the radius, diameter, center or periphery of an undirected
+ * graph with non-negative edge weights.
+ *
+ * <p>
+ * It uses the same bounding approach as {@link GraphExtremaCalculator}, the
+ * distances being computed with Dijkstra's algorithm instead of BFS. After the
+ * distances from a vertex v are computed, the eccentricity of any other vertex
+ * w is bounded by {@code max(d(v,w), ecc(v)-d(v,w))} and
+ * {@code ecc(v)+d(v,w)}, and the vertices whose bounds show that they are not
+ * relevant for the requested extremum are removed from the candidates. On
+ * large sparse graphs, such as road networks, only a small number of
+ * single-source computations are required.
+ *
+ * <p>
+ * If the calculator is parallel, at each step a batch of candidates is
+ * selected and the Dijkstra computations starting in them are executed on the
+ * common {@link ForkJoinPool}. The workspaces of the computations are
+ * allocated once and reused for all the batches.
+ *
+ * @see GraphExtremaCalculator
+ * @author Cristian Frăsinaru
+ */
+class WeightedExtremaCalculator extends GraphAlgorithm {
+
+    private static final double EPSILON = 1e-9;
+    private final int n;
+    private final int batchSize;
+    private int[] adjStart; //the neighbors of vi are adj[adjStart[vi]..adjStart[vi+1])
+    private int[] adj;
+    private double[] weight;
+    private Workspace[] workspaces;
+    //
+    private double[] eccLB, eccUB;
+    private double radiusUB, diamLB;
+    private int[] candidates;
+    private int numCandidates;
+    private boolean selector;
+    private boolean connected;
+    //
+    private Double radius, diameter;
+    private VertexSet center, periphery;
+    private Type extremaType;
+
+    private enum Type {
+        RADIUS, DIAMETER, CENTER, PERIPHERY
+    };
+
+    /**
+     *
+     * @param graph the input graph.
+     * @param parallel specifies if the computations should be performed in
+     * parallel.
+     */
+    public WeightedExtremaCalculator(Graph graph, boolean parallel) {
+        super(graph);
+        if (graph.isDirected()) {
+            throw new IllegalArgumentException("The graph must be undirected.");
+        }
+        this.n = graph.numVertices();
+        this.batchSize = parallel ? Math.max(1, ForkJoinPool.getCommonPoolParallelism()) : 1;
+    }
+
+    public double getDiameter() {
+        if (diameter == null) {
+            extremaType = Type.DIAMETER;
+            compute();
+            diameter = connected ? diamLB : Double.POSITIVE_INFINITY;
+        }
+        return diameter;
+    }
+
+    public double getRadius() {
+        if (radius == null) {
+            extremaType = Type.RADIUS;
+            compute();
+            radius = connected ? radiusUB : Double.POSITIVE_INFINITY;
+        }
+        return radius;
+    }
+
+    public VertexSet getCenter() {
+        if (center == null) {
+            extremaType = Type.CENTER;
+            compute();
+            center = collect(connected ? radiusUB : Double.POSITIVE_INFINITY);
+        }
+        return center;
+    }
+
+    public VertexSet getPeriphery() {
+        if (periphery == null) {
+            extremaType = Type.PERIPHERY;
+            compute();
+            periphery = collect(connected ? diamLB : Double.POSITIVE_INFINITY);
+        }
+        return periphery;
+    }
+
+    //the vertices having the eccentricity equal to the given value
+    //if the graph is disconnected, all eccentricities are infinite
+    private VertexSet collect(double value) {
+        var set = new VertexSet(graph);
+        for (int i = 0; i < n; i++) {
+            if (!connected || (equal(eccLB[i], value) && equal(eccUB[i], value))) {
+                set.add(graph.vertexAt(i));
+            }
+        }
+        return set;
+    }
+
+    //creates the compact representation of the graph
+    private void init() {
+        var csr = new CsrSnapshot(graph, true);
+        this.adjStart = csr.getStart();
+        this.adj = csr.getAdjacency();
+        this.weight = csr.getWeights();
+        for (double w : weight) {
+            if (w < 0) {
+                throw new IllegalArgumentException(
+                        "Negative weighted edges are not permited: " + w);
+            }
+        }
+        this.workspaces = new Workspace[batchSize];
+        for (int k = 0; k < batchSize; k++) {
+            workspaces[k] = new Workspace();
+        }
+    }
+
+    private void compute() {
+        if (adj == null) {
+            init();
+        }
+        candidates = new int[n];
+        for (int i = 0; i < n; i++) {
+            candidates[i] = i;
+        }
+        numCandidates = n;
+        radiusUB = Double.POSITIVE_INFINITY;
+        diamLB = 0;
+        eccLB = new double[n];
+        eccUB = new double[n];
+        Arrays.fill(eccUB, Double.POSITIVE_INFINITY);
+        connected = true;
+
+        double[] ecc = new double[batchSize];
+        boolean[] selected = new boolean[n];
+        while (numCandidates > 0) {
+            int[] batch = selectBatch(selected);
+            IntStream stream = IntStream.range(0, batch.length);
+            if (batch.length > 1) {
+                stream = stream.parallel();
+            }
+            stream.forEach(k -> ecc[k] = workspaces[k].dijkstra(batch[k]));
+            //the bounds are updated sequentially
+            for (int k = 0; k < batch.length; k++) {
+                selected[batch[k]] = false;
+                if (ecc[k] == Double.POSITIVE_INFINITY) {
+                    connected = false;
+                    return;
+                }
+                update(batch[k], ecc[k], workspaces[k].dist);
+            }
+            if (prune()) {
+                return;
+            }
+        }
+    }
+
+    private void update(int vi, double ecc, double[] dist) {
+        eccLB[vi] = eccUB[vi] = ecc;
+        for (int j = 0; j < numCandidates; j++) {
+            int wi = candidates[j];
+            if (wi == vi) {
+                continue;
+            }
+            double d = dist[wi];
+            eccLB[wi] = Math.max(eccLB[wi], Math.max(d, ecc - d));
+            eccUB[wi] = Math.min(eccUB[wi], ecc + d);
+            radiusUB = Math.min(radiusUB, eccUB[wi]);
+            diamLB = Math.max(diamLB, eccLB[wi]);
+        }
+        radiusUB = Math.min(radiusUB, ecc);
+        diamLB = Math.max(diamLB, ecc);
+    }
+
+    //removes the candidates that are no longer relevant;
+    //returns true if the computation can stop
+    private boolean prune() {
+        int k = 0;
+        for (int j = 0; j < numCandidates; j++) {
+            int wi = candidates[j];
+            double lb = eccLB[wi], ub = eccUB[wi];
+            boolean remove;
+            switch (extremaType) {
+                case DIAMETER:
+                    remove = ub <= diamLB || equal(ub, diamLB);
+                    break;
+                case RADIUS:
+                    remove = lb >= radiusUB || equal(lb, radiusUB);
+                    break;
+                case PERIPHERY:
+                    remove = equal(lb, ub) || (ub < diamLB && !equal(ub, diamLB));
+                    break;
+                default: //CENTER
+                    remove = equal(lb, ub) || (lb > radiusUB && !equal(lb, radiusUB));
+            }
+            if (!remove) {
+                candidates[k++] = wi;
+            }
+        }
+        numCandidates = k;
+        return k == 0;
+    }
+
+    //the bounds are sums of weights, compared with a relative tolerance
+    private static boolean equal(double a, double b) {
+        return a == b || Math.abs(a - b) <= EPSILON * Math.max(1, Math.abs(b));
+    }
+
+    //selects the candidates, alternating min LB and max UB
+    private int[] selectBatch(boolean[] selected) {
+        int size = Math.min(batchSize, numCandidates);
+        int[] batch = new int[size];
+        for (int k = 0; k < size; k++) {
+            selector = !selector;
+            int best = -1;
+            for (int j = 0; j < numCandidates; j++) {
+                int vi = candidates[j];
+                if (!selected[vi] && (best < 0 || isBetter(vi, best))) {
+                    best = vi;
+                }
+            }
+            batch[k] = best;
+            selected[best] = true;
+        }
+        return batch;
+    }
+
+    private boolean isBetter(int vi, int best) {
+        int x = selector
+                ? Double.compare(eccLB[best], eccLB[vi])
+                : Double.compare(eccUB[vi], eccUB[best]);
+        if (x != 0) {
+            return x > 0;
+        }
+        return adjStart[vi + 1] - adjStart[vi] > adjStart[best + 1] - adjStart[best];
+    }
+
+    //Dijkstra data, reused by the computations of the same batch position
+    private class Workspace {
+
+        final double[] dist;
+        final VertexHeap heap;
+
+        Workspace() {
+            this.dist = new double[n];
+            this.heap = new VertexHeap(graph, false,
+                    (i, j) -> (int) Math.signum(dist[i] - dist[j]));
+        }
+
+        //returns the eccentricity of si, or infinity
+        //if not all the vertices are reachable from it
+        double dijkstra(int si) {
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            dist[si] = 0;
+            heap.add(si);
+            double max = 0;
+            int count = 0;
+            while (!heap.isEmpty()) {
+                int vi = heap.poll();
+                max = dist[vi];
+                count++;
+                for (int p = adjStart[vi], end = adjStart[vi + 1]; p < end; p++) {
+                    int ui = adj[p];
+                    double d = dist[vi] + weight[p];
+                    if (d < dist[ui]) {
+                        boolean reached = dist[ui] != Double.POSITIVE_INFINITY;
+                        dist[ui] = d;
+                        if (reached) {
+                            heap.update(ui);
+                        } else {
+                            heap.add(ui);
+                        }
+                    }
+                }
+            }
+            return count < n ? Double.POSITIVE_INFINITY : max;
+        }
+    }
+}
@@ -60,7 +60,7 @@ public class SmallestDegreeLastOrdering extends GraphAlgorithm {
         VertexSet[] bucket = new VertexSet[maxDeg + 1];
         //HashSet<Integer>[] bucket = new HashSet[maxDeg + 1];
         for (int d = 0; d <= maxDeg; d++) {
-            bucket[d] = new VertexSet(graph, n);
+            bucket[d] = new VertexSet(graph);
             //bucket[d] = new HashSet();
         }
         //add vertices to the buckets        
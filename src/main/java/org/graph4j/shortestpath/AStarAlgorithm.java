@@ -16,6 +16,10 @@ import java.util.Arrays;
  * Dijkstra's algorithm can be viewd as a special case of A* where no heuristic
  * function is available: h(v)=0, for all v.
  *
+ * The heuristic is invoked with vertex indices, and its value is computed only
+ * once for each vertex. If no coordinates are available, the
+ * {@link AStarLandmarkEstimator} can be used.
+ *
  * @author Cristian Ivan
  * @author Cristian Frăsinaru
  */
@@ -91,9 +95,13 @@ public class AStarAlgorithm extends GraphAlgorithm implements SinglePairShortest
         Arrays.fill(cost, Double.POSITIVE_INFINITY);
         Arrays.fill(before, -1);
         cost[graph.indexOf(source)] = 0;
+        //the estimates are computed only once for each vertex
+        int ti = graph.indexOf(target);
+        double[] h = new double[n];
+        Arrays.fill(h, Double.NaN);
         this.heap = new VertexHeap(graph,
-                (i, j) -> (int) Math.signum(cost[i] + heuristic.estimate(i, target)
-                        - cost[j] - heuristic.estimate(j, target)));
+                (i, j) -> (int) Math.signum(cost[i] + estimate(h, i, ti)
+                        - cost[j] - estimate(h, j, ti)));
 
         while (true) {
             int vi = heap.poll();
@@ -124,6 +132,13 @@ public class AStarAlgorithm extends GraphAlgorithm implements SinglePairShortest
         }
     }
 
+    private double estimate(double[] h, int vi, int ti) {
+        if (Double.isNaN(h[vi])) {
+            h[vi] = heuristic.estimate(vi, ti);
+        }
+        return h[vi];
+    }
+
     protected Path createPathEndingIn(int vi) {
         Path path = new Path(graph, size[vi] + 1);
         while (vi >= 0) {
@@ -0,0 +1,466 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import org.graph4j.Graph;
+import org.graph4j.util.CsrSnapshot;
+import org.graph4j.util.VertexHeap;
+
+/**
+ * ALT (A*, Landmarks, Triangle inequality) estimator. A small set of vertices,
+ * called <em>landmarks</em>, is selected and the distances from and to each
+ * landmark are precomputed. For a landmark L, the triangle inequality gives
+ * the lower bounds {@code d(v,t) >= d(L,t) - d(L,v)} and
+ * {@code d(v,t) >= d(v,L) - d(t,L)}; the estimate is the maximum of these
+ * bounds over all landmarks.
+ *
+ * <p>
+ * The estimates are feasible (consistent), so the estimator can be used both
+ * by {@link AStarAlgorithm} and by {@link BidirectionalDijkstra}. It does not
+ * require any vertex coordinates, only non-negative edge weights.
+ *
+ * <p>
+ * The distances are stored in flat arrays, vertex-major: the distances of a
+ * vertex to all landmarks are contiguous in memory. For undirected graphs, the
+ * distances from and to a landmark coincide and they are stored only once.
+ *
+ * <p>
+ * The landmarks are selected sequentially, since each choice depends on the
+ * distances from the landmarks already selected. These distances are
+ * computed by Dijkstra's algorithm, or by breadth-first searches if the graph
+ * has no edge weights, and they are kept as the final distances from the
+ * landmarks. For directed graphs, the distances to each landmark, computed on
+ * the transposed graph, are not needed by the selection; they are computed
+ * by tasks executed in parallel on the common fork-join pool, while the next
+ * landmarks are being selected. For undirected graphs, the searches are
+ * sequential. All searches use a compact snapshot of the graph.
+ *
+ * <p>
+ * The {@code vertex} and {@code target} arguments of
+ * {@link #estimate(int, int)} are vertex indices.
+ *
+ * @see AStarAlgorithm
+ * @see BidirectionalDijkstra
+ * @author Cristian Frăsinaru
+ */
+public class AStarLandmarkEstimator implements AStarEstimator {
+
+    /**
+     * The strategy used for selecting the landmarks.
+     */
+    public enum Selection {
+        /**
+         * Each new landmark is the vertex farthest away from the landmarks
+         * already selected.
+         */
+        FARTHEST,
+        /**
+         * Each new landmark is chosen in a region of the graph that is badly
+         * covered by the landmarks already selected (Goldberg and Werneck).
+         */
+        AVOID
+    }
+
+    private final Graph graph;
+    private final boolean directed;
+    private final int numLandmarks;
+    private final Selection selection;
+    private final int n;
+    private int[] landmarks; //indices
+    private int count; //the number of landmarks selected so far
+    private double[] from; //from[vi * k + l] = d(L_l, v)
+    private double[] to; //to[vi * k + l] = d(v, L_l)
+    private boolean weighted;
+    private int[] outStart, outAdj; //the graph, as vertex indices (CSR)
+    private double[] outWeight;
+    private int[] inStart, inAdj; //the transpose, for directed graphs
+    private double[] inWeight;
+
+    /**
+     * Creates an estimator with the given number of landmarks, using the
+     * {@link Selection#AVOID} strategy.
+     *
+     * @param graph the input graph.
+     * @param numLandmarks the number of landmarks.
+     */
+    public AStarLandmarkEstimator(Graph graph, int numLandmarks) {
+        this(graph, numLandmarks, Selection.AVOID);
+    }
+
+    /**
+     * Creates an estimator with the given number of landmarks, using the
+     * specified selection strategy.
+     *
+     * @param graph the input graph.
+     * @param numLandmarks the number of landmarks.
+     * @param selection the landmark selection strategy.
+     */
+    public AStarLandmarkEstimator(Graph graph, int numLandmarks, Selection selection) {
+        if (numLandmarks <= 0) {
+            throw new IllegalArgumentException("The number of landmarks must be positive.");
+        }
+        this.graph = graph;
+        this.directed = graph.isDirected();
+        this.n = graph.numVertices();
+        this.numLandmarks = Math.min(numLandmarks, Math.max(1, n));
+        this.selection = selection;
+        if (n > 0) {
+            compute();
+        }
+    }
+
+    /**
+     * Returns the landmarks used by this estimator.
+     *
+     * @return the vertex numbers of the landmarks.
+     */
+    public int[] getLandmarks() {
+        int[] result = new int[count];
+        for (int l = 0; l < count; l++) {
+            result[l] = graph.vertexAt(landmarks[l]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of landmarks used by this estimator.
+     *
+     * @return the number of landmarks.
+     */
+    public int numLandmarks() {
+        return count;
+    }
+
+    /**
+     *
+     * @return the landmark selection strategy.
+     */
+    public Selection getSelection() {
+        return selection;
+    }
+
+    /**
+     * Returns a lower bound of the distance between two vertices, given by
+     * their indices.
+     *
+     * @param vertex the index of a vertex.
+     * @param target the index of the target vertex.
+     * @return a lower bound of the distance from {@code vertex} to
+     * {@code target}.
+     */
+    @Override
+    public double estimate(int vertex, int target) {
+        if (vertex == target || n == 0) {
+            return 0;
+        }
+        int k = numLandmarks;
+        int vp = vertex * k;
+        int tp = target * k;
+        double max = 0;
+        for (int l = 0; l < count; l++) {
+            //d(v,t) >= d(L,t) - d(L,v)
+            double dlt = from[tp + l];
+            double dlv = from[vp + l];
+            if (dlt != Double.POSITIVE_INFINITY && dlv != Double.POSITIVE_INFINITY) {
+                double x = directed ? dlt - dlv : Math.abs(dlt - dlv);
+                if (x > max) {
+                    max = x;
+                }
+            }
+            if (directed) {
+                //d(v,t) >= d(v,L) - d(t,L)
+                double dvl = to[vp + l];
+                double dtl = to[tp + l];
+                if (dvl != Double.POSITIVE_INFINITY && dtl != Double.POSITIVE_INFINITY) {
+                    double x = dvl - dtl;
+                    if (x > max) {
+                        max = x;
+                    }
+                }
+            }
+        }
+        return max;
+    }
+
+    private void compute() {
+        int k = numLandmarks;
+        this.landmarks = new int[k];
+        this.from = new double[n * k];
+        this.to = directed ? new double[n * k] : from;
+        this.weighted = graph.hasEdgeWeights();
+        init();
+        List<ForkJoinTask<?>> backward = new ArrayList<>();
+        if (selection == Selection.FARTHEST) {
+            selectFarthest(backward);
+        } else {
+            selectAvoid(backward);
+        }
+        for (var task : backward) {
+            task.join();
+        }
+    }
+
+    //creates the compact representation of the graph and of its transpose
+    private void init() {
+        var out = new CsrSnapshot(graph, true);
+        outStart = out.getStart();
+        outAdj = out.getAdjacency();
+        outWeight = out.getWeights();
+        for (int i = 0; i < n; i++) {
+            for (int j = outStart[i]; j < outStart[i + 1]; j++) {
+                if (outWeight[j] < 0) {
+                    throw new IllegalArgumentException("Negative weighted edges are not permited: "
+                            + graph.edge(graph.vertexAt(i), graph.vertexAt(outAdj[j])));
+                }
+            }
+        }
+        if (!directed) {
+            inStart = outStart;
+            inAdj = outAdj;
+            inWeight = outWeight;
+            return;
+        }
+        var in = new CsrSnapshot(graph, true, true);
+        inStart = in.getStart();
+        inAdj = in.getAdjacency();
+        inWeight = in.getWeights();
+    }
+
+    //stores the distances from a new landmark and, for directed graphs,
+    //starts the computation of the distances to it
+    private void addLandmark(int li, double[] dist, List<ForkJoinTask<?>> backward) {
+        final int pos = count;
+        landmarks[pos] = li;
+        store(pos, dist, from);
+        if (directed) {
+            backward.add(ForkJoinTask.adapt(() -> {
+                double[] d = new double[n];
+                search(li, true, d, null, null);
+                store(pos, d, to);
+            }).fork());
+        }
+        count++;
+    }
+
+    //the first landmark is the vertex farthest away from the first vertex
+    private int firstLandmark() {
+        double[] dist = new double[n];
+        search(0, false, dist, null, null);
+        return farthest(dist);
+    }
+
+    //returns the index of the vertex having the maximum finite distance
+    private int farthest(double[] dist) {
+        int best = -1;
+        for (int i = 0; i < n; i++) {
+            if (dist[i] == Double.POSITIVE_INFINITY) {
+                continue;
+            }
+            if (best < 0 || dist[i] > dist[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private void selectFarthest(List<ForkJoinTask<?>> backward) {
+        int k = numLandmarks;
+        double[] minDist = new double[n];
+        Arrays.fill(minDist, Double.POSITIVE_INFINITY);
+        int li = firstLandmark();
+        boolean[] isLandmark = new boolean[n];
+        while (count < k) {
+            //each landmark has its own array, the backward task may still run
+            double[] dist = new double[n];
+            search(li, false, dist, null, null);
+            addLandmark(li, dist, backward);
+            isLandmark[li] = true;
+            //the next one maximizes the distance to the closest landmark
+            //unreachable vertices are preferred, as they are not covered at all
+            int next = -1;
+            for (int i = 0; i < n; i++) {
+                if (isLandmark[i]) {
+                    continue;
+                }
+                if (dist[i] < minDist[i]) {
+                    minDist[i] = dist[i];
+                }
+                if (next < 0 || minDist[i] > minDist[next]) {
+                    next = i;
+                }
+            }
+            if (next < 0) {
+                break;
+            }
+            li = next;
+        }
+    }
+
+    //Goldberg and Werneck, Computing point-to-point shortest paths from external memory
+    private void selectAvoid(List<ForkJoinTask<?>> backward) {
+        int k = numLandmarks;
+        boolean[] isLandmark = new boolean[n];
+        double[] dist = new double[n];
+        int[] parent = new int[n];
+        int[] order = new int[n];
+        double[] weight = new double[n];
+        int[] best = new int[n];
+        int li = firstLandmark();
+        while (count < k) {
+            search(li, false, dist, null, null);
+            addLandmark(li, dist, backward);
+            isLandmark[li] = true;
+            if (count == k) {
+                break;
+            }
+            //the root is a vertex far from the existing landmarks
+            int root = -1;
+            double rootDist = -1;
+            for (int i = 0; i < n; i++) {
+                if (isLandmark[i]) {
+                    continue;
+                }
+                double min = Double.POSITIVE_INFINITY;
+                for (int l = 0; l < count; l++) {
+                    min = Math.min(min, from[i * k + l]);
+                }
+                if (min > rootDist) {
+                    rootDist = min;
+                    root = i;
+                }
+            }
+            if (root < 0) {
+                break;
+            }
+            int numReached = search(root, false, dist, parent, order);
+            //weight(v) = d(r,v) - lb(r,v), the quality of the estimate
+            for (int j = 0; j < numReached; j++) {
+                int vi = order[j];
+                weight[vi] = dist[vi] - forwardEstimate(root, vi);
+            }
+            //size(v) = the sum of the weights in the subtree of v,
+            //or 0 if the subtree contains a landmark
+            for (int j = numReached - 1; j > 0; j--) {
+                int vi = order[j];
+                int pi = parent[vi];
+                if (isLandmark[vi] || weight[vi] == Double.NEGATIVE_INFINITY) {
+                    weight[pi] = Double.NEGATIVE_INFINITY;
+                    weight[vi] = Double.NEGATIVE_INFINITY;
+                } else if (weight[pi] != Double.NEGATIVE_INFINITY) {
+                    weight[pi] += weight[vi];
+                }
+            }
+            //descend from the root, following the child with maximum size
+            //best[v] = the child of v with maximum size
+            Arrays.fill(best, -1);
+            for (int j = 1; j < numReached; j++) {
+                int ui = order[j];
+                int pi = parent[ui];
+                if (weight[ui] > 0 && (best[pi] < 0 || weight[ui] > weight[best[pi]])) {
+                    best[pi] = ui;
+                }
+            }
+            int vi = root;
+            while (best[vi] >= 0) {
+                vi = best[vi];
+            }
+            li = vi;
+        }
+    }
+
+    //the lower bound given only by the distances from the landmarks,
+    //the distances to the landmarks may still be computed
+    private double forwardEstimate(int vi, int ti) {
+        int k = numLandmarks;
+        double max = 0;
+        for (int l = 0; l < count; l++) {
+            double dlv = from[vi * k + l];
+            double dlt = from[ti * k + l];
+            if (dlt != Double.POSITIVE_INFINITY && dlv != Double.POSITIVE_INFINITY) {
+                max = Math.max(max, directed ? dlt - dlv : Math.abs(dlt - dlv));
+            }
+        }
+        return max;
+    }
+
+    private void store(int l, double[] dist, double[] target) {
+        int k = numLandmarks;
+        for (int i = 0; i < n; i++) {
+            target[i * k + l] = dist[i];
+        }
+    }
+
+    //shortest paths from the vertex with the index si, on the graph or on its
+    //transpose, using BFS if the graph has no edge weights
+    //returns the number of reached vertices, in the order they were solved
+    private int search(int si, boolean reverse, double[] dist, int[] parent, int[] order) {
+        int[] start = reverse ? inStart : outStart;
+        int[] adj = reverse ? inAdj : outAdj;
+        double[] weights = reverse ? inWeight : outWeight;
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dist[si] = 0;
+        if (parent != null) {
+            parent[si] = -1;
+        }
+        if (!weighted) {
+            int[] queue = order != null ? order : new int[n];
+            queue[0] = si;
+            int head = 0, tail = 1;
+            while (head < tail) {
+                int vi = queue[head++];
+                for (int j = start[vi], end = start[vi + 1]; j < end; j++) {
+                    int ui = adj[j];
+                    if (dist[ui] == Double.POSITIVE_INFINITY) {
+                        dist[ui] = dist[vi] + 1;
+                        if (parent != null) {
+                            parent[ui] = vi;
+                        }
+                        queue[tail++] = ui;
+                    }
+                }
+            }
+            return tail;
+        }
+        boolean[] solved = new boolean[n];
+        var heap = new VertexHeap(graph, false, (i, j) -> (int) Math.signum(dist[i] - dist[j]));
+        heap.add(si);
+        int numReached = 0;
+        while (!heap.isEmpty()) {
+            int vi = heap.poll();
+            solved[vi] = true;
+            if (order != null) {
+                order[numReached] = vi;
+            }
+            numReached++;
+            for (int j = start[vi], end = start[vi + 1]; j < end; j++) {
+                int ui = adj[j];
+                if (!solved[ui] && dist[ui] > dist[vi] + weights[j]) {
+                    dist[ui] = dist[vi] + weights[j];
+                    if (parent != null) {
+                        parent[ui] = vi;
+                    }
+                    heap.addOrUpdate(ui);
+                }
+            }
+        }
+        return numReached;
+    }
+}
@@ -17,12 +17,8 @@
 package org.graph4j.shortestpath;
 
 import java.util.Arrays;
-import org.graph4j.util.Cycle;
 import org.graph4j.Graph;
-import org.graph4j.util.Path;
-import org.graph4j.GraphAlgorithm;
 import org.graph4j.util.VertexList;
-import org.graph4j.util.Validator;
 
 /**
  * Bellman-Ford-Moore's algorithm finds the shortest paths between a source
@@ -32,15 +28,11 @@ import org.graph4j.util.Validator;
  * The complexity of this implementation is O(nm), where m is the number of
  * edges and n the number of vertices.
  *
+ * @see BellmanFordShortestPathQueue
+ * @see BellmanFordShortestPathParallel
  * @author Cristian Frăsinaru
  */
-public class BellmanFordShortestPath extends GraphAlgorithm
-        implements SingleSourceShortestPath {
-
-    private final int source;
-    private double[] cost;
-    private int[] before;
-    private int[] size;
+public class BellmanFordShortestPath extends BellmanFordShortestPathBase {
 
     /**
      * Creates an algorithm to find all shortest paths starting in the source.
@@ -49,52 +41,15 @@ public class BellmanFordShortestPath extends GraphAlgorithm
      * @param source the source vertex number.
      */
     public BellmanFordShortestPath(Graph graph, int source) {
-        super(graph);
-        Validator.containsVertex(graph, source);
-        this.source = source;
-    }
-
-    @Override
-    public int getSource() {
-        return source;
-    }
-
-    @Override
-    public Path findPath(int target) {
-        Validator.containsVertex(graph, target);
-        if (before == null) {
-            compute();
-        }
-        int ti = graph.indexOf(target);
-        if (cost[ti] == Double.POSITIVE_INFINITY) {
-            return new Path(graph, new int[]{});
-        }
-        return createPathEndingIn(ti);
-    }
-
-    @Override
-    public double getPathWeight(int target) {
-        Validator.containsVertex(graph, target);
-        if (cost == null) {
-            compute();
-        }
-        return cost[graph.indexOf(target)];
-    }
-
-    @Override
-    public double[] getPathWeights() {
-        if (cost == null) {
-            compute();
-        }
-        return cost;
+        super(graph, source);
     }
 
     //computes the paths and stores them in the map
-    private void compute() {
+    @Override
+    protected void compute() {
         int n = graph.numVertices();
         this.cost = new double[n];
         this.before = new int[n];
-        this.size = new int[n];
         var changed = new VertexList(graph, n);
 
         Arrays.fill(before, -1);
@@ -120,7 +75,6 @@ public class BellmanFordShortestPath extends GraphAlgorithm
                     if (tempCost[ui] > cost[vi] + weight) {
                         tempCost[ui] = cost[vi] + weight;
                         before[ui] = vi;
-                        size[ui] = size[vi] + 1;
                         tempChanged.add(ui);
                     }
                 }
@@ -131,27 +85,8 @@ public class BellmanFordShortestPath extends GraphAlgorithm
         }
         if (!changed.isEmpty()) {
             int vi = changed.get(0);
-            throw new NegativeCycleException(createCycleEndingIn(vi));
-        }
-    }
-
-    private Path createPathEndingIn(int vi) {
-        var path = new Path(graph, size[vi] + 1);
-        while (vi >= 0) {
-            path.add(graph.vertexAt(vi));
-            vi = before[vi];
-        }
-        path.reverse();
-        return path;
-    }
-
-    private Cycle createCycleEndingIn(int vi) {
-        var cycle = new Cycle(graph);
-        while (!cycle.contains(graph.vertexAt(vi))) {
-            cycle.add(graph.vertexAt(vi));
-            vi = before[vi];
+            throw new NegativeCycleException(createCycleFrom(vi));
         }
-        return cycle;
     }
 
 }
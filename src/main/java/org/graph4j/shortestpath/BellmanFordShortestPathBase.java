@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import org.graph4j.Graph;
+import org.graph4j.GraphAlgorithm;
+import org.graph4j.util.Cycle;
+import org.graph4j.util.Path;
+import org.graph4j.util.Validator;
+
+/**
+ * Base class for the implementations of Bellman-Ford-Moore's algorithm. They
+ * find the shortest paths between a source vertex and all the other vertices
+ * in a graph, allowing some of the edge weights to be negative numbers. If a
+ * negative-weight cycle is reachable from the source, a
+ * {@link NegativeCycleException} is thrown.
+ *
+ * @see BellmanFordShortestPath
+ * @see BellmanFordShortestPathQueue
+ * @see BellmanFordShortestPathParallel
+ * @author Cristian Frăsinaru
+ */
+public abstract class BellmanFordShortestPathBase extends GraphAlgorithm
+        implements SingleSourceShortestPath {
+
+    protected final int source;
+    protected double[] cost;
+    protected int[] before;
+
+    /**
+     * Creates an algorithm to find all shortest paths starting in the source.
+     *
+     * @param graph the input graph.
+     * @param source the source vertex number.
+     */
+    public BellmanFordShortestPathBase(Graph graph, int source) {
+        super(graph);
+        Validator.containsVertex(graph, source);
+        this.source = source;
+    }
+
+    @Override
+    public int getSource() {
+        return source;
+    }
+
+    @Override
+    public Path findPath(int target) {
+        Validator.containsVertex(graph, target);
+        if (before == null) {
+            compute();
+        }
+        int ti = graph.indexOf(target);
+        if (cost[ti] == Double.POSITIVE_INFINITY) {
+            return new Path(graph, new int[]{});
+        }
+        return createPathEndingIn(ti);
+    }
+
+    @Override
+    public double getPathWeight(int target) {
+        Validator.containsVertex(graph, target);
+        if (cost == null) {
+            compute();
+        }
+        return cost[graph.indexOf(target)];
+    }
+
+    @Override
+    public double[] getPathWeights() {
+        if (cost == null) {
+            compute();
+        }
+        return cost;
+    }
+
+    /**
+     * Computes the arrays {@code cost} and {@code before}, indexed by the
+     * vertex indices. It throws a {@link NegativeCycleException} if a negative
+     * cycle is detected.
+     */
+    protected abstract void compute();
+
+    protected Path createPathEndingIn(int vi) {
+        var path = new Path(graph);
+        while (vi >= 0) {
+            path.add(graph.vertexAt(vi));
+            vi = before[vi];
+        }
+        path.reverse();
+        return path;
+    }
+
+    /**
+     * Creates the cycle of the predecessor graph reached by following the
+     * {@code before} links, starting from the vertex with the index vi.
+     *
+     * @param vi a vertex index.
+     * @return the cycle of the predecessor graph reachable from vi.
+     */
+    protected Cycle createCycleFrom(int vi) {
+        //after n steps we are surely on the cycle
+        int n = graph.numVertices();
+        for (int k = 0; k < n && before[vi] >= 0; k++) {
+            vi = before[vi];
+        }
+        var cycle = new Cycle(graph);
+        int ui = vi;
+        do {
+            cycle.add(graph.vertexAt(ui));
+            ui = before[ui];
+        } while (ui != vi && ui >= 0);
+        //the cycle was created backwards
+        cycle.reverse();
+        return cycle;
+    }
+
+}
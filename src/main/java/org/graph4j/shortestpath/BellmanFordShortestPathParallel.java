@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.graph4j.Graph;
+import static org.graph4j.util.ParallelFrontier.expand;
+
+/**
+ * Parallel, frontier-based implementation of Bellman-Ford-Moore's algorithm.
+ *
+ * <p>
+ * The algorithm works in rounds. In each round, only the vertices whose
+ * distances changed in the previous round (the <em>frontier</em>) are scanned.
+ * The frontier is split in chunks which are processed in parallel, on the
+ * common fork-join pool. The tentative distances of a round are written in a
+ * separate array, while the distances of the previous round are only read. A
+ * candidate distance is first compared with the tentative one without
+ * locking; only the improving edges take a lock, from a striped set, so that
+ * the distance and the predecessor of a vertex are updated together.
+ *
+ * <p>
+ * After each round, the predecessor graph is inspected, starting from the
+ * vertices of the new frontier: if it contains a cycle, that cycle is negative
+ * and a {@link NegativeCycleException} is thrown, without waiting for n rounds.
+ *
+ * @see BellmanFordShortestPath
+ * @see BellmanFordShortestPathQueue
+ * @author Cristian Frăsinaru
+ */
+public class BellmanFordShortestPathParallel extends BellmanFordShortestPathBase {
+
+    private static final int NUM_LOCKS = 1024;
+    private final Object[] locks;
+    //
+    private AtomicLongArray tempCost; //the bits of the tentative distances
+    private boolean[] inFrontier;
+    private int[] visited; //the last round in which a vertex was visited
+    private int[] walk; //the walk which visited the vertex
+
+    /**
+     * Creates an algorithm to find all shortest paths starting in the source.
+     *
+     * @param graph the input graph.
+     * @param source the source vertex number.
+     */
+    public BellmanFordShortestPathParallel(Graph graph, int source) {
+        super(graph, source);
+        this.locks = new Object[NUM_LOCKS];
+        for (int i = 0; i < NUM_LOCKS; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    protected void compute() {
+        int n = graph.numVertices();
+        this.cost = new double[n];
+        this.before = new int[n];
+        this.tempCost = new AtomicLongArray(n);
+        this.inFrontier = new boolean[n];
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+        Arrays.fill(before, -1);
+        int si = graph.indexOf(source);
+        cost[si] = 0;
+        for (int i = 0; i < n; i++) {
+            tempCost.set(i, Double.doubleToRawLongBits(cost[i]));
+        }
+
+        int[] frontier = new int[]{si};
+        this.visited = new int[n];
+        this.walk = new int[n];
+        for (int round = 1; frontier.length > 0; round++) {
+            frontier = relax(frontier);
+            for (int ui : frontier) {
+                cost[ui] = tempCost(ui);
+                inFrontier[ui] = false;
+            }
+            int ci = findCycle(frontier, round);
+            if (ci >= 0) {
+                throw new NegativeCycleException(createCycleFrom(ci));
+            }
+        }
+    }
+
+    //scans the frontier in parallel and returns the new frontier
+    private int[] relax(int[] frontier) {
+        return expand(frontier, (vi, next) -> {
+            double vcost = cost[vi];
+            for (var it = graph.neighborIterator(graph.vertexAt(vi)); it.hasNext();) {
+                int ui = graph.indexOf(it.next());
+                double newCost = vcost + it.getEdgeWeight();
+                if (newCost >= tempCost(ui)) {
+                    //the distances only decrease, a stale value is larger
+                    continue;
+                }
+                synchronized (locks[ui % NUM_LOCKS]) {
+                    if (newCost >= tempCost(ui)) {
+                        continue;
+                    }
+                    tempCost.set(ui, Double.doubleToRawLongBits(newCost));
+                    before[ui] = vi;
+                    if (inFrontier[ui]) {
+                        continue;
+                    }
+                    inFrontier[ui] = true;
+                }
+                next.add(ui);
+            }
+        });
+    }
+
+    private double tempCost(int ui) {
+        return Double.longBitsToDouble(tempCost.get(ui));
+    }
+
+    //walks the predecessor graph starting from the frontier vertices;
+    //each vertex is visited at most once in a round
+    //returns a vertex on a cycle, or -1 if there is no cycle
+    private int findCycle(int[] frontier, int round) {
+        for (int j = 0; j < frontier.length; j++) {
+            int ui = frontier[j];
+            while (ui >= 0 && visited[ui] != round) {
+                visited[ui] = round;
+                walk[ui] = j;
+                ui = before[ui];
+            }
+            if (ui >= 0 && walk[ui] == j) {
+                //the walk returned to one of its own vertices
+                return ui;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import java.util.Arrays;
+import org.graph4j.Graph;
+import org.graph4j.util.Cycle;
+
+/**
+ * Queue-based implementation of Bellman-Ford-Moore's algorithm (also known as
+ * SPFA), using Tarjan's subtree disassembly for detecting negative cycles.
+ *
+ * <p>
+ * Only the vertices whose distances have changed are kept in a FIFO queue and
+ * scanned. The shortest path tree is maintained as a doubly linked list, in
+ * preorder, together with the depth of each vertex. When the distance of a
+ * vertex u decreases, the subtree rooted in u is removed from the tree: its
+ * vertices will certainly improve later, so they are not scanned until then.
+ * If the vertex that improved u belongs to that subtree, a negative cycle has
+ * been found and a {@link NegativeCycleException} is thrown immediately,
+ * without waiting for n passes (Goldberg and Radzik).
+ *
+ * <p>
+ * The worst case complexity is O(nm), but in practice the algorithm is much
+ * faster than the classical implementation.
+ *
+ * @see BellmanFordShortestPath
+ * @author Cristian Frăsinaru
+ */
+public class BellmanFordShortestPathQueue extends BellmanFordShortestPathBase {
+
+    /**
+     * Creates an algorithm to find all shortest paths starting in the source.
+     *
+     * @param graph the input graph.
+     * @param source the source vertex number.
+     */
+    public BellmanFordShortestPathQueue(Graph graph, int source) {
+        super(graph, source);
+    }
+
+    @Override
+    protected void compute() {
+        int n = graph.numVertices();
+        this.cost = new double[n];
+        this.before = new int[n];
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+        Arrays.fill(before, -1);
+        //the shortest path tree, as a circular list in preorder
+        int[] next = new int[n];
+        int[] prev = new int[n];
+        int[] depth = new int[n];
+        boolean[] inTree = new boolean[n];
+        //the queue of the vertices that must be scanned
+        int[] queue = new int[n];
+        boolean[] inQueue = new boolean[n];
+        int head = 0, size = 0;
+
+        int si = graph.indexOf(source);
+        cost[si] = 0;
+        next[si] = prev[si] = si;
+        inTree[si] = true;
+        queue[0] = si;
+        inQueue[si] = true;
+        size++;
+
+        while (size > 0) {
+            int vi = queue[head];
+            head = (head + 1) % n;
+            size--;
+            inQueue[vi] = false;
+            if (!inTree[vi]) {
+                //it was disassembled, its cost will improve
+                continue;
+            }
+            int v = graph.vertexAt(vi);
+            for (var it = graph.neighborIterator(v); it.hasNext();) {
+                int ui = graph.indexOf(it.next());
+                double newCost = cost[vi] + it.getEdgeWeight();
+                if (newCost >= cost[ui]) {
+                    continue;
+                }
+                if (ui == vi) {
+                    throw new NegativeCycleException(new Cycle(graph, new int[]{v}));
+                }
+                if (inTree[ui]) {
+                    //disassemble the subtree of ui
+                    int d = depth[ui];
+                    int xi = next[ui];
+                    while (depth[xi] > d && inTree[xi] && xi != ui) {
+                        if (xi == vi) {
+                            throw new NegativeCycleException(createCycle(ui, vi));
+                        }
+                        inTree[xi] = false;
+                        xi = next[xi];
+                    }
+                    //remove ui and its subtree from the list
+                    next[prev[ui]] = xi;
+                    prev[xi] = prev[ui];
+                }
+                cost[ui] = newCost;
+                before[ui] = vi;
+                depth[ui] = depth[vi] + 1;
+                inTree[ui] = true;
+                //insert ui after vi
+                next[ui] = next[vi];
+                prev[next[vi]] = ui;
+                next[vi] = ui;
+                prev[ui] = vi;
+                if (!inQueue[ui]) {
+                    queue[(head + size) % n] = ui;
+                    inQueue[ui] = true;
+                    size++;
+                }
+            }
+        }
+    }
+
+    //the cycle is formed by the tree path from ui to vi and the edge vi-ui
+    private Cycle createCycle(int ui, int vi) {
+        var cycle = new Cycle(graph);
+        for (int xi = vi; xi != ui; xi = before[xi]) {
+            cycle.add(graph.vertexAt(xi));
+        }
+        cycle.add(graph.vertexAt(ui));
+        cycle.reverse();
+        return cycle;
+    }
+}
@@ -29,6 +29,14 @@ import org.graph4j.util.VertexHeap;
  * starting from a source vertex and a reverse (backward) search on the
  * transpose graph starting from the target vertex.
  *
+ * <p>
+ * Optionally, the searches can be guided by an {@link AStarEstimator}, such as
+ * {@link AStarLandmarkEstimator}. In this case, the algorithm uses the average
+ * potential function {@code p(v) = (h(v,t) - h(s,v)) / 2}: the forward search
+ * uses {@code p} and the backward search uses {@code -p}, which keeps both
+ * searches on the same reduced edge weights.
+ *
+ * @see AStarLandmarkEstimator
  * @author Cristian Frăsinaru
  */
 public class BidirectionalDijkstra extends GraphAlgorithm implements SinglePairShortestPath {
@@ -36,6 +44,8 @@ public class BidirectionalDijkstra extends GraphAlgorithm implements SinglePairS
     private final int source;
     private final int target;
     private final int[] vertices;
+    private final AStarEstimator heuristic;
+    private double[] potential; //cached values of the potential function
     //
     private Path bestPath;
     private double bestWeight;
@@ -48,12 +58,27 @@ public class BidirectionalDijkstra extends GraphAlgorithm implements SinglePairS
      * @param target the target vertex number.
      */
     public BidirectionalDijkstra(Graph graph, int source, int target) {
+        this(graph, source, target, null);
+    }
+
+    /**
+     * Creates an algorithm to find the shortest path between source and
+     * target, guided by a heuristic function. The estimator must return lower
+     * bounds of the distances between any two vertices.
+     *
+     * @param graph the input graph.
+     * @param source the source vertex number.
+     * @param target the target vertex number.
+     * @param heuristic the estimated distance between two vertices.
+     */
+    public BidirectionalDijkstra(Graph graph, int source, int target, AStarEstimator heuristic) {
         super(graph);
         Validator.containsVertex(graph, source);
         Validator.containsVertex(graph, target);
         this.vertices = graph.vertices();
         this.source = source;
         this.target = target;
+        this.heuristic = heuristic;
     }
 
     @Override
@@ -108,8 +133,19 @@ public class BidirectionalDijkstra extends GraphAlgorithm implements SinglePairS
         costB[ti] = 0;
         beforeF[si] = -1;
         beforeB[ti] = -1;
-        VertexHeap heapF = new VertexHeap(graph, false, (i, j) -> (int) Math.signum(costF[i] - costF[j]));
-        VertexHeap heapB = new VertexHeap(graph, false, (i, j) -> (int) Math.signum(costB[i] - costB[j]));
+        VertexHeap heapF;
+        VertexHeap heapB;
+        if (heuristic == null) {
+            heapF = new VertexHeap(graph, false, (i, j) -> (int) Math.signum(costF[i] - costF[j]));
+            heapB = new VertexHeap(graph, false, (i, j) -> (int) Math.signum(costB[i] - costB[j]));
+        } else {
+            this.potential = new double[n];
+            Arrays.fill(potential, Double.NaN);
+            heapF = new VertexHeap(graph, false,
+                    (i, j) -> (int) Math.signum(costF[i] + potential(i) - costF[j] - potential(j)));
+            heapB = new VertexHeap(graph, false,
+                    (i, j) -> (int) Math.signum(costB[i] - potential(i) - costB[j] + potential(j)));
+        }
         heapF.add(si);
         heapB.add(ti);
 
@@ -174,7 +210,7 @@ public class BidirectionalDijkstra extends GraphAlgorithm implements SinglePairS
             }
 
             //check termination condition
-            if (costF[vi] + costB[wi] >= bestWeight) {
+            if (costF[vi] + costB[wi] + potential(vi) - potential(wi) >= bestWeight) {
                 break;
             }
         }
@@ -199,4 +235,19 @@ public class BidirectionalDijkstra extends GraphAlgorithm implements SinglePairS
             wi = beforeB[wi];
         }
     }
+
+    //the forward potential of the vertex with the index vi
+    private double potential(int vi) {
+        if (heuristic == null) {
+            return 0;
+        }
+        double p = potential[vi];
+        if (Double.isNaN(p)) {
+            int si = graph.indexOf(source);
+            int ti = graph.indexOf(target);
+            p = (heuristic.estimate(vi, ti) - heuristic.estimate(si, vi)) / 2;
+            potential[vi] = p;
+        }
+        return p;
+    }
 }
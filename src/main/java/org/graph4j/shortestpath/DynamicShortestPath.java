@@ -0,0 +1,341 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import java.util.Arrays;
+import org.graph4j.Digraph;
+import org.graph4j.Graph;
+import org.graph4j.GraphAlgorithm;
+import org.graph4j.NeighborIterator;
+import org.graph4j.util.IntArrays;
+import org.graph4j.util.Path;
+import org.graph4j.util.Validator;
+import org.graph4j.util.VertexHeap;
+
+/**
+ * Maintains the shortest paths from a source vertex while the edges of the
+ * graph are inserted, removed or have their weights modified. The edge weights
+ * must be non-negative.
+ *
+ * <p>
+ * The implementation follows the approach of Ramalingam and Reps: after an
+ * update, only the vertices whose distances actually change are processed.
+ * When the weight of an edge decreases (or an edge is inserted) a Dijkstra
+ * search is started from the endpoint whose distance improved, and it visits
+ * only vertices whose distances improve. When the weight of a tree edge
+ * increases (or a tree edge is removed), the vertices in the subtree below that
+ * edge that have no alternative shortest path are detached, they receive
+ * tentative distances from their unaffected predecessors and a Dijkstra search
+ * restricted to them repairs the tree. Therefore, the cost of an update is
+ * proportional to the size of the affected region, not to the size of the
+ * graph.
+ *
+ * <p>
+ * The modifications must be performed using the methods of this class, which
+ * also update the graph. The set of vertices of the graph must not change.
+ *
+ * @author Cristian Frăsinaru
+ */
+public class DynamicShortestPath extends GraphAlgorithm
+        implements SingleSourceShortestPath {
+
+    private final int source;
+    private final int n;
+    private final double[] cost;
+    private final int[] before;
+    private final boolean[] affected;
+    private final VertexHeap heap;
+    private final int[] detached;
+    private int numDetached;
+
+    /**
+     * Creates an algorithm that maintains all shortest paths starting in the
+     * source. The initial paths are computed using Dijkstra's algorithm.
+     *
+     * @param graph the input graph.
+     * @param source the source vertex number.
+     */
+    public DynamicShortestPath(Graph graph, int source) {
+        this(new DijkstraShortestPathHeap(graph, source));
+    }
+
+    /**
+     * Creates an algorithm that maintains the shortest paths computed by
+     * another single source shortest path algorithm. If the algorithm is an
+     * implementation of Dijkstra's algorithm, its shortest path tree is reused,
+     * otherwise it is reconstructed from the path weights.
+     *
+     * @param alg a single source shortest path algorithm.
+     */
+    public DynamicShortestPath(SingleSourceShortestPath alg) {
+        super(alg.getGraph());
+        this.source = alg.getSource();
+        this.n = graph.numVertices();
+        this.cost = Arrays.copyOf(alg.getPathWeights(), n);
+        if (alg instanceof DijkstraShortestPathBase) {
+            var dijkstra = (DijkstraShortestPathBase) alg;
+            this.before = Arrays.copyOf(dijkstra.before, n);
+            for (int i = 0; i < n; i++) {
+                if (cost[i] == Double.POSITIVE_INFINITY) {
+                    before[i] = -1;
+                }
+            }
+        } else {
+            this.before = new int[n];
+            createTree();
+        }
+        this.affected = new boolean[n];
+        this.detached = new int[n];
+        this.heap = new VertexHeap(graph, false, (i, j) -> (int) Math.signum(cost[i] - cost[j]));
+    }
+
+    //creates the shortest path tree, using only the path weights
+    //the vertices are processed in increasing order of their costs,
+    //so the parent of a vertex is always processed before it
+    private void createTree() {
+        Arrays.fill(before, -1);
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (i, j) -> Double.compare(cost[i], cost[j]));
+        boolean[] processed = new boolean[n];
+        int si = graph.indexOf(source);
+        for (int ui : order) {
+            processed[ui] = true;
+            if (ui == si || cost[ui] == Double.POSITIVE_INFINITY) {
+                continue;
+            }
+            double min = Double.POSITIVE_INFINITY;
+            for (var it = predecessorIterator(graph.vertexAt(ui)); it.hasNext();) {
+                int vi = graph.indexOf(it.next());
+                double x = cost[vi] + it.getEdgeWeight();
+                if (processed[vi] && vi != ui && x < min) {
+                    min = x;
+                    before[ui] = vi;
+                }
+            }
+        }
+    }
+
+    @Override
+    public int getSource() {
+        return source;
+    }
+
+    @Override
+    public Path findPath(int target) {
+        Validator.containsVertex(graph, target);
+        int ti = graph.indexOf(target);
+        if (cost[ti] == Double.POSITIVE_INFINITY) {
+            return null;
+        }
+        var path = new Path(graph);
+        for (int vi = ti; vi >= 0; vi = before[vi]) {
+            path.add(graph.vertexAt(vi));
+        }
+        path.reverse();
+        return path;
+    }
+
+    @Override
+    public double getPathWeight(int target) {
+        Validator.containsVertex(graph, target);
+        return cost[graph.indexOf(target)];
+    }
+
+    /**
+     * Returns the weights of the shortest paths from the source to all
+     * vertices. The array is updated after each modification of the graph, so
+     * <b>do not modify it</b>.
+     *
+     * @return the weights of the shortest paths from the source to all
+     * vertices.
+     */
+    @Override
+    public double[] getPathWeights() {
+        return cost;
+    }
+
+    /**
+     * Returns the shortest path tree, as an array of vertex indices. The
+     * element at position {@code i} is the index of the vertex before the
+     * vertex with the index {@code i} on its shortest path, or {@code -1} for
+     * the source and the unreachable vertices.
+     *
+     * @return the shortest path tree.
+     */
+    public int[] getPathTree() {
+        return IntArrays.copyOf(before);
+    }
+
+    /**
+     * Adds a new edge to the graph and updates the shortest paths.
+     *
+     * @param v a vertex number.
+     * @param u a vertex number.
+     * @param weight the weight of the edge.
+     */
+    public void addEdge(int v, int u, double weight) {
+        checkWeight(v, u, weight);
+        graph.addEdge(v, u, weight);
+        decreased(v, u, weight);
+    }
+
+    /**
+     * Removes an edge from the graph and updates the shortest paths.
+     *
+     * @param v a vertex number.
+     * @param u a vertex number.
+     */
+    public void removeEdge(int v, int u) {
+        graph.removeEdge(v, u);
+        increased(v, u);
+    }
+
+    /**
+     * Modifies the weight of an edge and updates the shortest paths.
+     *
+     * @param v a vertex number.
+     * @param u a vertex number.
+     * @param weight the new weight of the edge.
+     */
+    public void setEdgeWeight(int v, int u, double weight) {
+        checkWeight(v, u, weight);
+        double oldWeight = graph.getEdgeWeight(v, u);
+        graph.setEdgeWeight(v, u, weight);
+        if (weight < oldWeight) {
+            decreased(v, u, weight);
+        } else if (weight > oldWeight) {
+            increased(v, u);
+        }
+    }
+
+    private void checkWeight(int v, int u, double weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException(
+                    "Negative weighted edges are not permited: " + v + "-" + u + "=" + weight);
+        }
+    }
+
+    //the weight of vu has decreased
+    private void decreased(int v, int u, double weight) {
+        int vi = graph.indexOf(v);
+        int ui = graph.indexOf(u);
+        relax(vi, ui, weight);
+        if (!directed) {
+            relax(ui, vi, weight);
+        }
+        propagate();
+    }
+
+    //the weight of vu has increased or vu was removed
+    private void increased(int v, int u) {
+        int vi = graph.indexOf(v);
+        int ui = graph.indexOf(u);
+        if (before[ui] == vi) {
+            detach(ui);
+        }
+        if (!directed && before[vi] == ui) {
+            detach(vi);
+        }
+        if (numDetached == 0) {
+            return;
+        }
+        //tentative distances, using only the unaffected predecessors
+        for (int j = 0; j < numDetached; j++) {
+            int xi = detached[j];
+            for (var it = predecessorIterator(graph.vertexAt(xi)); it.hasNext();) {
+                int pi = graph.indexOf(it.next());
+                if (!affected[pi]) {
+                    relax(pi, xi, it.getEdgeWeight());
+                }
+            }
+        }
+        for (int j = 0; j < numDetached; j++) {
+            affected[detached[j]] = false;
+        }
+        numDetached = 0;
+        propagate();
+    }
+
+    //detaches the subtree rooted in ui, except for the vertices
+    //that have an alternative shortest path, outside the detached region;
+    //the vertices are examined in increasing order of their old costs
+    private void detach(int ui) {
+        heap.add(ui);
+        while (!heap.isEmpty()) {
+            int xi = heap.poll();
+            if (hasAlternative(xi)) {
+                continue;
+            }
+            affected[xi] = true;
+            detached[numDetached++] = xi;
+            //the children of xi are among its neighbors
+            for (var it = graph.neighborIterator(graph.vertexAt(xi)); it.hasNext();) {
+                int yi = graph.indexOf(it.next());
+                if (before[yi] == xi && !affected[yi]) {
+                    heap.add(yi);
+                }
+            }
+        }
+        for (int j = 0; j < numDetached; j++) {
+            int xi = detached[j];
+            cost[xi] = Double.POSITIVE_INFINITY;
+            before[xi] = -1;
+        }
+    }
+
+    //checks if there is another shortest path reaching xi, through a vertex
+    //that is not affected; with positive weights, such a vertex has a smaller
+    //cost, so it has already been examined
+    private boolean hasAlternative(int xi) {
+        for (var it = predecessorIterator(graph.vertexAt(xi)); it.hasNext();) {
+            int pi = graph.indexOf(it.next());
+            double weight = it.getEdgeWeight();
+            if (weight > 0 && !affected[pi] && pi != before[xi]
+                    && cost[pi] + weight == cost[xi]) {
+                before[xi] = pi;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void relax(int vi, int ui, double weight) {
+        if (cost[vi] + weight < cost[ui]) {
+            cost[ui] = cost[vi] + weight;
+            before[ui] = vi;
+            heap.addOrUpdate(ui);
+        }
+    }
+
+    //Dijkstra's algorithm, starting with the vertices in the heap
+    private void propagate() {
+        while (!heap.isEmpty()) {
+            int vi = heap.poll();
+            for (var it = graph.neighborIterator(graph.vertexAt(vi)); it.hasNext();) {
+                int ui = graph.indexOf(it.next());
+                relax(vi, ui, it.getEdgeWeight());
+            }
+        }
+    }
+
+    private NeighborIterator predecessorIterator(int v) {
+        return directed ? ((Digraph) graph).predecessorIterator(v) : graph.neighborIterator(v);
+    }
+}
@@ -73,11 +73,11 @@ public class JohnsonShortestPath extends GraphAlgorithm
         for (int v : graph.vertices()) {
             auxGraph.addEdge(newNode, v, 0.0);            
         }
-        //Use Bellman–Ford algorithm O(nm) from the auxiliary node
+        //Use the queue based Bellman–Ford algorithm O(nm) from the auxiliary node
         //to find for each vertex the shortest path to it h(v)
         //if there are no negative edges, h(v)=0 for all v
         //h(v) cannot be Infinity
-        var bellmanFord = new BellmanFordShortestPath(auxGraph, newNode);
+        var bellmanFord = new BellmanFordShortestPathQueue(auxGraph, newNode);
         int n = graph.numVertices();
         this.h = new double[n];
         for (int i = 0; i < n; i++) {
@@ -126,7 +126,7 @@ public interface SingleSourceShortestPath {
             }
         }
         if (negativeCostEdge) {
-            return new BellmanFordShortestPath(graph, source);
+            return new BellmanFordShortestPathQueue(graph, source);
         }
         //otherwise Dijkstra
         return new DijkstraShortestPathHeap(graph, source);
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.util;
+
+import org.graph4j.Digraph;
+import org.graph4j.Graph;
+
+/**
+ * A compact, read-only copy of the adjacency lists of a graph, in the
+ * <em>compressed sparse row</em> (CSR) format. The vertices are represented by
+ * their indices: the neighbors of the vertex with the index {@code vi} are
+ * {@code adj[start[vi]], ..., adj[start[vi + 1] - 1]}, and
+ * {@code weights[j]} is the weight of the edge corresponding to
+ * {@code adj[j]}.
+ *
+ * <p>
+ * Creating the snapshot reads the graph sequentially; after that, the arrays
+ * can be shared by any number of threads, unlike the graph itself, whose
+ * adjacency lists may be trimmed by the methods returning them. The snapshot
+ * does not reflect the later modifications of the graph. The arrays are not
+ * copied by the getters, so an algorithm may modify its own snapshot in
+ * place.
+ *
+ * <p>
+ * For directed graphs, the adjacency lists contain either the successors or,
+ * for the transposed graph, the predecessors of the vertices.
+ *
+ * @author Cristian Frăsinaru
+ */
+public class CsrSnapshot {
+
+    private final int[] start;
+    private final int[] adj;
+    private final double[] weights;
+
+    /**
+     * Creates a snapshot of the adjacency lists, without the edge weights.
+     *
+     * @param graph the input graph.
+     */
+    public CsrSnapshot(Graph graph) {
+        this(graph, false, false);
+    }
+
+    /**
+     * Creates a snapshot of the adjacency lists, with or without the edge
+     * weights.
+     *
+     * @param graph the input graph.
+     * @param weighted {@code true} if the edge weights are copied.
+     */
+    public CsrSnapshot(Graph graph, boolean weighted) {
+        this(graph, weighted, false);
+    }
+
+    /**
+     * Creates a snapshot of the adjacency lists of a graph or, for directed
+     * graphs, of its transpose.
+     *
+     * @param graph the input graph.
+     * @param weighted {@code true} if the edge weights are copied.
+     * @param transpose {@code true} if the predecessors of the vertices should
+     * be stored, instead of their successors; ignored for undirected graphs.
+     */
+    public CsrSnapshot(Graph graph, boolean weighted, boolean transpose) {
+        Digraph digraph = transpose && graph.isDirected() ? (Digraph) graph : null;
+        int n = graph.numVertices();
+        start = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            int v = graph.vertexAt(i);
+            start[i + 1] = start[i] + (digraph != null ? digraph.indegree(v) : graph.degree(v));
+        }
+        adj = new int[start[n]];
+        weights = weighted ? new double[start[n]] : null;
+        for (int i = 0, pos = 0; i < n; i++) {
+            int v = graph.vertexAt(i);
+            var it = digraph != null ? digraph.predecessorIterator(v) : graph.neighborIterator(v);
+            while (it.hasNext()) {
+                adj[pos] = graph.indexOf(it.next());
+                if (weighted) {
+                    weights[pos] = it.getEdgeWeight();
+                }
+                pos++;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of vertices of the graph.
+     *
+     * @return the number of vertices.
+     */
+    public int numVertices() {
+        return start.length - 1;
+    }
+
+    /**
+     * Returns the number of entries in the adjacency lists. For undirected
+     * graphs, each edge is stored twice, once for each endpoint.
+     *
+     * @return the size of the adjacency array.
+     */
+    public int size() {
+        return adj.length;
+    }
+
+    /**
+     * Returns the number of neighbors of a vertex.
+     *
+     * @param vi the index of a vertex.
+     * @return the length of the adjacency list of the vertex.
+     */
+    public int degree(int vi) {
+        return start[vi + 1] - start[vi];
+    }
+
+    /**
+     * Returns the offsets of the adjacency lists, an array of size
+     * {@code n + 1}.
+     *
+     * @return the array of offsets.
+     */
+    public int[] getStart() {
+        return start;
+    }
+
+    /**
+     * Returns the concatenated adjacency lists, as vertex indices.
+     *
+     * @return the adjacency array.
+     */
+    public int[] getAdjacency() {
+        return adj;
+    }
+
+    /**
+     * Returns the weights of the edges, in the same order as the adjacency
+     * array.
+     *
+     * @return the weights of the edges, or {@code null} if they were not
+     * requested.
+     */
+    public double[] getWeights() {
+        return weights;
+    }
+}
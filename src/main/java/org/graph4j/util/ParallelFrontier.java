@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.util;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Support for level-synchronous parallel traversals. A frontier, given as an
+ * array of vertex indices, is split in chunks of {@link #CHUNK_SIZE} vertices,
+ * which are scanned in parallel on the common fork-join pool. Each chunk
+ * collects the vertices it discovers in its own list, and the lists are
+ * concatenated, in the order of the chunks, into the next frontier.
+ *
+ * <p>
+ * The scanners are invoked concurrently, so they must only perform thread-safe
+ * operations on the shared state; in particular, they should not call methods
+ * of the graph that may modify its internal representation, such as
+ * {@code neighbors}. A vertex may be added by several chunks, unless the
+ * scanner claims it atomically.
+ *
+ * @author Cristian Frăsinaru
+ */
+public class ParallelFrontier {
+
+    /**
+     * The number of frontier vertices scanned by a single task.
+     */
+    public static final int CHUNK_SIZE = 256;
+
+    private ParallelFrontier() {
+    }
+
+    /**
+     * Scans a frontier in parallel, if it has more than one chunk, and returns
+     * the vertices added by the scanner.
+     *
+     * @param frontier an array of vertex indices.
+     * @param scanner the scanner invoked for each vertex of the frontier.
+     * @return the next frontier.
+     */
+    public static int[] expand(int[] frontier, Scanner scanner) {
+        return expand(frontier, true, scanner);
+    }
+
+    /**
+     * Scans a frontier, in parallel if the {@code parallel} flag is set and
+     * the frontier has more than one chunk, and returns the vertices added by
+     * the scanner.
+     *
+     * @param frontier an array of vertex indices.
+     * @param parallel {@code true} if the chunks may be scanned in parallel.
+     * @param scanner the scanner invoked for each vertex of the frontier.
+     * @return the next frontier.
+     */
+    public static int[] expand(int[] frontier, boolean parallel, Scanner scanner) {
+        Chunk[] chunks = new Chunk[numChunks(frontier.length)];
+        var stream = IntStream.range(0, chunks.length);
+        if (parallel && chunks.length > 1) {
+            stream = stream.parallel();
+        }
+        stream.forEach(c -> {
+            var next = new Chunk();
+            for (int j = c * CHUNK_SIZE, to = Math.min(frontier.length, j + CHUNK_SIZE); j < to; j++) {
+                scanner.scan(frontier[j], next);
+            }
+            chunks[c] = next;
+        });
+        if (chunks.length == 1) {
+            return Arrays.copyOf(chunks[0].list, chunks[0].size);
+        }
+        int total = 0;
+        for (var chunk : chunks) {
+            total += chunk.size;
+        }
+        int[] result = new int[total];
+        for (int c = 0, k = 0; c < chunks.length; c++) {
+            System.arraycopy(chunks[c].list, 0, result, k, chunks[c].size);
+            k += chunks[c].size;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of chunks of a frontier.
+     *
+     * @param size the size of the frontier.
+     * @return the number of chunks.
+     */
+    public static int numChunks(int size) {
+        return (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
+    /**
+     * Scans a vertex of the frontier, adding the vertices of the next frontier
+     * to the chunk.
+     */
+    @FunctionalInterface
+    public interface Scanner {
+
+        /**
+         *
+         * @param vi the index of a frontier vertex.
+         * @param next the vertices found by the current chunk.
+         */
+        void scan(int vi, Chunk next);
+    }
+
+    /**
+     * The vertices found while scanning a chunk of the frontier. A chunk is
+     * used by a single thread.
+     */
+    public static class Chunk {
+
+        private int[] list = new int[CHUNK_SIZE];
+        private int size;
+
+        private Chunk() {
+        }
+
+        /**
+         * Adds a vertex to the next frontier.
+         *
+         * @param vi the index of a vertex.
+         */
+        public void add(int vi) {
+            if (size == list.length) {
+                list = Arrays.copyOf(list, 2 * size);
+            }
+            list[size++] = vi;
+        }
+    }
+}
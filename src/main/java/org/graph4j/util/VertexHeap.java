@@ -244,9 +244,6 @@ public class VertexHeap implements Iterable<Integer> {
         }
         int leftChildPos = pos << 1;
         int rightChildPos = (pos << 1) + 1;
-        if (compareTo(pos, leftChildPos) <= 0 && compareTo(pos, rightChildPos) <= 0) {
-            return;
-        }
         int swapPos;
         if (rightChildPos <= size) {
             //we have both child nodes
@@ -255,6 +252,9 @@ public class VertexHeap implements Iterable<Integer> {
             //only left node
             swapPos = leftChildPos;
         }
+        if (compareTo(pos, swapPos) <= 0) {
+            return;
+        }
         swap(pos, swapPos);
         siftDown(swapPos);
     }
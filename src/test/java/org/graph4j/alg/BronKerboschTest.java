@@ -16,11 +16,19 @@
  */
 package org.graph4j.alg;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 import org.graph4j.GraphBuilder;
 import org.graph4j.clique.BronKerboschCliqueIterator;
+import org.graph4j.clique.DegeneracyCliqueFinder;
 import org.graph4j.generators.GraphGenerator;
+import org.graph4j.generators.RandomGnpGraphGenerator;
+import org.graph4j.util.Clique;
 
 /**
  *
@@ -68,4 +76,39 @@ public class BronKerboschTest {
         }
         assertEquals(5, count);
     }
+
+    @Test
+    public void degeneracy() {
+        for (int k = 0; k < 10; k++) {
+            var g = new RandomGnpGraphGenerator(50, 0.1 * (k + 1) - 0.05).createGraph();
+            Set<String> expected = new HashSet<>();
+            var alg = new BronKerboschCliqueIterator(g);
+            while (alg.hasNext()) {
+                expected.add(toString(alg.next()));
+            }
+            Set<String> cliques = new HashSet<>();
+            for (var q : new DegeneracyCliqueFinder(g).getCliques()) {
+                assertTrue(q.isMaximal());
+                cliques.add(toString(q));
+            }
+            assertEquals(expected, cliques);
+            var parallel = new DegeneracyCliqueFinder(g, true);
+            Set<String> parallelCliques = ConcurrentHashMap.newKeySet();
+            parallel.forEachClique(q -> parallelCliques.add(toString(q)));
+            assertEquals(expected, parallelCliques);
+            assertEquals(expected.size(), parallel.countCliques());
+        }
+    }
+
+    private String toString(Clique q) {
+        int[] vertices = q.vertices();
+        Arrays.sort(vertices);
+        return Arrays.toString(vertices);
+    }
+
+    @Test
+    public void degeneracyIsolated() {
+        var g = GraphBuilder.numVertices(5).addEdges("0-1,1-2").buildGraph();
+        assertEquals(4, new DegeneracyCliqueFinder(g).countCliques());
+    }
 }
@@ -22,7 +22,14 @@ import org.graph4j.coloring.BacktrackColoring;
 import org.graph4j.coloring.Coloring;
 import org.graph4j.coloring.DSaturGreedyColoring;
 import org.graph4j.coloring.GreedyColoring;
+import org.graph4j.coloring.ParallelGreedyColoring;
+import org.graph4j.coloring.PivotRule;
+import org.graph4j.coloring.PortfolioColoring;
+import org.graph4j.GraphBuilder;
 import org.graph4j.generators.GraphGenerator;
+import org.graph4j.generators.RandomGnpGraphGenerator;
+import org.graph4j.measures.GraphMeasures;
+import org.graph4j.ordering.VertexOrderings;
 
 /**
  *
@@ -89,6 +96,71 @@ public class ColoringTest {
         assertTrue(col.isProper());
     }
 
+    @Test
+    public void dsaturRandom() {
+        for (int k = 0; k < 10; k++) {
+            var g = new RandomGnpGraphGenerator(100, 0.1 * (k + 1) - 0.05).createGraph();
+            var col = new DSaturGreedyColoring(g).findColoring();
+            assertTrue(col.isProper());
+            assertTrue(col.numUsedColors() <= GraphMeasures.maxDegree(g) + 1);
+        }
+    }
+
+    @Test
+    public void dsaturOptimal() {
+        //DSatur colors optimally bipartite graphs, cycles and wheels
+        for (int k = 0; k < 10; k++) {
+            var g = GraphGenerator.randomGnpBipartite(50, 60, 0.1 * (k + 1) - 0.05);
+            int expected = g.isEdgeless() ? 1 : 2;
+            assertEquals(expected, new DSaturGreedyColoring(g).findColoring().numUsedColors());
+        }
+        //the crown graph: K(n,n) minus a perfect matching, the parts being
+        //interleaved, so that the greedy coloring in this order uses n colors
+        int n = 20;
+        var crown = GraphBuilder.numVertices(2 * n).buildGraph();
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (i != j) {
+                    crown.addEdge(2 * i, 2 * j + 1);
+                }
+            }
+        }
+        assertEquals(n, new GreedyColoring(crown).findColoring().numUsedColors());
+        assertEquals(2, new DSaturGreedyColoring(crown).findColoring().numUsedColors());
+        for (int size = 4; size <= 11; size++) {
+            assertEquals(size % 2 == 0 ? 2 : 3,
+                    new DSaturGreedyColoring(GraphGenerator.cycle(size)).findColoring().numUsedColors());
+            assertEquals(size % 2 == 0 ? 4 : 3,
+                    new DSaturGreedyColoring(GraphGenerator.wheel(size)).findColoring().numUsedColors());
+        }
+    }
+
+    @Test
+    public void parallelGreedy() {
+        for (int k = 0; k < 10; k++) {
+            var g = new RandomGnpGraphGenerator(200, 0.1 * (k + 1) - 0.05).createGraph();
+            var col = new ParallelGreedyColoring(g).findColoring();
+            assertTrue(col.isProper());
+            assertTrue(col.isComplete());
+            int[] ordering = VertexOrderings.smallestDegreeLast(g);
+            assertEquals(new GreedyColoring(g, ordering).findColoring().numUsedColors(),
+                    new ParallelGreedyColoring(g, ordering).findColoring().numUsedColors());
+        }
+    }
+
+    @Test
+    public void parallelGreedyLarge() {
+        //large enough for the tasks to be split
+        var g = GraphGenerator.randomGnm(20_000, 60_000);
+        var col = new ParallelGreedyColoring(g).findColoring();
+        assertTrue(col.isProper());
+        assertTrue(col.isComplete());
+        assertTrue(col.numUsedColors() <= GraphMeasures.maxDegree(g) + 1);
+        int[] ordering = VertexOrderings.largestDegreeFirst(g);
+        assertEquals(new GreedyColoring(g, ordering).findColoring().numUsedColors(),
+                new ParallelGreedyColoring(g, ordering).findColoring().numUsedColors());
+    }
+
     @Test
     public void mycielski5() {
         var g = GraphGenerator.mycielski(5);
@@ -97,4 +169,39 @@ public class ColoringTest {
         assertTrue(col.isProper());
     }
 
+    @Test
+    public void pivotRules() {
+        for (int k = 0; k < 5; k++) {
+            var g = new RandomGnpGraphGenerator(30, 0.5).createGraph();
+            int expected = new BacktrackColoring(g).findColoring().numUsedColors();
+            for (var rule : PivotRule.values()) {
+                var alg = new BacktrackColoring(g);
+                alg.setPivotRule(rule);
+                var col = alg.findColoring();
+                assertTrue(col.isProper());
+                assertEquals(expected, col.numUsedColors());
+            }
+        }
+    }
+
+    @Test
+    public void portfolio() {
+        var g = GraphGenerator.mycielski(5);
+        var alg = new PortfolioColoring(g);
+        var col = alg.findColoring();
+        assertEquals(5, col.numUsedColors());
+        assertTrue(col.isProper());
+        assertFalse(alg.isTimeExpired());
+        assertNull(alg.findColoring(4));
+        assertNotNull(alg.findColoring(5));
+
+        for (int k = 0; k < 5; k++) {
+            var g2 = new RandomGnpGraphGenerator(30, 0.5).createGraph();
+            int expected = new BacktrackColoring(g2).findColoring().numUsedColors();
+            var col2 = new PortfolioColoring(g2).findColoring();
+            assertTrue(col2.isProper());
+            assertEquals(expected, col2.numUsedColors());
+        }
+    }
+
 }
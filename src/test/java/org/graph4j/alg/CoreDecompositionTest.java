@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.alg;
+
+import org.graph4j.Graph;
+import org.graph4j.generators.GraphGenerator;
+import org.graph4j.measures.CoreDecomposition;
+import org.graph4j.measures.GraphMeasures;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Cristian Frăsinaru
+ */
+public class CoreDecompositionTest {
+
+    @Test
+    public void knownGraphs() {
+        assertEquals(9, GraphMeasures.degeneracy(GraphGenerator.complete(10)));
+        assertEquals(1, GraphMeasures.degeneracy(GraphGenerator.randomTree(50)));
+        assertEquals(2, GraphMeasures.degeneracy(GraphGenerator.cycle(20)));
+        assertEquals(2, GraphMeasures.degeneracy(GraphGenerator.grid(5, 6)));
+        assertEquals(4, GraphMeasures.degeneracy(GraphGenerator.completeBipartite(4, 7)));
+        assertEquals(0, GraphMeasures.degeneracy(GraphGenerator.empty(5)));
+        assertEquals(0, GraphMeasures.degeneracy(GraphGenerator.empty(0)));
+    }
+
+    @Test
+    public void cliqueWithTail() {
+        var g = GraphGenerator.complete(5);
+        g.addVertices(5, 6);
+        g.addEdge(4, 5);
+        g.addEdge(5, 6);
+        var alg = new CoreDecomposition(g);
+        assertArrayEquals(new int[]{4, 4, 4, 4, 4, 1, 1}, alg.getCoreNumbers());
+        assertEquals(4, alg.getDegeneracy());
+        assertEquals(5, alg.getCore(4).size());
+        assertEquals(7, alg.getCore(1).size());
+        assertTrue(alg.getCore(5).isEmpty());
+        assertEquals(1, new CoreDecomposition(g, true).getCoreNumber(6));
+    }
+
+    @Test
+    public void randomGraphs() {
+        for (int i = 0; i < 20; i++) {
+            var g = GraphGenerator.randomGnp(60, 0.05 + 0.02 * i);
+            int[] expected = naiveCoreNumbers(g);
+            assertArrayEquals(expected, new CoreDecomposition(g).getCoreNumbers());
+            assertArrayEquals(expected, new CoreDecomposition(g, true).getCoreNumbers());
+        }
+    }
+
+    @Test
+    public void parallelLarge() {
+        var g = GraphGenerator.randomGnm(100_000, 500_000);
+        var seq = new CoreDecomposition(g);
+        var par = new CoreDecomposition(g, true);
+        assertArrayEquals(seq.getCoreNumbers(), par.getCoreNumbers());
+        assertEquals(seq.getDegeneracy(), par.getDegeneracy());
+    }
+
+    //removes repeatedly the vertices of degree less than k
+    private int[] naiveCoreNumbers(Graph graph) {
+        int n = graph.numVertices();
+        int[] core = new int[n];
+        var g = graph.copy();
+        for (int k = 1; g.numVertices() > 0; k++) {
+            boolean removed = true;
+            while (removed) {
+                removed = false;
+                for (int v : g.vertices()) {
+                    if (g.degree(v) < k) {
+                        g.removeVertex(v);
+                        removed = true;
+                    }
+                }
+            }
+            for (int v : g.vertices()) {
+                core[graph.indexOf(v)] = k;
+            }
+        }
+        return core;
+    }
+}
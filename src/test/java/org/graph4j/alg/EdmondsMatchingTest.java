@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.alg;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.graph4j.Graph;
+import org.graph4j.GraphBuilder;
+import org.graph4j.generators.GraphGenerator;
+import org.graph4j.matching.EdmondsMaximumMatching;
+import org.graph4j.matching.HopcroftKarpMaximumMatching;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Cristian Frăsinaru
+ */
+public class EdmondsMatchingTest {
+
+    @Test
+    public void simple() {
+        assertEquals(0, new EdmondsMaximumMatching(GraphGenerator.empty(5)).getMatching().size());
+        assertEquals(3, new EdmondsMaximumMatching(GraphGenerator.cycle(7)).getMatching().size());
+        assertEquals(5, new EdmondsMaximumMatching(GraphGenerator.complete(11)).getMatching().size());
+        assertTrue(new EdmondsMaximumMatching(GraphGenerator.complete(10)).getMatching().isPerfect());
+    }
+
+    @Test
+    public void petersen() {
+        var g = GraphBuilder.numVertices(10)
+                .addEdges("0-1,1-2,2-3,3-4,4-0,0-5,1-6,2-7,3-8,4-9,5-7,7-9,9-6,6-8,8-5")
+                .buildGraph();
+        var matching = new EdmondsMaximumMatching(g).getMatching();
+        assertTrue(matching.isValid());
+        assertTrue(matching.isPerfect());
+    }
+
+    @Test
+    public void blossom() {
+        //a greedy matching must be augmented through the triangle 1-2-3
+        var g = GraphBuilder.numVertices(6)
+                .addEdges("0-1,1-2,2-3,3-1,3-4,4-5").buildGraph();
+        var matching = new EdmondsMaximumMatching(g).getMatching();
+        assertTrue(matching.isValid());
+        assertEquals(3, matching.size());
+    }
+
+    @Test
+    public void bipartite() {
+        for (int i = 0; i < 10; i++) {
+            var g = GraphGenerator.randomGnpBipartite(30, 40, 0.05);
+            var matching = new EdmondsMaximumMatching(g).getMatching();
+            assertTrue(matching.isValid());
+            assertEquals(new HopcroftKarpMaximumMatching(g).getMatching().size(), matching.size());
+        }
+    }
+
+    @Test
+    public void random() {
+        for (int i = 0; i < 50; i++) {
+            var g = GraphGenerator.randomGnp(14, 0.15);
+            var matching = new EdmondsMaximumMatching(g).getMatching();
+            assertTrue(matching.isValid());
+            assertEquals(maximumMatchingSize(g), matching.size());
+        }
+    }
+
+    //brute force
+    private int maximumMatchingSize(Graph g) {
+        int n = g.numVertices();
+        int[] best = new int[1 << n];
+        for (int mask = 1; mask < (1 << n); mask++) {
+            int vi = Integer.numberOfTrailingZeros(mask);
+            int rest = mask & ~(1 << vi);
+            best[mask] = best[rest];
+            for (int u : g.neighbors(g.vertexAt(vi))) {
+                int ui = g.indexOf(u);
+                if ((rest & (1 << ui)) != 0) {
+                    best[mask] = Math.max(best[mask], 1 + best[rest & ~(1 << ui)]);
+                }
+            }
+        }
+        return best[(1 << n) - 1];
+    }
+}
@@ -19,6 +19,7 @@ package org.graph4j.alg;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 import org.graph4j.clique.MaximalCliqueFinder;
+import org.graph4j.clique.MaximumCliqueFinder;
 import org.graph4j.generators.GraphGenerator;
 import org.graph4j.generators.RandomGnpGraphGenerator;
 
@@ -53,5 +54,27 @@ public class MaximalCliqueTest {
         var opt = alg.findMaximumClique(0);
         assertEquals(n, opt.size());
     }
-    
+
+    @Test
+    public void maximum() {
+        for (int k = 0; k < 10; k++) {
+            var g = new RandomGnpGraphGenerator(40, 0.1 * (k + 1) - 0.05).createGraph();
+            int expected = new MaximalCliqueFinder(g).findMaximumClique(0).size();
+            var q1 = new MaximumCliqueFinder(g).findMaximumClique();
+            var q2 = new MaximumCliqueFinder(g, true).findMaximumClique();
+            assertTrue(q1.isValid() && q2.isValid());
+            assertEquals(expected, q1.size());
+            assertEquals(expected, q2.size());
+        }
+    }
+
+    @Test
+    public void maximumLarge() {
+        var g = new RandomGnpGraphGenerator(200, 0.7).createGraph();
+        var q1 = new MaximumCliqueFinder(g).findMaximumClique();
+        var q2 = new MaximumCliqueFinder(g, true).findMaximumClique();
+        assertTrue(q1.isValid() && q2.isValid());
+        assertEquals(q1.size(), q2.size());
+    }
+
 }
@@ -57,5 +57,27 @@ public class BridgeDetectionTest {
         var alg = new BridgeDetectionAlgorithm(g);
         assertEquals(1, alg.getBridges().size()); //1-3
     }
-    
+
+    @Test
+    public void longPath() {
+        //deep search, no recursion
+        int n = 200_000;
+        var g = GraphGenerator.path(n);
+        assertEquals(n - 1, new BridgeDetectionAlgorithm(g).getBridges().size());
+        g.addEdge(0, n - 1);
+        assertTrue(new BridgeDetectionAlgorithm(g).isBridgeless());
+        assertTrue(new TarjanBiconnectivity(g).isBiconnected());
+        g.removeEdge(0, 1);
+        assertEquals(n - 1, new TarjanBiconnectivity(g).getBlocks().size());
+        assertEquals(n - 2, new TarjanBiconnectivity(g).getCutVertices().size());
+    }
+
+    @Test
+    public void disconnected() {
+        var g = GraphBuilder.numVertices(6).addEdges("0-1,1-2,2-0,3-4,4-5,5-3").buildGraph();
+        assertTrue(new BridgeDetectionAlgorithm(g).isBridgeless());
+        var alg = new TarjanBiconnectivity(g);
+        assertFalse(alg.isBiconnected());
+        assertEquals(2, new TarjanBiconnectivity(g).getBlocks().size());
+    }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.connectivity;
+
+import org.graph4j.Graph;
+import org.graph4j.GraphBuilder;
+import org.graph4j.GraphUtils;
+import org.graph4j.flow.DinicMaximumFlow;
+import org.graph4j.generators.EdgeWeightsGenerator;
+import org.graph4j.generators.GraphGenerator;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Cristian Frăsinaru
+ */
+public class GomoryHuTreeTest {
+
+    @Test
+    public void simple() {
+        var g = GraphBuilder.numVertices(6).buildGraph();
+        g.addEdge(0, 1, 3);
+        g.addEdge(1, 2, 2);
+        g.addEdge(2, 3, 1);
+        g.addEdge(3, 4, 2);
+        g.addEdge(4, 5, 3);
+        g.addEdge(0, 2, 1);
+        var alg = new GomoryHuTree(g);
+        var tree = alg.getTree();
+        assertEquals(6, tree.numVertices());
+        assertEquals(5, tree.numEdges());
+        assertEquals(1, alg.getMinimumCutValue(0, 5));
+        assertEquals(3, alg.getMinimumCutValue(0, 2));
+        assertEquals(4, alg.getMinimumCutValue(0, 1));
+        assertEquals(3, alg.getMinimumCutValue(4, 5));
+        var cut = alg.getMinimumCut(1, 4);
+        assertEquals(1, cut.weight());
+        assertEquals(6, cut.leftSide().length + cut.rightSide().length);
+        assertEquals(1, alg.getMinimumCut().weight());
+    }
+
+    @Test
+    public void paper() {
+        //the example in Gusfield's paper
+        var g = GraphBuilder.numVertices(6).buildGraph();
+        g.addEdge(0, 1, 1);
+        g.addEdge(0, 2, 7);
+        g.addEdge(1, 2, 1);
+        g.addEdge(1, 3, 3);
+        g.addEdge(1, 4, 2);
+        g.addEdge(2, 4, 4);
+        g.addEdge(3, 4, 1);
+        g.addEdge(3, 5, 6);
+        g.addEdge(4, 5, 2);
+        checkAllPairs(g, new GomoryHuTree(g));
+    }
+
+    @Test
+    public void disconnected() {
+        var g = GraphGenerator.complete(4);
+        g.addVertex(4);
+        g.addVertex(5);
+        g.addEdge(4, 5);
+        var alg = new GomoryHuTree(g);
+        assertEquals(0, alg.getMinimumCutValue(0, 5));
+        assertEquals(3, alg.getMinimumCutValue(0, 3));
+        assertEquals(1, alg.getMinimumCutValue(4, 5));
+        assertEquals(0, alg.getMinimumCut().weight());
+    }
+
+    @Test
+    public void random() {
+        for (int i = 0; i < 10; i++) {
+            var g = GraphGenerator.randomGnp(12, 0.2 + 0.05 * i);
+            EdgeWeightsGenerator.randomIntegers(g, 1, 10);
+            checkAllPairs(g, new GomoryHuTree(g));
+            checkAllPairs(g, new GomoryHuTree(g, false, true));
+        }
+    }
+
+    @Test
+    public void parallel() {
+        var g = GraphGenerator.randomGnp(60, 0.2);
+        EdgeWeightsGenerator.randomIntegers(g, 1, 5);
+        var alg1 = new GomoryHuTree(g, false, false);
+        var alg2 = new GomoryHuTree(g, false, true);
+        for (int v = 0; v < g.numVertices(); v++) {
+            for (int u = v + 1; u < g.numVertices(); u++) {
+                assertEquals(alg1.getMinimumCutValue(v, u), alg2.getMinimumCutValue(v, u));
+            }
+        }
+        assertEquals(new StoerWagnerMinimumCut(g).getMinimumCutWeight(),
+                alg2.getMinimumCut().weight());
+    }
+
+    private void checkAllPairs(Graph g, GomoryHuTree alg) {
+        int n = g.numVertices();
+        for (int v = 0; v < n; v++) {
+            for (int u = v + 1; u < n; u++) {
+                var network = GraphUtils.toNetwork(g, v, u);
+                double expected = new DinicMaximumFlow(network).getMaximumFlowValue();
+                assertEquals(expected, alg.getMinimumCutValue(v, u), 1e-9);
+                var cut = alg.getMinimumCut(v, u);
+                assertEquals(expected, cut.weight(), 1e-9);
+                assertEquals(expected, cut.edges().weight(), 1e-9);
+            }
+        }
+    }
+}
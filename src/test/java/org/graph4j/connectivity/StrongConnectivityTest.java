@@ -18,7 +18,10 @@ package org.graph4j.connectivity;
 
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
+import java.util.Random;
+import org.graph4j.Digraph;
 import org.graph4j.GraphBuilder;
+import org.graph4j.generators.RandomGnpGraphGenerator;
 
 /**
  *
@@ -51,6 +54,122 @@ public class StrongConnectivityTest {
         assertEquals(3, alg.getStronglyConnectedSets().size());
     }
 
+    @Test
+    public void randomDigraphs() {
+        for (int it = 0; it < 100; it++) {
+            int n = 5 + it % 20;
+            var g = new RandomGnpGraphGenerator(n, 0.02 * (it % 15)).createDigraph();
+            //the transitive closure
+            boolean[][] reach = new boolean[n][n];
+            for (int i = 0; i < n; i++) {
+                reach[i][i] = true;
+                for (int j : g.successors(i)) {
+                    reach[i][j] = true;
+                }
+            }
+            for (int k = 0; k < n; k++) {
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < n; j++) {
+                        reach[i][j] |= reach[i][k] && reach[k][j];
+                    }
+                }
+            }
+            var sets = new TarjanStrongConnectivity(g).getStronglyConnectedSets();
+            int count = 0;
+            for (var set : sets) {
+                int[] vertices = set.vertices();
+                count += vertices.length;
+                for (int v : vertices) {
+                    for (int u = 0; u < n; u++) {
+                        assertEquals(reach[v][u] && reach[u][v], set.contains(u));
+                    }
+                }
+            }
+            assertEquals(n, count);
+            assertEquals(sets.size() == 1, new TarjanStrongConnectivity(g).isStronglyConnected());
+        }
+    }
+
+    @Test
+    public void longCycle() {
+        //deep search, no recursion
+        int n = 200_000;
+        var g = GraphBuilder.numVertices(n).buildDigraph();
+        for (int i = 0; i < n; i++) {
+            g.addEdge(i, (i + 1) % n);
+        }
+        g.addEdge(0, n / 2);
+        var alg = new TarjanStrongConnectivity(g);
+        assertTrue(alg.isStronglyConnected());
+        g.removeEdge(n - 1, 0);
+        assertEquals(n, new TarjanStrongConnectivity(g).getStronglyConnectedSets().size());
+    }
+
+    @Test
+    public void parallelSmall() {
+        for (int it = 0; it < 100; it++) {
+            var g = new RandomGnpGraphGenerator(5 + it % 30, 0.01 * (it % 20)).createDigraph();
+            checkParallel(g);
+        }
+        var g = GraphBuilder.numVertices(8).addEdges("0-1,1-2,2-3,3-2,3-4,4-3,4-5,2-5,5-6,6-5,1-6,1-7,7-0,7-6").buildDigraph();
+        var alg = new ParallelStrongConnectivity(g);
+        assertFalse(alg.isStronglyConnected());
+        assertEquals(3, alg.numComponents());
+        var condensation = alg.createCondensation();
+        assertEquals(3, condensation.numVertices());
+        assertEquals(3, condensation.numEdges());
+        assertEquals(3, new TarjanStrongConnectivity(g).createCondensation().numEdges());
+    }
+
+    @Test
+    public void parallelLarge() {
+        //cycles of random lengths, linked by forward arcs
+        int n = 30_000;
+        var rand = new Random(1);
+        var g = GraphBuilder.numVertices(n).buildDigraph();
+        for (int i = 0; i < n;) {
+            int end = Math.min(n, i + 1 + rand.nextInt(20));
+            for (int k = i; k < end - 1; k++) {
+                g.addEdge(k, k + 1);
+            }
+            if (end - i > 1) {
+                g.addEdge(end - 1, i);
+            }
+            i = end;
+        }
+        for (int k = 0; k < n; k++) {
+            int v = rand.nextInt(n), u = rand.nextInt(n);
+            if (v < u && !g.containsEdge(v, u)) {
+                g.addEdge(v, u);
+            }
+        }
+        checkParallel(g);
+        //a giant component
+        for (int k = 0; k < 100; k++) {
+            int v = rand.nextInt(n), u = rand.nextInt(n);
+            if (v > u && !g.containsEdge(v, u)) {
+                g.addEdge(v, u);
+            }
+        }
+        checkParallel(g);
+    }
+
+    private void checkParallel(Digraph g) {
+        var expected = new TarjanStrongConnectivity(g).getStronglyConnectedSets();
+        var alg = new ParallelStrongConnectivity(g);
+        int[] ids = alg.getComponentIds();
+        assertEquals(expected.size(), alg.numComponents());
+        assertEquals(expected.size(), alg.getStronglyConnectedSets().size());
+        for (var set : expected) {
+            int[] vertices = set.vertices();
+            int id = ids[g.indexOf(vertices[0])];
+            for (int v : vertices) {
+                assertEquals(id, ids[g.indexOf(v)]);
+            }
+        }
+        assertEquals(expected.size() == 1, alg.isStronglyConnected());
+    }
+
     private void testSCC() {
         //var g = GraphBuilder.numVertices(6).addEdges("0-1,1-2,2-3,3-4,4-5,5-0").buildDigraph();
         //var g = GraphBuilder.numVertices(6).addEdges("0-1,1-2,2-3,3-4,4-5,5-3,2-0").buildDigraph();
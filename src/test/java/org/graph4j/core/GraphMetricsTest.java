@@ -16,13 +16,16 @@
  */
 package org.graph4j.core;
 
+import java.util.Arrays;
 import java.util.Random;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 import org.graph4j.util.VertexSet;
 import org.graph4j.metrics.GraphMetrics;
 import org.graph4j.GraphBuilder;
+import org.graph4j.generators.EdgeWeightsGenerator;
 import org.graph4j.generators.GraphGenerator;
+import org.graph4j.generators.RandomGnpGraphGenerator;
 
 /**
  *
@@ -84,5 +87,70 @@ public class GraphMetricsTest {
         assertEquals(1, gm.radius());
         assertEquals(1, gm.diameter());
     }
-   
+
+    @Test
+    public void parallel() {
+        for (int k = 0; k < 10; k++) {
+            var g = new RandomGnpGraphGenerator(50 + k * 10, 0.05).createGraph();
+            var expected = new GraphMetrics(g);
+            var gm = new GraphMetrics(g, true);
+            assertEquals(expected.diameter(), gm.diameter());
+            assertEquals(expected.radius(), gm.radius());
+            assertEquals(expected.center(), gm.center());
+            assertEquals(expected.periphery(), gm.periphery());
+        }
+        var g = GraphGenerator.path(101);
+        var gm = new GraphMetrics(g, true);
+        assertEquals(100, gm.diameter());
+        assertEquals(50, gm.radius());
+        assertEquals(new VertexSet(g, new int[]{50}), gm.center());
+        assertEquals(new VertexSet(g, new int[]{0, 100}), gm.periphery());
+
+        var empty = GraphGenerator.empty(0);
+        var expected = new GraphMetrics(empty);
+        var gm0 = new GraphMetrics(empty, true);
+        assertEquals(expected.diameter(), gm0.diameter());
+        assertEquals(expected.radius(), gm0.radius());
+        assertEquals(expected.center(), gm0.center());
+        assertEquals(expected.periphery(), gm0.periphery());
+        var emptyDigraph = GraphBuilder.empty().buildDigraph();
+        assertEquals(0, new GraphMetrics(emptyDigraph, true).diameter());
+        assertEquals(0, new GraphMetrics(emptyDigraph, true).radius());
+    }
+
+    @Test
+    public void weightedRounding() {
+        //0.7 + 0.2 + 0.2 differs from 0.2 + 0.2 + 0.7
+        var g = GraphGenerator.path(4);
+        g.setEdgeWeight(0, 1, 0.7);
+        g.setEdgeWeight(1, 2, 0.2);
+        g.setEdgeWeight(2, 3, 0.2);
+        for (boolean parallel : new boolean[]{false, true}) {
+            var gm = new GraphMetrics(g, parallel);
+            assertEquals(1.1, gm.diameter(), 1e-9);
+            assertEquals(new VertexSet(g, new int[]{0, 3}), gm.periphery());
+            assertEquals(0.7, gm.radius(), 1e-9);
+            assertEquals(new VertexSet(g, new int[]{1}), gm.center());
+        }
+    }
+
+    @Test
+    public void weighted() {
+        for (int k = 0; k < 10; k++) {
+            var g = new RandomGnpGraphGenerator(30 + k * 10, 0.1).createGraph();
+            EdgeWeightsGenerator.randomIntegers(g, 1, 100);
+            var expected = new GraphMetrics(g);
+            double[] ecc = expected.eccentricities();
+            double min = Arrays.stream(ecc).min().getAsDouble();
+            double max = Arrays.stream(ecc).max().getAsDouble();
+            for (boolean parallel : new boolean[]{false, true}) {
+                var gm = new GraphMetrics(g, parallel);
+                assertEquals(max, gm.diameter());
+                assertEquals(min, gm.radius());
+                assertEquals(expected.center(), gm.center());
+                assertEquals(expected.periphery(), gm.periphery());
+            }
+        }
+    }
+
 }
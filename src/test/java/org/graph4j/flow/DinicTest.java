@@ -105,4 +105,40 @@ public class DinicTest {
         }
     }
 
+    @Test
+    public void randomNetworks() {
+        for (int i = 0; i < 20; i++) {
+            int n = 10 + 10 * i;
+            Network g = new RandomGnpGraphGenerator(n, 0.05 + 0.04 * i).createNetwork();
+            new EdgeDataGenerator(g, CAPACITY).randomIntegers(0, n);
+            double expected = new PushRelabelMaximumFlow(g).getMaximumFlowValue();
+            g.resetEdgeData(Network.FLOW, 0);
+            assertEquals(expected, new DinicMaximumFlow(g).getMaximumFlowValue());
+            g.resetEdgeData(Network.FLOW, 0);
+            var alg = new DinicMaximumFlow(g, true);
+            assertEquals(expected, alg.getMaximumFlowValue());
+            assertTrue(g.isFlowValid());
+            double cut = 0;
+            for (var e : alg.getMinimumCutEdges()) {
+                cut += g.getEdgeData(CAPACITY, e.source(), e.target());
+            }
+            assertEquals(expected, cut);
+        }
+    }
+
+    @Test
+    public void unitCapacities() {
+        //bipartite matching network: 0 -> left -> right -> 1
+        int k = 2000;
+        var g = NetworkBuilder.numVertices(2 * k + 2).source(0).sink(1).buildNetwork();
+        for (int i = 0; i < k; i++) {
+            g.addEdge(0, 2 + i, 1);
+            g.addEdge(2 + k + i, 1, 1);
+            g.addEdge(2 + i, 2 + k + i, 1);
+            g.addEdge(2 + i, 2 + k + (i + 1) % k, 1);
+        }
+        var alg = new DinicMaximumFlow(g, true);
+        assertEquals(k, alg.getMaximumFlowValue());
+        assertTrue(g.isFlowValid());
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.flow;
+
+import static org.graph4j.Network.CAPACITY;
+import static org.graph4j.Network.FLOW;
+import static org.junit.jupiter.api.Assertions.*;
+import org.graph4j.InvalidEdgeException;
+import org.graph4j.NetworkBuilder;
+import org.graph4j.generators.EdgeDataGenerator;
+import org.graph4j.generators.RandomGnpGraphGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Cristian Frăsinaru
+ */
+public class FlowDataTest {
+
+    @Test
+    public void lookup() {
+        var g = NetworkBuilder.numVertices(4).source(0).sink(3).buildNetwork();
+        g.addEdge(0, 1, 3);
+        g.addEdge(0, 2, 2);
+        g.addEdge(1, 3, 2);
+        g.addEdge(2, 3, 3);
+        g.addEdge(1, 2, 1);
+        var flow = new FlowData(g);
+        flow.put(0, 1, 2);
+        flow.put(1, 3, 2);
+        assertEquals(2, flow.get(0, 1));
+        assertEquals(0, flow.get(0, 2));
+        assertEquals(2, flow.value());
+        assertEquals(2, flow.edges().size());
+
+        var copy = flow.copy();
+        copy.put(0, 2, 2);
+        copy.put(2, 3, 2);
+        assertEquals(4, copy.value());
+        assertEquals(2, flow.value());
+    }
+
+    @Test
+    public void missingEdges() {
+        var g = NetworkBuilder.numVertices(3).source(0).sink(2).buildNetwork();
+        g.addEdge(0, 1, 3);
+        g.addEdge(1, 2, 3);
+        var flow = new FlowData(g);
+        flow.put(0, 1, 5);
+        assertEquals(0, flow.get(1, 0));
+        assertEquals(0, flow.get(0, 2));
+        assertEquals(0, flow.get(2, 1));
+        assertThrows(InvalidEdgeException.class, () -> flow.put(1, 0, 7));
+        assertThrows(InvalidEdgeException.class, () -> flow.put(0, 2, 7));
+        assertEquals(5, flow.get(0, 1));
+        assertEquals(0, flow.get(1, 2));
+    }
+
+    @Test
+    public void copiedNetwork() {
+        var g = NetworkBuilder.numVertices(4).source(0).sink(3).buildNetwork();
+        g.addEdge(0, 1, 3);
+        g.addEdge(0, 2, 2);
+        g.addEdge(1, 3, 2);
+        g.addEdge(2, 3, 3);
+        var copy = g.copy();
+        var flow = new DinicMaximumFlow(copy).getMaximumFlowData();
+        var alg = new EdmondsKarpMaximumFlow(g, flow);
+        assertEquals(4, alg.getMaximumFlowValue());
+
+        var other = NetworkBuilder.numVertices(4).source(0).sink(3).buildNetwork();
+        other.addEdge(0, 3, 1);
+        assertThrows(IllegalArgumentException.class,
+                () -> new EdmondsKarpMaximumFlow(other, flow));
+    }
+
+    @Test
+    public void warmStart() {
+        for (int i = 0; i < 10; i++) {
+            var g = new RandomGnpGraphGenerator(30, 0.2).createNetwork();
+            new EdgeDataGenerator(g, CAPACITY).randomIntegers(0, 10);
+            var alg = new DinicMaximumFlow(g);
+            double value = alg.getMaximumFlowValue();
+            var flow = alg.getMaximumFlowData();
+            assertEquals(value, flow.value());
+
+            var alg1 = new EdmondsKarpMaximumFlow(g, flow.copy());
+            assertEquals(value, alg1.getMaximumFlowValue());
+            var alg2 = new PushRelabelMaximumFlow(g, flow.copy());
+            assertEquals(value, alg2.getMaximumFlowValue());
+            var alg3 = new DinicMaximumFlow(g, flow);
+            assertEquals(value, alg3.getMaximumFlowValue());
+
+            double cut = 0;
+            for (var e : alg3.getMinimumCutEdges()) {
+                cut += g.getEdgeData(CAPACITY, e);
+                assertEquals(g.getEdgeData(CAPACITY, e), g.getEdgeData(FLOW, e));
+            }
+            assertEquals(value, cut);
+            assertEquals(g.numVertices(),
+                    alg3.getSourcePart().size() + alg3.getSinkPart().size());
+        }
+    }
+}
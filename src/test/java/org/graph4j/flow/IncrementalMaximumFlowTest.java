@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.flow;
+
+import java.util.Random;
+import static org.graph4j.Network.CAPACITY;
+import static org.junit.jupiter.api.Assertions.*;
+import org.graph4j.Network;
+import org.graph4j.NetworkBuilder;
+import org.graph4j.generators.EdgeDataGenerator;
+import org.graph4j.generators.RandomGnpGraphGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Cristian Frăsinaru
+ */
+public class IncrementalMaximumFlowTest {
+
+    @Test
+    public void simple() {
+        var g = NetworkBuilder.numVertices(4).source(0).sink(3).buildNetwork();
+        g.addEdge(0, 1, 3);
+        g.addEdge(0, 2, 2);
+        g.addEdge(1, 3, 2);
+        g.addEdge(2, 3, 3);
+        g.addEdge(1, 2, 1);
+        var alg = new IncrementalMaximumFlow(g);
+        assertEquals(5, alg.getMaximumFlowValue());
+        alg.setCapacity(1, 3, 0);
+        assertEquals(3, alg.getMaximumFlowValue());
+        assertEquals(0, g.getEdgeData(CAPACITY, 1, 3));
+        alg.setCapacity(1, 2, 5);
+        assertEquals(3, alg.getMaximumFlowValue());
+        alg.setCapacities(new int[][]{{0, 1}, {2, 3}}, new double[]{1, 10});
+        assertEquals(3, alg.getMaximumFlowValue());
+        alg.setCapacity(0, 1, 4);
+        assertEquals(6, alg.getMaximumFlowValue());
+        g.checkFlow();
+    }
+
+    @Test
+    public void randomUpdates() {
+        var rand = new Random(1);
+        for (int i = 0; i < 10; i++) {
+            int n = 40;
+            Network g = new RandomGnpGraphGenerator(n, 0.15).createNetwork();
+            new EdgeDataGenerator(g, CAPACITY).randomIntegers(0, 10);
+            var edges = g.edges();
+            var alg = new IncrementalMaximumFlow(g);
+            alg.getMaximumFlowValue();
+            for (int k = 0; k < 20; k++) {
+                int count = 1 + rand.nextInt(5);
+                int[][] changed = new int[count][];
+                double[] capacities = new double[count];
+                for (int j = 0; j < count; j++) {
+                    var e = edges[rand.nextInt(edges.length)];
+                    changed[j] = new int[]{e.source(), e.target()};
+                    capacities[j] = rand.nextInt(11);
+                }
+                alg.setCapacities(changed, capacities);
+                double value = alg.getMaximumFlowValue();
+                g.checkFlow();
+                assertEquals(new DinicMaximumFlow(g.copy()).getMaximumFlowValue(), value);
+                double cut = 0;
+                for (var e : alg.getMinimumCutEdges()) {
+                    cut += g.getEdgeData(CAPACITY, e);
+                }
+                assertEquals(value, cut);
+            }
+        }
+    }
+}
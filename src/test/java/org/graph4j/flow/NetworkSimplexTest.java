@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.flow;
+
+import static org.graph4j.Network.CAPACITY;
+import static org.graph4j.Network.COST;
+import static org.graph4j.Network.FLOW;
+import static org.junit.jupiter.api.Assertions.*;
+import org.graph4j.Network;
+import org.graph4j.NetworkBuilder;
+import org.graph4j.generators.EdgeDataGenerator;
+import org.graph4j.generators.RandomGnpGraphGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Cristian Frăsinaru
+ */
+public class NetworkSimplexTest {
+
+    @Test
+    public void simple() {
+        //two paths from 0 to 3: a cheap one with capacity 2, an expensive one
+        var g = NetworkBuilder.numVertices(4).source(0).sink(3).buildNetwork();
+        g.addEdge(0, 1, 2, 1);
+        g.addEdge(1, 3, 2, 1);
+        g.addEdge(0, 2, 3, 5);
+        g.addEdge(2, 3, 3, 5);
+        g.addEdge(1, 2, 1, 1);
+        var alg = new NetworkSimplexMinimumCostFlow(g);
+        assertTrue(alg.isFeasible());
+        assertEquals(2 * 2 + 3 * 10, alg.getMinimumCost());
+        assertEquals(2, alg.getFlowValue(0, 1));
+        assertEquals(0, alg.getFlowValue(1, 2));
+        g.checkFlow();
+
+        var alg2 = new NetworkSimplexMinimumCostFlow(g, 3);
+        assertEquals(2 * 2 + 10, alg2.getMinimumCost());
+
+        assertFalse(new NetworkSimplexMinimumCostFlow(g, 6).isFeasible());
+    }
+
+    @Test
+    public void transportation() {
+        //2 suppliers (0, 1), 3 consumers (2, 3, 4)
+        var g = NetworkBuilder.numVertices(5).source(0).sink(4).buildNetwork();
+        double[][] costs = {{4, 6, 9}, {5, 3, 8}};
+        for (int i = 0; i < 2; i++) {
+            for (int j = 0; j < 3; j++) {
+                g.addEdge(i, 2 + j, 100, costs[i][j]);
+            }
+        }
+        var alg = new NetworkSimplexMinimumCostFlow(g, new double[]{30, 40, -20, -30, -20});
+        //0->2: 20, 0->4: 10, 1->3: 30, 1->4: 10
+        assertEquals(20 * 4 + 10 * 9 + 30 * 3 + 10 * 8, alg.getMinimumCost());
+    }
+
+    @Test
+    public void negativeCosts() {
+        var g = NetworkBuilder.numVertices(3).source(0).sink(2).buildNetwork();
+        g.addEdge(0, 1, 5, -2);
+        g.addEdge(1, 2, 5, -3);
+        g.addEdge(0, 2, 5, 1);
+        var alg = new NetworkSimplexMinimumCostFlow(g);
+        assertEquals(5 * -5 + 5 * 1, alg.getMinimumCost());
+    }
+
+    @Test
+    public void unbounded() {
+        var g = NetworkBuilder.numVertices(4).source(0).sink(3).buildNetwork();
+        g.addEdge(0, 3, 5, 1);
+        g.addEdge(1, 2, Double.POSITIVE_INFINITY, -2);
+        g.addEdge(2, 1, Double.POSITIVE_INFINITY, 1);
+        var alg = new NetworkSimplexMinimumCostFlow(g);
+        assertThrows(InvalidFlowException.class, () -> alg.isFeasible());
+
+        //the same cycle, having a finite capacity
+        g.setEdgeData(CAPACITY, 2, 1, 4);
+        assertEquals(5 - 4, new NetworkSimplexMinimumCostFlow(g).getMinimumCost());
+    }
+
+    @Test
+    public void lazyMaximumFlow() {
+        var g = NetworkBuilder.numVertices(3).source(0).sink(2).buildNetwork();
+        g.addEdge(0, 1, 2, 1);
+        g.addEdge(1, 2, 2, 1);
+        g.setEdgeData(FLOW, 0, 1, 1);
+        var alg = new NetworkSimplexMinimumCostFlow(g);
+        assertEquals(1, g.getEdgeData(FLOW, 0, 1));
+        assertEquals(4, alg.getMinimumCost());
+        assertEquals(2, g.getEdgeData(FLOW, 0, 1));
+    }
+
+    @Test
+    public void randomNetworks() {
+        for (int i = 0; i < 20; i++) {
+            int n = 30;
+            Network g = new RandomGnpGraphGenerator(n, 0.2).createNetwork();
+            new EdgeDataGenerator(g, CAPACITY).randomIntegers(1, 20);
+            new EdgeDataGenerator(g, COST).randomIntegers(-5, 20);
+            double maxFlow = new DinicMaximumFlow(g.copy()).getMaximumFlowValue();
+            var alg = new NetworkSimplexMinimumCostFlow(g);
+            assertTrue(alg.isFeasible());
+            g.checkFlow();
+            assertEquals(maxFlow, alg.getFlowData().value());
+            //the optimality conditions
+            double cost = 0;
+            for (var e : g.edges()) {
+                int v = e.source(), u = e.target();
+                double flow = g.getEdgeData(FLOW, v, u);
+                double reducedCost = g.getEdgeData(COST, v, u)
+                        + alg.getPotential(v) - alg.getPotential(u);
+                if (flow < g.getEdgeData(CAPACITY, v, u)) {
+                    assertTrue(reducedCost >= -1e-6);
+                }
+                if (flow > 0) {
+                    assertTrue(reducedCost <= 1e-6);
+                }
+                cost += flow * g.getEdgeData(COST, v, u);
+            }
+            assertEquals(cost, alg.getMinimumCost(), 1e-6);
+        }
+    }
+}
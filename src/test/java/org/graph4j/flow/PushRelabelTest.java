@@ -112,4 +112,19 @@ public class PushRelabelTest {
         assertEquals(x, y);
     }
 
+    @Test
+    public void randomNetworks() {
+        for (int i = 0; i < 20; i++) {
+            int n = 50;
+            var g = new RandomGnpGraphGenerator(n, 0.1).createNetwork();
+            new EdgeDataGenerator(g, CAPACITY).randomIntegers(0, 20);
+            double x = new EdmondsKarpMaximumFlow(g).getMaximumFlowValue();
+            var alg = new PushRelabelMaximumFlow(g);
+            assertEquals(x, alg.getMaximumFlowValue());
+            g.checkFlow();
+            assertEquals(x, alg.getMinimumCutEdges().stream()
+                    .mapToDouble(e -> g.getEdgeData(CAPACITY, e.source(), e.target())).sum());
+        }
+    }
+
 }
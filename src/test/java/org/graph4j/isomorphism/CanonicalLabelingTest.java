@@ -0,0 +1,101 @@
+package org.graph4j.isomorphism;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.graph4j.GraphBuilder;
+import org.graph4j.generators.GraphGenerator;
+import org.graph4j.generators.RandomGnpGraphGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Cristian Frăsinaru
+ */
+public class CanonicalLabelingTest {
+
+    @Test
+    public void isomorphicGraphs() {
+        for (int k = 0; k < 20; k++) {
+            var g1 = new RandomGnpGraphGenerator(15, 0.3).createGraph();
+            var g2 = TestUtil.generateIsomorphicGraph(g1).first();
+            assertEquals(new CanonicalLabeling(g1).getCertificate(),
+                    new CanonicalLabeling(g2).getCertificate());
+        }
+    }
+
+    @Test
+    public void isomorphicDigraphs() {
+        for (int k = 0; k < 20; k++) {
+            var g1 = new RandomGnpGraphGenerator(15, 0.2).createDigraph();
+            var g2 = TestUtil.generateIsomorphicDigraph(g1).first();
+            assertEquals(new CanonicalLabeling(g1).getCertificate(),
+                    new CanonicalLabeling(g2).getCertificate());
+        }
+    }
+
+    @Test
+    public void symmetricGraphs() {
+        var g1 = GraphGenerator.complete(12);
+        var g2 = TestUtil.generateIsomorphicGraph(g1).first();
+        assertEquals(new CanonicalLabeling(g1).getCertificate(),
+                new CanonicalLabeling(g2).getCertificate());
+        //the Petersen graph and the pentagonal prism are 3-regular
+        var petersen = GraphBuilder.numVertices(10)
+                .addEdges("0-1,1-2,2-3,3-4,4-0,0-5,1-6,2-7,3-8,4-9,5-7,7-9,9-6,6-8,8-5").buildGraph();
+        var prism = GraphBuilder.numVertices(10)
+                .addEdges("0-1,1-2,2-3,3-4,4-0,0-5,1-6,2-7,3-8,4-9,5-6,6-7,7-8,8-9,9-5").buildGraph();
+        assertEquals(new CanonicalLabeling(petersen).getCertificate(),
+                new CanonicalLabeling(TestUtil.generateIsomorphicGraph(petersen).first()).getCertificate());
+        assertNotEquals(new CanonicalLabeling(petersen).getCertificate(),
+                new CanonicalLabeling(prism).getCertificate());
+    }
+
+    @Test
+    public void sameStringLabels() {
+        //the labels 1 and "1" have the same string representation
+        var g1 = GraphBuilder.numVertices(3).addEdges("0-1,1-2").buildGraph();
+        g1.setVertexLabel(0, 1);
+        g1.setVertexLabel(1, "x");
+        g1.setVertexLabel(2, "1");
+        var g2 = GraphBuilder.numVertices(3).addEdges("0-1,1-2").buildGraph();
+        g2.setVertexLabel(0, "1");
+        g2.setVertexLabel(1, "x");
+        g2.setVertexLabel(2, 1);
+        assertEquals(new CanonicalLabeling(g1).getCertificate(),
+                new CanonicalLabeling(g2).getCertificate());
+    }
+
+    @Test
+    public void trees() {
+        for (int k = 0; k < 20; k++) {
+            var t1 = GraphGenerator.randomTree(50);
+            var t2 = TestUtil.generateIsomorphicGraph(t1).first();
+            var t3 = GraphGenerator.randomTree(50);
+            assertEquals(new CanonicalLabeling(t1).getCertificate(),
+                    new CanonicalLabeling(t2).getCertificate());
+            assertEquals(new TreeIsomorphism(t1, t3).areIsomorphic(),
+                    new CanonicalLabeling(t1).getCertificate().equals(
+                            new CanonicalLabeling(t3).getCertificate()));
+        }
+    }
+
+    @Test
+    public void cache() {
+        var cache = new CertificateCache();
+        for (int k = 0; k < 200; k++) {
+            var g = new RandomGnpGraphGenerator(5, 0.5).createGraph();
+            var other = cache.add(g);
+            if (other != null) {
+                assertTrue(new VF2PlusExactGraphIsomorphism(g, other).areIsomorphic());
+            }
+        }
+        //there are 34 graphs with 5 vertices
+        assertTrue(cache.size() <= 34);
+        for (var g1 : cache.graphs()) {
+            for (var g2 : cache.graphs()) {
+                if (g1 != g2) {
+                    assertFalse(new VF2PlusExactGraphIsomorphism(g1, g2).areIsomorphic());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.graph4j.isomorphism;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+import org.graph4j.generators.GraphGenerator;
+import org.graph4j.generators.RandomGnpGraphGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Cristian Frăsinaru
+ */
+public class MappingEnumerationTest {
+
+    @Test
+    public void iterator() {
+        var g1 = new RandomGnpGraphGenerator(8, 0.5).createGraph();
+        var g2 = TestUtil.generateIsomorphicGraph(g1).first();
+        var alg = new VF2ExactGraphIsomorphism(g1, g2);
+        List<String> expected = alg.getAllMappings().stream()
+                .map(iso -> Arrays.toString(iso.mapping()))
+                .collect(Collectors.toList());
+        assertFalse(expected.isEmpty());
+
+        List<String> lazy = new ArrayList<>();
+        var it = alg.iterator();
+        while (it.hasNext()) {
+            lazy.add(Arrays.toString(it.next().mapping()));
+        }
+        assertEquals(expected, lazy);
+
+        List<String> reused = new ArrayList<>();
+        Isomorphism previous = null;
+        for (var it2 = alg.iterator(true); it2.hasNext();) {
+            var iso = it2.next();
+            assertTrue(previous == null || previous == iso);
+            assertTrue(iso.isValid());
+            reused.add(Arrays.toString(iso.mapping()));
+            previous = iso;
+        }
+        assertEquals(expected, reused);
+        assertEquals(expected.size(), alg.countMappings());
+    }
+
+    @Test
+    public void earlyStop() {
+        var g = GraphGenerator.complete(10);
+        var alg = new VF2ExactGraphIsomorphism(g, g);
+        assertEquals(5, alg.stream().limit(5).count());
+        assertEquals(3, alg.forEachMapping(3, iso -> assertTrue(iso.isValid())));
+        assertTrue(alg.stream().findFirst().isPresent());
+    }
+
+    @Test
+    public void subgraph() {
+        var g1 = GraphGenerator.cycle(4);
+        var g2 = GraphGenerator.complete(5);
+        var alg = new UllmanSubGraphIsomorphism(g1, g2);
+        assertEquals(120, alg.countMappings());
+        assertEquals(alg.getAllMappings().size(), alg.countMappings());
+        var g3 = GraphGenerator.cycle(8);
+        var alg2 = new VF2SubGraphIsomorphism(GraphGenerator.path(3), g3);
+        assertEquals(16, alg2.countMappings());
+        assertEquals(alg2.getAllMappings().size(), alg2.countMappings());
+    }
+}
@@ -0,0 +1,100 @@
+package org.graph4j.isomorphism;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.graph4j.GraphBuilder;
+import org.graph4j.generators.GraphGenerator;
+import org.graph4j.generators.RandomGnpGraphGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Cristian Frăsinaru
+ */
+public class VF2PlusIsomorphismTest {
+
+    @Test
+    public void automorphisms() {
+        var cycle = GraphGenerator.cycle(7);
+        assertEquals(14, new VF2PlusExactGraphIsomorphism(cycle, cycle).getAllMappings().size());
+        var complete = GraphGenerator.complete(5);
+        assertEquals(120, new VF2PlusExactGraphIsomorphism(complete, complete).getAllMappings().size());
+    }
+
+    @Test
+    public void notIsomorphic() {
+        var g1 = GraphGenerator.cycle(6);
+        var g2 = GraphBuilder.numVertices(6).addEdges("0-1,1-2,2-0,3-4,4-5,5-3").buildGraph();
+        assertFalse(new VF2PlusExactGraphIsomorphism(g1, g2).areIsomorphic());
+    }
+
+    @Test
+    public void randomGraphs() {
+        for (int k = 0; k < 10; k++) {
+            var g1 = new RandomGnpGraphGenerator(10, 0.4).createGraph();
+            var g2 = TestUtil.generateIsomorphicGraph(g1).first();
+            var alg = new VF2PlusExactGraphIsomorphism(g1, g2);
+            var iso = alg.getMapping();
+            assertTrue(iso.isPresent());
+            assertTrue(iso.get().isValid());
+            assertEquals(new VF2ExactGraphIsomorphism(g1, g2).getAllMappings().size(),
+                    alg.getAllMappings().size());
+        }
+    }
+
+    @Test
+    public void randomDigraphs() {
+        for (int k = 0; k < 10; k++) {
+            var g1 = new RandomGnpGraphGenerator(10, 0.3).createDigraph();
+            var g2 = TestUtil.generateIsomorphicDigraph(g1).first();
+            var alg = new VF2PlusExactGraphIsomorphism(g1, g2);
+            assertTrue(alg.getMapping().get().isValid());
+            assertEquals(new VF2ExactGraphIsomorphism(g1, g2).getAllMappings().size(),
+                    alg.getAllMappings().size());
+        }
+    }
+
+    @Test
+    public void subgraph() {
+        for (int k = 0; k < 10; k++) {
+            var g2 = new RandomGnpGraphGenerator(12, 0.4).createGraph();
+            var g1 = TestUtil.generateSubgraph(g2, 0.5);
+            var alg = new VF2PlusSubGraphIsomorphism(g1, g2);
+            assertTrue(alg.areIsomorphic());
+            assertEquals(new VF2SubGraphIsomorphism(g1, g2).getAllMappings().size(),
+                    alg.getAllMappings().size());
+        }
+    }
+
+    @Test
+    public void large() {
+        var g1 = new RandomGnpGraphGenerator(10_000, 0.001).createGraph();
+        var g2 = TestUtil.generateIsomorphicGraph(g1).first();
+        var iso = new VF2PlusExactGraphIsomorphism(g1, g2).getMapping();
+        assertTrue(iso.isPresent());
+        assertTrue(iso.get().isValid());
+    }
+
+    @Test
+    public void parallelSubgraph() {
+        var g2 = new RandomGnpGraphGenerator(60, 0.3).createGraph();
+        var g1 = GraphGenerator.cycle(4);
+        long expected = new VF2PlusSubGraphIsomorphism(g1, g2).forEachMapping(iso -> {
+        });
+        var alg = new VF2PlusSubGraphIsomorphism(g1, g2, true);
+        long[] count = {0};
+        assertEquals(expected, alg.forEachMapping(iso -> {
+            for (var e : g1.edges()) {
+                assertTrue(g2.containsEdge(iso.mapping(e.source()), iso.mapping(e.target())));
+            }
+            count[0]++;
+        }));
+        assertEquals(expected, count[0]);
+        assertEquals(expected, alg.getAllMappings().size());
+        if (expected >= 10) {
+            count[0] = 0;
+            assertEquals(10, alg.forEachMapping(10, iso -> count[0]++));
+            assertEquals(10, count[0]);
+        }
+    }
+
+}
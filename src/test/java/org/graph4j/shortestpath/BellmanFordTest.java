@@ -26,6 +26,7 @@ import org.graph4j.shortestpath.FloydWarshallShortestPath;
 import org.graph4j.shortestpath.JohnsonShortestPath;
 import org.graph4j.generators.EdgeWeightsGenerator;
 import org.graph4j.generators.RandomGnpGraphGenerator;
+import org.graph4j.Digraph;
 
 /**
  *
@@ -74,4 +75,53 @@ public class BellmanFordTest {
         assertEquals(x, z);
         assertEquals(x, t);
     }
+
+    @Test
+    public void queueAndParallel() {
+        int n = 300;
+        Digraph g = new RandomGnpGraphGenerator(n, 0.05).createDigraph();
+        //no negative cycles: w(v,u) = c(v,u) + h(u) - h(v), with c >= 0
+        double[] h = new double[n];
+        for (int i = 0; i < n; i++) {
+            h[i] = Math.random() * 10;
+        }
+        for (var e : g.edges()) {
+            g.setEdgeWeight(e.source(), e.target(), Math.random() + h[e.target()] - h[e.source()]);
+        }
+        var bf = new BellmanFordShortestPath(g, 0);
+        var queue = new BellmanFordShortestPathQueue(g, 0);
+        var parallel = new BellmanFordShortestPathParallel(g, 0);
+        for (int t = 0; t < n; t++) {
+            double x = bf.getPathWeight(t);
+            assertEquals(x, queue.getPathWeight(t), 1e-9);
+            assertEquals(x, parallel.getPathWeight(t), 1e-9);
+            if (x != Double.POSITIVE_INFINITY) {
+                assertEquals(x, queue.findPath(t).computeEdgesWeight(), 1e-9);
+                assertEquals(x, parallel.findPath(t).computeEdgesWeight(), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void negativeCycle() {
+        var g = GraphBuilder.vertexRange(0, 5)
+                .addEdges("0-1,1-2,2-3,3-1,3-4,4-5").buildDigraph();
+        g.setEdgeWeight(0, 1, 1);
+        g.setEdgeWeight(1, 2, 2);
+        g.setEdgeWeight(2, 3, -1);
+        g.setEdgeWeight(3, 1, -2);
+        g.setEdgeWeight(3, 4, 1);
+        g.setEdgeWeight(4, 5, 1);
+        var algs = new BellmanFordShortestPathBase[]{
+            new BellmanFordShortestPath(g, 0),
+            new BellmanFordShortestPathQueue(g, 0),
+            new BellmanFordShortestPathParallel(g, 0)};
+        for (var alg : algs) {
+            var ex = assertThrows(NegativeCycleException.class, () -> alg.getPathWeights());
+            var cycle = ex.getCycle();
+            assertEquals(3, cycle.length());
+            assertTrue(cycle.isValid());
+            assertEquals(-1, cycle.computeEdgesWeight());
+        }
+    }
 }
@@ -27,6 +27,7 @@ import org.graph4j.shortestpath.DijkstraShortestPathDefault;
 import org.graph4j.shortestpath.DijkstraShortestPathHeap;
 import org.graph4j.generators.EdgeWeightsGenerator;
 import org.graph4j.generators.RandomGnpGraphGenerator;
+import org.graph4j.generators.GridGenerator;
 
 /**
  *
@@ -68,4 +69,98 @@ public class DijkstraTest {
         assertEquals(x1, x3);
     }
 
+    @Test
+    public void landmarks() {
+        int n = 50;
+        Digraph g = new RandomGnpGraphGenerator(n, 0.1).createDigraph();
+        EdgeWeightsGenerator.randomIntegers(g, 1, 10);
+        for (var selection : AStarLandmarkEstimator.Selection.values()) {
+            var alt = new AStarLandmarkEstimator(g, 4, selection);
+            assertEquals(4, alt.numLandmarks());
+            var dij = new DijkstraShortestPathHeap(g, 0);
+            for (int t = 1; t < n; t++) {
+                double x = dij.getPathWeight(t);
+                assertTrue(alt.estimate(0, t) <= x);
+                assertEquals(x, new AStarAlgorithm(g, 0, t, alt).getPathWeight());
+                assertEquals(x, new BidirectionalDijkstra(g, 0, t, alt).getPathWeight());
+            }
+        }
+    }
+
+    @Test
+    public void landmarksUndirected() {
+        int n = 60;
+        var g = new RandomGnpGraphGenerator(n, 0.1).createGraph();
+        EdgeWeightsGenerator.randomIntegers(g, 1, 10);
+        for (var selection : AStarLandmarkEstimator.Selection.values()) {
+            var alt = new AStarLandmarkEstimator(g, 5, selection);
+            var dij = new DijkstraShortestPathHeap(g, 0);
+            for (int t = 1; t < n; t++) {
+                double x = dij.getPathWeight(t);
+                assertTrue(alt.estimate(0, t) <= x);
+                assertEquals(x, new AStarAlgorithm(g, 0, t, alt).getPathWeight());
+            }
+        }
+    }
+
+    @Test
+    public void landmarksWeighted() {
+        //the farthest vertex by weight is 1, by the number of edges it is 3
+        var g = GraphBuilder.numVertices(4).buildGraph();
+        g.addEdge(0, 1, 100);
+        g.addEdge(0, 2, 1);
+        g.addEdge(2, 3, 1);
+        var alt = new AStarLandmarkEstimator(g, 2, AStarLandmarkEstimator.Selection.FARTHEST);
+        assertArrayEquals(new int[]{1, 3}, alt.getLandmarks());
+        assertEquals(102, alt.estimate(1, 3));
+    }
+
+    @Test
+    public void landmarksGrid() {
+        var g = new GridGenerator(10, 10).createGraph();
+        EdgeWeightsGenerator.randomIntegers(g, 1, 5);
+        var alt = new AStarLandmarkEstimator(g, 3);
+        int t = g.numVertices() - 1;
+        double x = new DijkstraShortestPathHeap(g, 0).getPathWeight(t);
+        assertEquals(x, new AStarAlgorithm(g, 0, t, alt).getPathWeight());
+        var bidir = new BidirectionalDijkstra(g, 0, t, alt);
+        assertEquals(x, bidir.getPathWeight());
+        assertEquals(x, bidir.findPath().computeEdgesWeight());
+    }
+
+    @Test
+    public void dynamic() {
+        int n = 30;
+        var random = new java.util.Random(1);
+        for (boolean directed : new boolean[]{true, false}) {
+            var g = directed
+                    ? new RandomGnpGraphGenerator(n, 0.15).createDigraph()
+                    : new RandomGnpGraphGenerator(n, 0.15).createGraph();
+            EdgeWeightsGenerator.randomIntegers(g, 1, 10);
+            var alg = new DynamicShortestPath(g, 0);
+            for (int k = 0; k < 200; k++) {
+                int v = random.nextInt(n);
+                int u = random.nextInt(n);
+                if (v == u) {
+                    continue;
+                }
+                if (!g.containsEdge(v, u)) {
+                    alg.addEdge(v, u, 1 + random.nextInt(10));
+                } else if (random.nextBoolean()) {
+                    alg.removeEdge(v, u);
+                } else {
+                    alg.setEdgeWeight(v, u, random.nextInt(10));
+                }
+                var dij = new DijkstraShortestPathHeap(g, 0);
+                for (int t = 0; t < n; t++) {
+                    double x = dij.getPathWeight(t);
+                    assertEquals(x, alg.getPathWeight(t));
+                    if (x != Double.POSITIVE_INFINITY) {
+                        assertEquals(x, alg.findPath(t).computeEdgesWeight());
+                    }
+                }
+            }
+        }
+    }
+
 }
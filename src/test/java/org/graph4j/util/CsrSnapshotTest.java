@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.graph4j.GraphBuilder;
+
+/**
+ *
+ * @author Cristian Frăsinaru
+ */
+public class CsrSnapshotTest {
+
+    public CsrSnapshotTest() {
+    }
+
+    @Test
+    public void undirected() {
+        var g = GraphBuilder.vertices(5, 7, 9).buildGraph();
+        g.addEdge(5, 7, 2.5);
+        g.addEdge(7, 9, 1);
+        var csr = new CsrSnapshot(g, true);
+        assertEquals(3, csr.numVertices());
+        assertEquals(4, csr.size());
+        assertArrayEquals(new int[]{0, 1, 3, 4}, csr.getStart());
+        assertArrayEquals(new int[]{1, 0, 2, 1}, csr.getAdjacency());
+        assertArrayEquals(new double[]{2.5, 2.5, 1, 1}, csr.getWeights());
+        assertEquals(2, csr.degree(1));
+        assertNull(new CsrSnapshot(g).getWeights());
+    }
+
+    @Test
+    public void transpose() {
+        var g = GraphBuilder.numVertices(3).buildDigraph();
+        g.addEdge(0, 1, 3);
+        g.addEdge(0, 2, 4);
+        g.addEdge(2, 1, 5);
+        var out = new CsrSnapshot(g, true);
+        assertArrayEquals(new int[]{0, 2, 2, 3}, out.getStart());
+        assertArrayEquals(new int[]{1, 2, 1}, out.getAdjacency());
+        var in = new CsrSnapshot(g, true, true);
+        assertArrayEquals(new int[]{0, 0, 2, 3}, in.getStart());
+        assertArrayEquals(new int[]{0, 2, 0}, in.getAdjacency());
+        assertArrayEquals(new double[]{3, 5, 4}, in.getWeights());
+    }
+}